@@ -1,8 +1,14 @@
 package com.level11data.databricks.client;
 
-import org.glassfish.jersey.client.ClientConfig;
-import org.glassfish.jersey.jackson.JacksonFeature;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractDatabricksClient {
     public DatabricksSession Session;
@@ -11,10 +17,6 @@ public abstract class AbstractDatabricksClient {
         Session = session;
     }
 
-    protected ClientConfig ClientConfig() {
-        return new ClientConfig().register(new JacksonFeature());
-    }
-
     protected void checkResponse(Response response) throws HttpException {
         //This will print the entire response body; useful for debugging code
         //String debugBody = response.readEntity(String.class);
@@ -29,11 +31,317 @@ public abstract class AbstractDatabricksClient {
             System.out.println("HTTP "+ response.getStatus() + ":" + body);
             throw new HttpException("HTTP 401 Unauthorized: Not Authenticated");
         } else if(response.getStatus() == 403) {
+            //releases the connection, as reading the body does for the other statuses
+            response.close();
             throw new HttpException("HTTP 403 Forbidden: Not Authorized");
+        } else if(response.getStatus() == 404) {
+            String body = response.readEntity(String.class);
+            throw new HttpNotFoundException("HTTP 404 Not Found: " + body);
+        } else if(response.getStatus() == RequestThrottle.TOO_MANY_REQUESTS) {
+            String body = response.readEntity(String.class);
+            throw new HttpException("HTTP 429 Too Many Requests: " + body);
+        } else if(RetryPolicy.isRetryableStatus(response.getStatus())) {
+            String body = response.readEntity(String.class);
+            throw new HttpServerSideException("HTTP "+ response.getStatus() + ":" + body);
         } else if (response.getStatus() != 200) {
             String body = response.readEntity(String.class);
             throw new HttpException("HTTP "+ response.getStatus() + ":" + body);
         }
     }
 
+    /**
+     * checkResponse failing a 400 with the given message instead of the response body
+     */
+    protected void checkResponse(Response response, String message400) throws HttpException {
+        if (response.getStatus() == 400) {
+            //the body is not read, so closing releases the connection
+            response.close();
+            throw new HttpServerSideException(message400);
+        } else {
+            checkResponse(response);
+        }
+    }
+
+    /**
+     * Maps the response of a request to its result; usually checkResponse followed by readEntity
+     */
+    protected interface ResponseReader<T> {
+        T read(Response response) throws HttpException;
+    }
+
+    /**
+     * Reader checking the status, then reading the entity as the given type
+     */
+    protected <T> ResponseReader<T> entityReader(Class<T> entityType) {
+        return response -> {
+            checkResponse(response);
+            return response.readEntity(entityType);
+        };
+    }
+
+    /**
+     * Reader of requests without a result; only checks the status
+     */
+    protected ResponseReader<Void> statusReader() {
+        return response -> {
+            checkResponse(response);
+            return null;
+        };
+    }
+
+    /**
+     * statusReader failing a 400 with the given message instead of the response body
+     */
+    protected ResponseReader<Void> statusReader(String message400) {
+        return response -> {
+            checkResponse(response, message400);
+            return null;
+        };
+    }
+
+    /**
+     * A request and the reader of its response, built once by a client and sent either by execute or by
+     * executeAsync, so that both variants of an endpoint send the same request and check its response the same way
+     */
+    protected static final class ApiRequest<T> {
+        private final Builder _requestBuilder;
+        private final String _method;
+        private final Entity<?> _entity;
+        private final boolean _idempotent;
+        private final ResponseReader<T> _reader;
+
+        private ApiRequest(Builder requestBuilder, String method, Entity<?> entity, boolean idempotent,
+                           ResponseReader<T> reader) {
+            _requestBuilder = requestBuilder;
+            _method = method;
+            _entity = entity;
+            _idempotent = idempotent;
+            _reader = reader;
+        }
+    }
+
+    /**
+     * GET request; GETs are idempotent, so transient failures are retried as per the session's RetryPolicy
+     */
+    protected static <T> ApiRequest<T> getRequest(Builder requestBuilder, ResponseReader<T> reader) {
+        return new ApiRequest<>(requestBuilder, HttpMethod.GET, null, true, reader);
+    }
+
+    /**
+     * POST request with a JSON entity that is not safe to repeat (i.e. dbfs/add-block, clusters/create); only
+     * requests throttled by the workspace (429/503) are resent, once the rate limiter allows it
+     */
+    protected static <T> ApiRequest<T> postRequest(Builder requestBuilder, Object entity, ResponseReader<T> reader) {
+        return postRequest(requestBuilder, entity, false, reader);
+    }
+
+    /**
+     * POST request with a JSON entity; when idempotent, transient failures are retried as per the session's
+     * RetryPolicy
+     */
+    protected static <T> ApiRequest<T> postRequest(Builder requestBuilder, Object entity, boolean idempotent,
+                                                   ResponseReader<T> reader) {
+        return new ApiRequest<>(requestBuilder, HttpMethod.POST, Entity.json(entity), idempotent, reader);
+    }
+
+    /**
+     * Sends the request and reads its response; the response is closed afterwards, so readers of requests without
+     * a result need not read it to release the connection
+     */
+    protected <T> T execute(ApiRequest<T> request) throws HttpException {
+        Response response = invoke(request._requestBuilder, request._method, request._entity, request._idempotent);
+        try {
+            return request._reader.read(response);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Sends a GET request and leaves its response to the caller, i.e. to stream it; the caller must close it
+     */
+    protected Response get(Builder requestBuilder) {
+        return invoke(requestBuilder, HttpMethod.GET, null, true);
+    }
+
+    private Response invoke(Builder requestBuilder, String method, Entity<?> entity, boolean idempotent) {
+        Attempts attempts = new Attempts(idempotent);
+        while(true) {
+            Response response;
+            try {
+                response = entity == null ? requestBuilder.method(method) : requestBuilder.method(method, entity);
+            } catch(ProcessingException e) {
+                if(!attempts.retryFailure(e)) {
+                    throw e;
+                }
+                sleep(attempts.getBackoffMillis());
+                continue;
+            }
+            if(!attempts.retryResponse(response)) {
+                return response;
+            }
+            response.close();
+            sleep(attempts.getBackoffMillis());
+        }
+    }
+
+    private static void sleep(long millis) {
+        if(millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrupted while waiting to retry request", e);
+        }
+    }
+
+    /**
+     * Sends the request without blocking; the future completes with what the reader makes of the response
+     */
+    protected <T> CompletableFuture<T> executeAsync(ApiRequest<T> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Session.addPendingRequest(result);
+        try {
+            new AsyncInvocation<>(request._requestBuilder, request._method, request._entity,
+                    new Attempts(request._idempotent), new ResponseCallback<>(result, request._reader)).send();
+        } catch(RuntimeException e) {
+            //i.e. the session is closed
+            result.completeExceptionally(new HttpException(e));
+        }
+        return result;
+    }
+
+    /**
+     * Decides, attempt after attempt, whether a request is resent: throttled requests (429/503) up to the rate limit
+     * retries, transient failures of idempotent requests as per the RetryPolicy
+     */
+    private class Attempts {
+        private final boolean _idempotent;
+        private final RetryPolicy _retryPolicy = Session.getRetryPolicy();
+        private int _throttled;
+        private int _retries;
+        private boolean _throttledLast;
+
+        Attempts(boolean idempotent) {
+            _idempotent = idempotent;
+            _retryPolicy.onRequest();
+        }
+
+        boolean retryResponse(Response response) {
+            int status = response.getStatus();
+            if(RequestThrottle.isThrottled(status) && _throttled < Session.getThrottledRetries()) {
+                //the rate limiter delays the next attempt
+                _throttled++;
+                _throttledLast = true;
+                return true;
+            }
+            _throttledLast = false;
+            return _idempotent && RetryPolicy.isRetryableStatus(status) && _retryPolicy.tryRetry(++_retries);
+        }
+
+        boolean retryFailure(Throwable throwable) {
+            _throttledLast = false;
+            return _idempotent && RetryPolicy.isRetryableFailure(throwable) && _retryPolicy.tryRetry(++_retries);
+        }
+
+        long getBackoffMillis() {
+            return _throttledLast ? 0 : _retryPolicy.getBackoffMillis(_retries);
+        }
+    }
+
+    private class AsyncInvocation<T> implements InvocationCallback<Response> {
+        private final Builder _requestBuilder;
+        private final String _method;
+        private final Entity<?> _entity;
+        private final Attempts _attempts;
+        private final ResponseCallback<T> _callback;
+
+        AsyncInvocation(Builder requestBuilder, String method, Entity<?> entity, Attempts attempts,
+                        ResponseCallback<T> callback) {
+            _requestBuilder = requestBuilder;
+            _method = method;
+            _entity = entity;
+            _attempts = attempts;
+            _callback = callback;
+        }
+
+        void send() {
+            if(_callback.isCancelled()) {
+                return;
+            }
+            Future<Response> request = _entity == null ?
+                    _requestBuilder.async().method(_method, this) :
+                    _requestBuilder.async().method(_method, _entity, this);
+            cancelOnCancel(_callback._result, request);
+        }
+
+        private void resend() {
+            long backoffMillis = _attempts.getBackoffMillis();
+            if(backoffMillis <= 0) {
+                send();
+            } else {
+                Session.getRetryScheduler().schedule(this::send, backoffMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void completed(Response response) {
+            if(_attempts.retryResponse(response)) {
+                response.close();
+                resend();
+            } else {
+                _callback.completed(response);
+            }
+        }
+
+        @Override
+        public void failed(Throwable throwable) {
+            if(_attempts.retryFailure(throwable)) {
+                resend();
+            } else {
+                _callback.failed(throwable);
+            }
+        }
+    }
+
+    private static void cancelOnCancel(CompletableFuture<?> result, Future<Response> request) {
+        result.whenComplete((value, error) -> {
+            if(result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+    }
+
+    private static class ResponseCallback<T> implements InvocationCallback<Response> {
+        private final CompletableFuture<T> _result;
+        private final ResponseReader<T> _reader;
+
+        ResponseCallback(CompletableFuture<T> result, ResponseReader<T> reader) {
+            _result = result;
+            _reader = reader;
+        }
+
+        boolean isCancelled() {
+            return _result.isCancelled();
+        }
+
+        @Override
+        public void completed(Response response) {
+            try {
+                _result.complete(_reader.read(response));
+            } catch(HttpException | RuntimeException e) {
+                _result.completeExceptionally(e);
+            } finally {
+                //readers of requests without a result only check the status
+                response.close();
+            }
+        }
+
+        @Override
+        public void failed(Throwable throwable) {
+            _result.completeExceptionally(new HttpException(throwable));
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package com.level11data.databricks.client;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket for one EndpointFamily that adapts to the rate the workspace accepts.
+ *
+ * Without a configured rate requests are not limited until the workspace throttles them (429 or 503). A throttled
+ * response pauses the family for its Retry-After (or an exponential backoff) and cuts the rate in half of what was
+ * observed; every second without throttling raises it again by 10%, up to the configured rate.
+ */
+public class AdaptiveRateLimiter {
+    private static final double MIN_RATE = 1.0;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double INCREASE_FACTOR = 1.1;
+    private static final long INCREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long DEFAULT_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60000;
+
+    private final EndpointFamily _family;
+    private final double _maxRate;
+
+    private RateLimiter _limiter;
+    private long _pausedUntilNanos;
+    private long _lastAdjustmentNanos;
+    private int _consecutiveThrottles;
+
+    private long _windowStartNanos;
+    private long _windowRequests;
+    private double _observedRate;
+
+    private final AtomicLong _throttledCount = new AtomicLong();
+    private final AtomicLong _waitNanos = new AtomicLong();
+
+    /**
+     * @param maxRate permits per second; zero or less for no limit until the workspace throttles
+     */
+    public AdaptiveRateLimiter(EndpointFamily family, double maxRate) {
+        _family = family;
+        _maxRate = maxRate > 0 ? maxRate : Double.POSITIVE_INFINITY;
+        if(maxRate > 0) {
+            _limiter = RateLimiter.create(maxRate);
+        }
+        _windowStartNanos = System.nanoTime();
+        _lastAdjustmentNanos = _windowStartNanos;
+    }
+
+    public EndpointFamily getFamily() {
+        return _family;
+    }
+
+    /**
+     * Blocks until a request of this family may be sent
+     */
+    public void acquire() {
+        long start = System.nanoTime();
+        RateLimiter limiter;
+        long pausedForNanos;
+        synchronized (this) {
+            recordRequest(start);
+            limiter = _limiter;
+            pausedForNanos = _pausedUntilNanos - start;
+        }
+        if(pausedForNanos > 0) {
+            Uninterruptibles.sleepUninterruptibly(pausedForNanos, TimeUnit.NANOSECONDS);
+        }
+        if(limiter != null) {
+            limiter.acquire();
+        }
+        _waitNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * Called when the workspace rejected a request with 429 Too Many Requests or 503 Service Unavailable
+     *
+     * @param retryAfterMillis delay requested by the Retry-After header; negative when absent
+     */
+    public synchronized void onThrottled(long retryAfterMillis) {
+        long now = System.nanoTime();
+        _throttledCount.incrementAndGet();
+
+        long backoffMillis = retryAfterMillis >= 0 ? retryAfterMillis :
+                Math.min(MAX_BACKOFF_MILLIS, DEFAULT_BACKOFF_MILLIS << Math.min(_consecutiveThrottles, 16));
+        _consecutiveThrottles++;
+        _pausedUntilNanos = Math.max(_pausedUntilNanos, now + TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+
+        double currentRate = _limiter != null ? _limiter.getRate() : getObservedRate(now);
+        double newRate = Math.max(MIN_RATE, Math.min(_maxRate, currentRate * DECREASE_FACTOR));
+        setRate(newRate);
+        _lastAdjustmentNanos = now;
+    }
+
+    /**
+     * Called when a request of this family was accepted
+     */
+    public synchronized void onSuccess() {
+        _consecutiveThrottles = 0;
+        long now = System.nanoTime();
+        if(_limiter == null || now - _lastAdjustmentNanos < INCREASE_INTERVAL_NANOS) {
+            return;
+        }
+        double rate = _limiter.getRate();
+        if(rate < _maxRate) {
+            setRate(Math.min(_maxRate, Math.max(rate + 1, rate * INCREASE_FACTOR)));
+        }
+        _lastAdjustmentNanos = now;
+    }
+
+    private void setRate(double rate) {
+        if(_limiter == null) {
+            _limiter = RateLimiter.create(rate);
+        } else {
+            _limiter.setRate(rate);
+        }
+    }
+
+    private void recordRequest(long now) {
+        long elapsed = now - _windowStartNanos;
+        if(elapsed >= INCREASE_INTERVAL_NANOS) {
+            _observedRate = _windowRequests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            _windowStartNanos = now;
+            _windowRequests = 0;
+        }
+        _windowRequests++;
+    }
+
+    private double getObservedRate(long now) {
+        long elapsed = now - _windowStartNanos;
+        double currentWindowRate = elapsed > 0 ? _windowRequests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+        return Math.max(_observedRate, currentWindowRate);
+    }
+
+    /**
+     * Current permits per second; infinite while the family is not limited
+     */
+    public synchronized double getRate() {
+        return _limiter == null ? Double.POSITIVE_INFINITY : _limiter.getRate();
+    }
+
+    public long getThrottledCount() {
+        return _throttledCount.get();
+    }
+
+    /**
+     * Total time requests of this family spent waiting for a permit
+     */
+    public long getWaitTime(TimeUnit unit) {
+        return unit.convert(_waitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+}
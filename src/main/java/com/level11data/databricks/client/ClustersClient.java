@@ -1,12 +1,10 @@
 package com.level11data.databricks.client;
 
 import com.level11data.databricks.client.entities.clusters.*;
-import org.glassfish.jersey.client.ClientConfig;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class ClustersClient extends AbstractDatabricksClient {
     private final String ENDPOINT_TARGET = "api/2.0/clusters";
@@ -15,112 +13,174 @@ public class ClustersClient extends AbstractDatabricksClient {
         super(session);
     }
 
-    protected ClientConfig ClientConfig() {
-        return super.ClientConfig();
+    public SparkVersionsDTO getSparkVersions() throws HttpException  {
+        return execute(getSparkVersionsRequest());
     }
 
-    private Client createClient() {
-        return ClientBuilder.newClient(ClientConfig());
+    public CompletableFuture<SparkVersionsDTO> getSparkVersionsAsync() {
+        return executeAsync(getSparkVersionsRequest());
     }
 
-    public SparkVersionsDTO getSparkVersions() throws HttpException  {
+    private ApiRequest<SparkVersionsDTO> getSparkVersionsRequest() {
         String pathSuffix = ENDPOINT_TARGET + "/spark-versions";
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
-
-        checkResponse(response);
-        return response.readEntity(SparkVersionsDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(SparkVersionsDTO.class));
     }
 
     public NodeTypesDTO getNodeTypes() throws HttpException  {
-        String pathSuffix = ENDPOINT_TARGET + "/list-node-types";
+        return execute(getNodeTypesRequest());
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
+    public CompletableFuture<NodeTypesDTO> getNodeTypesAsync() {
+        return executeAsync(getNodeTypesRequest());
+    }
 
-        checkResponse(response);
-        return response.readEntity(NodeTypesDTO.class);
+    private ApiRequest<NodeTypesDTO> getNodeTypesRequest() {
+        String pathSuffix = ENDPOINT_TARGET + "/list-node-types";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(NodeTypesDTO.class));
     }
 
     public ZonesDTO getZones() throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/list-zones";
+        return execute(getZonesRequest());
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
+    public CompletableFuture<ZonesDTO> getZonesAsync() {
+        return executeAsync(getZonesRequest());
+    }
 
-        checkResponse(response);
-        return response.readEntity(ZonesDTO.class);
+    private ApiRequest<ZonesDTO> getZonesRequest() {
+        String pathSuffix = ENDPOINT_TARGET + "/list-zones";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(ZonesDTO.class));
     }
 
     public ClustersDTO listClusters() throws HttpException  {
+        return execute(listClustersRequest());
+    }
+
+    public CompletableFuture<ClustersDTO> listClustersAsync() {
+        return executeAsync(listClustersRequest());
+    }
+
+    private ApiRequest<ClustersDTO> listClustersRequest() {
+        String pathSuffix = ENDPOINT_TARGET + "/list";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(ClustersDTO.class));
+    }
+
+    /**
+     * Clusters of clusters/list read one at a time from the response; close the iterator if not read to the end
+     */
+    public JsonArrayIterator<ClusterInfoDTO> iterateClusters() throws HttpException {
         String pathSuffix = ENDPOINT_TARGET + "/list";
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
+        Response response = get(Session.getRequestBuilder(pathSuffix));
 
         checkResponse(response);
-        return response.readEntity(ClustersDTO.class);
+        return new JsonArrayIterator<>(response, "clusters", ClusterInfoDTO.class);
     }
 
     public ClusterInfoDTO getCluster(String clusterId) throws HttpException {
         //TODO should be DEBUG logging statement  System.out.println("getCluster HTTP request for id "+clusterId);
 
+        return Session.getClusterRequests().execute(clusterId, () -> execute(getClusterRequest(clusterId)));
+    }
+
+    public CompletableFuture<ClusterInfoDTO> getClusterAsync(String clusterId) {
+        return Session.getClusterRequests().executeAsync(clusterId, () -> executeAsync(getClusterRequest(clusterId)));
+    }
+
+    private ApiRequest<ClusterInfoDTO> getClusterRequest(String clusterId) {
         String pathSuffix = ENDPOINT_TARGET + "/get";
 
-        Response response = Session.getRequestBuilder(pathSuffix, "cluster_id", clusterId).get();
+        return getRequest(Session.getRequestBuilder(pathSuffix, "cluster_id", clusterId),
+                entityReader(ClusterInfoDTO.class));
+    }
 
-        checkResponse(response);
-        return response.readEntity(ClusterInfoDTO.class);
+    /**
+     * Latest clusters/get response not older than maxAge; sends a new request when the cached one is older
+     */
+    public SnapshotCache.Entry<ClusterInfoDTO> getClusterSnapshot(String clusterId, long maxAge, TimeUnit unit)
+            throws HttpException {
+        return Session.getClusterSnapshots().get(clusterId, maxAge, unit, () -> getCluster(clusterId));
     }
 
     public void start(ClusterInfoDTO clusterInfoDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/start";
+        execute(startRequest(clusterInfoDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterInfoDTO));
+    public CompletableFuture<Void> startAsync(ClusterInfoDTO clusterInfoDTO) {
+        return executeAsync(startRequest(clusterInfoDTO));
+    }
 
-        // check response status code
-        checkResponse(response, "InteractiveCluster " + clusterInfoDTO.ClusterId + " is already started");
+    private ApiRequest<Void> startRequest(ClusterInfoDTO clusterInfoDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/start";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterInfoDTO,
+                statusReader("InteractiveCluster " + clusterInfoDTO.ClusterId + " is already started"));
     }
 
     public void reStart(ClusterInfoDTO clusterInfoDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/restart";
+        execute(reStartRequest(clusterInfoDTO));
+    }
+
+    public CompletableFuture<Void> reStartAsync(ClusterInfoDTO clusterInfoDTO) {
+        return executeAsync(reStartRequest(clusterInfoDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterInfoDTO));
+    private ApiRequest<Void> reStartRequest(ClusterInfoDTO clusterInfoDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/restart";
 
-        // check response status code
-        checkResponse(response, "InteractiveCluster " + clusterInfoDTO.ClusterId + " is not in a RUNNING state");
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterInfoDTO,
+                statusReader("InteractiveCluster " + clusterInfoDTO.ClusterId + " is not in a RUNNING state"));
     }
 
     public void delete(ClusterInfoDTO clusterInfoDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/delete";
+        execute(deleteRequest(clusterInfoDTO));
+    }
+
+    public CompletableFuture<Void> deleteAsync(ClusterInfoDTO clusterInfoDTO) {
+        return executeAsync(deleteRequest(clusterInfoDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterInfoDTO));
+    private ApiRequest<Void> deleteRequest(ClusterInfoDTO clusterInfoDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/delete";
 
-        // check response status code
-        checkResponse(response, "InteractiveCluster " + clusterInfoDTO.ClusterId + " is already TERMINATED or TERMINATING");
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterInfoDTO, true,
+                statusReader("InteractiveCluster " + clusterInfoDTO.ClusterId + " is already TERMINATED or TERMINATING"));
     }
 
     public void resize(ClusterInfoDTO clusterInfoDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/resize";
+        execute(resizeRequest(clusterInfoDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterInfoDTO));
+    public CompletableFuture<Void> resizeAsync(ClusterInfoDTO clusterInfoDTO) {
+        return executeAsync(resizeRequest(clusterInfoDTO));
+    }
+
+    private ApiRequest<Void> resizeRequest(ClusterInfoDTO clusterInfoDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/resize";
 
-        // check response status code
-        checkResponse(response, "InteractiveCluster " + clusterInfoDTO.ClusterId + " is not in a RUNNING state");
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterInfoDTO, true,
+                statusReader("InteractiveCluster " + clusterInfoDTO.ClusterId + " is not in a RUNNING state"));
     }
 
     public String create(ClusterInfoDTO clusterInfoDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/create";
-
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterInfoDTO));
+        return execute(createRequest(clusterInfoDTO));
+    }
 
-        checkResponse(response);
-        return response.readEntity(CreateClusterResponseDTO.class).ClusterId;
+    public CompletableFuture<String> createAsync(ClusterInfoDTO clusterInfoDTO) {
+        return executeAsync(createRequest(clusterInfoDTO));
     }
 
-    private void checkResponse(Response response, String message400) throws HttpException {
-        // check response status code
-        if (response.getStatus() == 400) {
-            throw new HttpServerSideException(message400);
-        } else {
-            super.checkResponse(response);
-        }
+    private ApiRequest<String> createRequest(ClusterInfoDTO clusterInfoDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/create";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterInfoDTO, response -> {
+            checkResponse(response);
+            return response.readEntity(CreateClusterResponseDTO.class).ClusterId;
+        });
     }
+
 }
@@ -4,14 +4,10 @@ import com.level11data.databricks.client.entities.commands.CommandRequestDTO;
 import com.level11data.databricks.client.entities.commands.CommandResponseDTO;
 import com.level11data.databricks.client.entities.commands.CommandStatusDTO;
 import com.level11data.databricks.client.entities.commands.ExecuteCommandRequestDTO;
-import org.glassfish.jersey.client.ClientConfig;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class CommandsClient extends AbstractDatabricksClient {
     private final String ENDPOINT_TARGET = "api/1.2/commands";
@@ -20,34 +16,34 @@ public class CommandsClient extends AbstractDatabricksClient {
         super(session);
     }
 
-    protected ClientConfig ClientConfig() {
-        return super.ClientConfig();
-    }
+    //TODO - Reevaluate if this is needed; if so collapse into super()
 
-    private Client createClient() {
-        return ClientBuilder.newClient(ClientConfig());
+    public String executeCommand(ExecuteCommandRequestDTO executeCommandRequestDTO) throws HttpException {
+        return execute(executeCommandRequest(executeCommandRequestDTO));
     }
 
-    //TODO - Reevaluate if this is needed; if so collapse into super()
-    private void checkResponse(Response response, String message400) throws HttpException {
-        // check response status code
-        if (response.getStatus() == 400) {
-            throw new HttpServerSideException(message400);
-        } else {
-            super.checkResponse(response);
-        }
+    public CompletableFuture<String> executeCommandAsync(ExecuteCommandRequestDTO executeCommandRequestDTO) {
+        return executeAsync(executeCommandRequest(executeCommandRequestDTO));
     }
 
-    public String executeCommand(ExecuteCommandRequestDTO executeCommandRequestDTO) throws HttpException {
+    private ApiRequest<String> executeCommandRequest(ExecuteCommandRequestDTO executeCommandRequestDTO) {
         String pathSuffix = ENDPOINT_TARGET + "/execute";
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(executeCommandRequestDTO));
-
-        checkResponse(response);
-        return response.readEntity(CommandResponseDTO.class).Id;
+        return postRequest(Session.getRequestBuilder(pathSuffix), executeCommandRequestDTO, response -> {
+            checkResponse(response);
+            return response.readEntity(CommandResponseDTO.class).Id;
+        });
     }
 
     public CommandStatusDTO getCommandStatus(CommandRequestDTO commandRequestDTO) throws HttpException {
+        return execute(getCommandStatusRequest(commandRequestDTO));
+    }
+
+    public CompletableFuture<CommandStatusDTO> getCommandStatusAsync(CommandRequestDTO commandRequestDTO) {
+        return executeAsync(getCommandStatusRequest(commandRequestDTO));
+    }
+
+    private ApiRequest<CommandStatusDTO> getCommandStatusRequest(CommandRequestDTO commandRequestDTO) {
         String pathSuffix = ENDPOINT_TARGET + "/status";
 
         Map<String, Object> queryParams = new HashMap<>();
@@ -55,17 +51,20 @@ public class CommandsClient extends AbstractDatabricksClient {
         queryParams.put("contextId",commandRequestDTO.ContextId);
         queryParams.put("commandId",commandRequestDTO.CommandId);
 
-        Response response = Session.getRequestBuilder(pathSuffix, queryParams).get();
-
-        checkResponse(response);
-        return response.readEntity(CommandStatusDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix, queryParams), entityReader(CommandStatusDTO.class));
     }
 
     public void cancelCommand(CommandRequestDTO commandRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/cancel";
+        execute(cancelCommandRequest(commandRequestDTO));
+    }
+
+    public CompletableFuture<Void> cancelCommandAsync(CommandRequestDTO commandRequestDTO) {
+        return executeAsync(cancelCommandRequest(commandRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(commandRequestDTO));
+    private ApiRequest<Void> cancelCommandRequest(CommandRequestDTO commandRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/cancel";
 
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), commandRequestDTO, true, statusReader());
     }
 }
@@ -0,0 +1,39 @@
+package com.level11data.databricks.client;
+
+import org.apache.http.pool.PoolStats;
+
+public class ConnectionPoolStats {
+    public final int Leased;
+    public final int Available;
+    public final int Pending;
+    public final int Max;
+
+    public ConnectionPoolStats(int leased, int available, int pending, int max) {
+        Leased = leased;
+        Available = available;
+        Pending = pending;
+        Max = max;
+    }
+
+    ConnectionPoolStats(PoolStats poolStats) {
+        this(poolStats.getLeased(), poolStats.getAvailable(), poolStats.getPending(), poolStats.getMax());
+    }
+
+    /**
+     * Fraction of the pool currently leased to in-flight requests; 0.0 when the pool is unbounded or disabled
+     */
+    public double getUtilization() {
+        if(Max <= 0) {
+            return 0.0;
+        }
+        return (double) Leased / Max;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats[leased=" + Leased +
+                ", available=" + Available +
+                ", pending=" + Pending +
+                ", max=" + Max + "]";
+    }
+}
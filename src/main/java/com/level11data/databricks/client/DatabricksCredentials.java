@@ -0,0 +1,40 @@
+package com.level11data.databricks.client;
+
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Authorization header value resolved once from the DatabricksClientConfiguration,
+ * so that building a request does not go back to the configuration for every call.
+ */
+final class DatabricksCredentials {
+    private final String _authorizationHeader;
+
+    private DatabricksCredentials(String authorizationHeader) {
+        _authorizationHeader = authorizationHeader;
+    }
+
+    static DatabricksCredentials fromConfig(DatabricksClientConfiguration config) {
+        if(config.hasClientToken()) {
+            //authenticate with token as first priority
+            return new DatabricksCredentials("Bearer " + config.getClientToken());
+        } else {
+            //otherwise, authenticate with username and password (same encoding as Jersey's basic auth feature)
+            String userPass = config.getClientUsername() + ":" + config.getClientPassword();
+            return new DatabricksCredentials("Basic " +
+                    Base64.getEncoder().encodeToString(userPass.getBytes(StandardCharsets.ISO_8859_1)));
+        }
+    }
+
+    String getAuthorizationHeader() {
+        return _authorizationHeader;
+    }
+
+    @Override
+    public String toString() {
+        //never expose the secret
+        return "DatabricksCredentials[" + _authorizationHeader.substring(0, _authorizationHeader.indexOf(' ')) + "]";
+    }
+}
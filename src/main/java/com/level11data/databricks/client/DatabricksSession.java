@@ -5,41 +5,86 @@ import com.level11data.databricks.client.entities.workspace.*;
 import com.level11data.databricks.cluster.*;
 import com.level11data.databricks.cluster.builder.*;
 import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.config.HttpConnectorType;
 import com.level11data.databricks.client.entities.jobs.*;
 import com.level11data.databricks.client.entities.clusters.*;
 import com.level11data.databricks.dbfs.*;
 import com.level11data.databricks.job.*;
 import com.level11data.databricks.job.builder.*;
 import com.level11data.databricks.job.run.*;
+import com.level11data.databricks.job.util.JobRunHelper;
 import com.level11data.databricks.library.*;
 import com.level11data.databricks.util.ResourceConfigException;
 import com.level11data.databricks.workspace.*;
 import com.level11data.databricks.workspace.builder.ScalaNotebookBuilder;
 import com.level11data.databricks.workspace.util.WorkspaceHelper;
+import org.apache.log4j.Logger;
 import org.glassfish.jersey.client.ClientConfig;
-import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.filter.EncodingFilter;
 import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.message.GZipEncoder;
 import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
-public class DatabricksSession {
+public class DatabricksSession implements Closeable {
+    private static final Logger log = Logger.getLogger(DatabricksSession.class);
+
     protected final URI Url;
 
     private final DatabricksClientConfiguration _databricksClientConfig;
 
-    private final ClientConfig _clientConfig = new ClientConfig().register(new JacksonFeature());
-    private final Client _httpClient = ClientBuilder.newClient(_clientConfig);
-    private HttpAuthenticationFeature _userPassAuth;
+    private final HttpConnectionPool _connectionPool;
+    private final SessionExecutors _executors;
+    private final ClientConfig _clientConfig;
+    private final Client _httpClient;
+    private final DatabricksCredentials _credentials;
+    private final RequestThrottle _throttle;
+    private final TransferMeter _transferMeter = new TransferMeter();
+    private final RetryPolicy _retryPolicy;
+    private ScheduledExecutorService _retryScheduler;
+    private final SingleFlight<String, ClusterInfoDTO> _clusterRequests = new SingleFlight<>();
+    private final SingleFlight<Long, RunDTO> _runRequests = new SingleFlight<>();
+    private final SnapshotCache<String, ClusterInfoDTO> _clusterSnapshots;
+    private final SnapshotCache<Long, RunDTO> _runSnapshots;
+    private final int _dbfsUploadBlockSize;
+    private final int _dbfsUploadReadAhead;
+    private final int _dbfsDownloadConcurrency;
+    private final int _dbfsSyncConcurrency;
+    private final int _dbfsListConcurrency;
+    private final int _dbfsBulkConcurrency;
+    private final int _dbfsStreamBufferSize;
+    private final int _dbfsStreamReadAhead;
+    private final long _runMonitorMinPollIntervalMillis;
+    private final long _runMonitorMaxPollIntervalMillis;
+    private final int _runMonitorListPollingMinRuns;
+    private final int _runMonitorEventBufferSize;
+    private final int _jobsSubmitConcurrency;
+    private final ConcurrentMap<String, WebTarget> _targets = new ConcurrentHashMap<>();
+    //results of the asynchronous requests in flight, failed on close
+    private final Set<CompletableFuture<?>> _pendingRequests = ConcurrentHashMap.newKeySet();
+    private volatile boolean _closed = false;
 
     private ClustersClient _clustersClient;
     private JobsClient _jobsClient;
@@ -52,6 +97,8 @@ public class DatabricksSession {
     private List<SparkVersion> _sparkVersions;
     private List<NodeType> _nodeTypes;
     private WorkspaceHelper _workspaceHelper;
+    private RunMonitor _runMonitor;
+    private RunEventPublisher _runEventPublisher;
 
     public DatabricksSession(DatabricksClientConfiguration databricksConfig) throws DatabricksConfigException {
         //validate expectations of config; throw exception if not met
@@ -59,6 +106,303 @@ public class DatabricksSession {
 
         _databricksClientConfig = databricksConfig;
         Url = databricksConfig.getClientUrl();
+        _credentials = DatabricksCredentials.fromConfig(databricksConfig);
+
+        if(databricksConfig.getHttpConnector() == HttpConnectorType.APACHE) {
+            _connectionPool = new HttpConnectionPool(databricksConfig);
+        } else {
+            _connectionPool = null;
+        }
+        _executors = new SessionExecutors(databricksConfig.getExecutionMode(), databricksConfig.getAsyncThreads());
+        _throttle = databricksConfig.isRateLimitEnabled() ? new RequestThrottle(databricksConfig) : null;
+        _retryPolicy = RetryPolicy.fromConfig(databricksConfig);
+        _clusterSnapshots = new SnapshotCache<>(databricksConfig.getSnapshotCacheMaxSize(),
+                databricksConfig.getSnapshotCacheTimeToLiveSeconds());
+        _runSnapshots = new SnapshotCache<>(databricksConfig.getSnapshotCacheMaxSize(),
+                databricksConfig.getSnapshotCacheTimeToLiveSeconds());
+        _dbfsUploadBlockSize = databricksConfig.getDbfsUploadBlockSize();
+        _dbfsUploadReadAhead = databricksConfig.getDbfsUploadReadAhead();
+        _dbfsDownloadConcurrency = databricksConfig.getDbfsDownloadConcurrency();
+        _dbfsSyncConcurrency = databricksConfig.getDbfsSyncConcurrency();
+        _dbfsListConcurrency = databricksConfig.getDbfsListConcurrency();
+        _dbfsBulkConcurrency = databricksConfig.getDbfsBulkConcurrency();
+        _dbfsStreamBufferSize = databricksConfig.getDbfsStreamBufferSize();
+        _dbfsStreamReadAhead = databricksConfig.getDbfsStreamReadAhead();
+        _runMonitorMinPollIntervalMillis = databricksConfig.getRunMonitorMinPollIntervalMillis();
+        _runMonitorMaxPollIntervalMillis = databricksConfig.getRunMonitorMaxPollIntervalMillis();
+        _runMonitorListPollingMinRuns = databricksConfig.getRunMonitorListPollingMinRuns();
+        _runMonitorEventBufferSize = databricksConfig.getRunMonitorEventBufferSize();
+        _jobsSubmitConcurrency = databricksConfig.getJobsSubmitConcurrency();
+        _clientConfig = createClientConfig();
+        _httpClient = ClientBuilder.newClient(_clientConfig);
+    }
+
+    private ClientConfig createClientConfig() {
+        ClientConfig clientConfig = new ClientConfig()
+                .register(new JacksonFeature())
+                .register(new ObjectMapperProvider())
+                .register(new SessionAsyncExecutorProvider(_executors.getAsyncExecutor()));
+        if(_throttle != null) {
+            clientConfig.register(_throttle);
+        }
+        clientConfig.register(_transferMeter);
+        for(Object interceptor : _transferMeter.getInterceptors()) {
+            clientConfig.register(interceptor);
+        }
+
+        if(_databricksClientConfig.isHttpCompressionEnabled()) {
+            clientConfig.register(EncodingFilter.class).register(GZipEncoder.class);
+            if(_databricksClientConfig.isHttpRequestCompressionEnabled()) {
+                clientConfig.property(ClientProperties.USE_ENCODING, "gzip");
+            }
+        }
+        if(_connectionPool != null) {
+            _connectionPool.configure(clientConfig);
+        }
+        return clientConfig;
+    }
+
+    /**
+     * Bytes sent and received per endpoint (i.e. "workspace/export"), on the wire and uncompressed
+     */
+    public Map<String, TransferStats> getTransferStats() {
+        return _transferMeter.getStats();
+    }
+
+    public TransferStats getTransferStats(String endpoint) {
+        return _transferMeter.getStats(endpoint);
+    }
+
+    /**
+     * Rate limiter applied to requests of an endpoint family; null when rate limiting is disabled
+     */
+    public AdaptiveRateLimiter getRateLimiter(EndpointFamily family) {
+        return _throttle == null ? null : _throttle.getRateLimiter(family);
+    }
+
+    /**
+     * Retry policy for transient failures of idempotent requests; also holds the retry metrics of this session
+     */
+    public RetryPolicy getRetryPolicy() {
+        return _retryPolicy;
+    }
+
+    /**
+     * Scheduler delaying the retries of asynchronous requests
+     */
+    synchronized ScheduledExecutorService getRetryScheduler() {
+        if(_retryScheduler == null) {
+            _retryScheduler = _executors.newScheduler("databricks-retry-");
+        }
+        return _retryScheduler;
+    }
+
+    /**
+     * Concurrent clusters/get requests for the same cluster share one HTTP call
+     */
+    public SingleFlight<String, ClusterInfoDTO> getClusterRequests() {
+        return _clusterRequests;
+    }
+
+    /**
+     * Concurrent jobs/runs/get requests for the same run share one HTTP call
+     */
+    public SingleFlight<Long, RunDTO> getRunRequests() {
+        return _runRequests;
+    }
+
+    /**
+     * Latest clusters/get responses, read through ClustersClient.getClusterSnapshot
+     */
+    public SnapshotCache<String, ClusterInfoDTO> getClusterSnapshots() {
+        return _clusterSnapshots;
+    }
+
+    /**
+     * Latest jobs/runs/get responses, read through JobsClient.getRunSnapshot
+     */
+    public SnapshotCache<Long, RunDTO> getRunSnapshots() {
+        return _runSnapshots;
+    }
+
+    /**
+     * Raw bytes sent per dbfs/add-block by DbfsHelper uploads
+     */
+    public int getDbfsUploadBlockSize() {
+        return _dbfsUploadBlockSize;
+    }
+
+    /**
+     * Number of blocks DbfsHelper uploads read and encode ahead of the block being sent; 0 when disabled
+     */
+    public int getDbfsUploadReadAhead() {
+        return _dbfsUploadReadAhead;
+    }
+
+    /**
+     * Number of dbfs/read requests DbfsHelper downloads keep in flight
+     */
+    public int getDbfsDownloadConcurrency() {
+        return _dbfsDownloadConcurrency;
+    }
+
+    /**
+     * Number of files a DbfsSync transfers or deletes at once
+     */
+    public int getDbfsSyncConcurrency() {
+        return _dbfsSyncConcurrency;
+    }
+
+    /**
+     * Number of dbfs/list requests a DbfsWalker keeps in flight
+     */
+    public int getDbfsListConcurrency() {
+        return _dbfsListConcurrency;
+    }
+
+    /**
+     * Number of requests a DbfsBatch keeps in flight
+     */
+    public int getDbfsBulkConcurrency() {
+        return _dbfsBulkConcurrency;
+    }
+
+    /**
+     * Bytes a DbfsReadChannel requests per dbfs/read
+     */
+    public int getDbfsStreamBufferSize() {
+        return _dbfsStreamBufferSize;
+    }
+
+    /**
+     * Number of buffers a DbfsReadChannel reads ahead of the one being consumed; 0 when disabled
+     */
+    public int getDbfsStreamReadAhead() {
+        return _dbfsStreamReadAhead;
+    }
+
+    /**
+     * Interval at which the RunMonitor polls a run just tracked or whose state just changed
+     */
+    public long getRunMonitorMinPollIntervalMillis() {
+        return _runMonitorMinPollIntervalMillis;
+    }
+
+    /**
+     * Longest interval between two polls of a run by the RunMonitor
+     */
+    public long getRunMonitorMaxPollIntervalMillis() {
+        return _runMonitorMaxPollIntervalMillis;
+    }
+
+    /**
+     * Number of tracked runs of a job from which the RunMonitor polls them with jobs/runs/list; 0 when disabled
+     */
+    public int getRunMonitorListPollingMinRuns() {
+        return _runMonitorListPollingMinRuns;
+    }
+
+    /**
+     * Number of run events a subscriber of the RunEventPublisher can fall behind before its subscription fails
+     */
+    public int getRunMonitorEventBufferSize() {
+        return _runMonitorEventBufferSize;
+    }
+
+    /**
+     * Number of jobs/run-now requests a JobBatch keeps in flight
+     */
+    public int getJobsSubmitConcurrency() {
+        return _jobsSubmitConcurrency;
+    }
+
+    /**
+     * Monitor following the state of the runs of this session from a single thread; created on first use
+     */
+    public synchronized RunMonitor getRunMonitor() {
+        if(_runMonitor == null) {
+            _runMonitor = new RunMonitor(getJobsClient());
+        }
+        return _runMonitor;
+    }
+
+    /**
+     * Publisher of the transitions and outputs of the runs tracked by the RunMonitor; created on first use
+     */
+    public synchronized RunEventPublisher getRunEventPublisher() {
+        if(_runEventPublisher == null) {
+            _runEventPublisher = new RunEventPublisher(getJobsClient());
+        }
+        return _runEventPublisher;
+    }
+
+    /**
+     * Number of times a request rejected with 429 or 503 is resent; 0 when rate limiting is disabled,
+     * since there is nothing then to delay the next attempt
+     */
+    int getThrottledRetries() {
+        return _throttle == null ? 0 : _databricksClientConfig.getRateLimitMaxRetries();
+    }
+
+    /**
+     * Utilization of the pooled connections to the Databricks workspace;
+     * all zeros when the session is configured with the DEFAULT (non-pooling) connector
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        if(_connectionPool == null) {
+            return new ConnectionPoolStats(0, 0, 0, 0);
+        }
+        return _connectionPool.getRouteStats();
+    }
+
+    /**
+     * Executor running the asynchronous requests of this session;
+     * can be used to run dependent stages of the returned futures (i.e. thenApplyAsync)
+     */
+    public Executor getAsyncExecutor() {
+        return _executors.getAsyncExecutor();
+    }
+
+    /**
+     * Threads of this session (async executor, pollers); all of them are virtual threads in VIRTUAL execution mode
+     */
+    public SessionExecutors getExecutors() {
+        return _executors;
+    }
+
+    /**
+     * Releases the HTTP client, the session's threads and any pooled connections held by this session
+     */
+    public void close() {
+        _closed = true;
+        synchronized(this) {
+            if(_runEventPublisher != null) {
+                _runEventPublisher.close();
+            }
+            if(_runMonitor != null) {
+                _runMonitor.close();
+            }
+        }
+        _httpClient.close();
+        for(CompletableFuture<?> request : _pendingRequests) {
+            request.completeExceptionally(new HttpException("Session is closed"));
+        }
+        _executors.shutdown();
+        if(_connectionPool != null) {
+            _connectionPool.close();
+        }
+    }
+
+    /**
+     * Fails the result of an asynchronous request if the session is closed before it completes, as the HTTP client
+     * drops the callbacks of the requests in flight when closed
+     */
+    void addPendingRequest(CompletableFuture<?> result) {
+        _pendingRequests.add(result);
+        result.whenComplete((value, e) -> _pendingRequests.remove(result));
+        if(_closed) {
+            result.completeExceptionally(new HttpException("Session is closed"));
+        }
     }
 
     public Builder getRequestBuilder(String path) {
@@ -66,58 +410,35 @@ public class DatabricksSession {
     }
 
     public Builder getRequestBuilder(String path, String queryParamKey, Object queryParamValue) {
-        Map<String, Object> queryMap = new HashMap<>();
-        queryMap.put(queryParamKey, queryParamValue);
-        return getRequestBuilder(path, queryMap);
+        return getRequestBuilder(getTarget(path).queryParam(queryParamKey, queryParamValue));
     }
 
     public Builder getRequestBuilder(String path, Map<String,Object> queryParams) {
-        //TODO add DEBUG System.out.println(_httpClient.target(this.Url).path(path).getUri().toString());
-//        if(queryParams != null) {
-//            System.out.println("Query Params:");
-//            queryParams.forEach((k,v) -> System.out.println("(" + k + "," + v + ")"));
-//        }
-
-        if(_databricksClientConfig.hasClientToken()) {
-            //authenticate with token as first priority
-            //System.out.println("Authenticating with TOKEN");
-            if (queryParams != null) {
-                WebTarget target = _httpClient.target(this.Url).path(path);
-
-                target = applyQueryParameters(target, queryParams);
-
-                return target
-                        .request(MediaType.APPLICATION_JSON_TYPE)
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + _databricksClientConfig.getClientToken())
-                        .accept(MediaType.APPLICATION_JSON);
-            } else {
-                return _httpClient
-                        .target(this.Url)
-                        .path(path)
-                        .request(MediaType.APPLICATION_JSON_TYPE)
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + _databricksClientConfig.getClientToken())
-                        .accept(MediaType.APPLICATION_JSON);
-            }
-        } else {
-            //otherwise, authenticate with username and password
-            //TODO add DEBUG System.out.println("Authenticating with USERNAME and PASSWORD");
-            if(queryParams != null) {
-                WebTarget target = _httpClient.target(this.Url).path(path);
-
-                target = applyQueryParameters(target, queryParams);
-
-                return target
-                        .request(MediaType.APPLICATION_JSON_TYPE)
-                        .accept(MediaType.APPLICATION_JSON);
-            } else {
-                return _httpClient
-                        .target(this.Url)
-                        .path(path)
-                        .register(getUserPassAuth())
-                        .request(MediaType.APPLICATION_JSON_TYPE)
-                        .accept(MediaType.APPLICATION_JSON);
+        WebTarget target = getTarget(path);
+
+        if(queryParams != null) {
+            target = applyQueryParameters(target, queryParams);
+        }
+        return getRequestBuilder(target);
+    }
+
+    private Builder getRequestBuilder(WebTarget target) {
+        return target
+                .request(MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.AUTHORIZATION, _credentials.getAuthorizationHeader());
+    }
+
+    private WebTarget getTarget(String path) {
+        WebTarget target = _targets.get(path);
+        if(target == null) {
+            //WebTargets are immutable; endpoint paths are a small fixed set, so caching them is unbounded by design
+            target = _httpClient.target(this.Url).path(path);
+            WebTarget existing = _targets.putIfAbsent(path, target);
+            if(existing != null) {
+                target = existing;
             }
         }
+        return target;
     }
 
     private WebTarget applyQueryParameters(WebTarget target, Map<String,Object> queryParams) {
@@ -136,16 +457,6 @@ public class DatabricksSession {
         }
     }
 
-    private HttpAuthenticationFeature getUserPassAuth() {
-        if(_userPassAuth == null) {
-            _userPassAuth = HttpAuthenticationFeature.basicBuilder()
-                    .credentials(_databricksClientConfig.getClientUsername()
-                            , _databricksClientConfig.getClientPassword())
-                    .build();
-        }
-        return _userPassAuth;
-    }
-
     public ClustersClient getClustersClient() {
         if(_clustersClient == null) {
             _clustersClient =  new ClustersClient(this);
@@ -341,21 +652,36 @@ public class DatabricksSession {
     public Job getJob(long jobId) throws JobConfigException {
         try {
             JobsClient client = getJobsClient();
-            JobDTO jobDTO = client.getJob(jobId);
+            return getJob(client, client.getJob(jobId), new HashMap<>(), new HashMap<>());
+        } catch(HttpException e) {
+            throw new JobConfigException(e);
+        }
+    }
 
+    /**
+     * The job, with its cluster and notebook read unless already in clusters and notebooks, by id and path, which
+     * they are added to
+     */
+    private Job getJob(JobsClient client, JobDTO jobDTO, Map<String, InteractiveCluster> clusters,
+                       Map<String, Notebook> notebooks) throws JobConfigException {
+        try {
             if(jobDTO.isInteractive() && jobDTO.isNotebookJob()) {
-                InteractiveCluster cluster = getCluster(jobDTO.Settings.ExistingClusterId);
-                Notebook notebook = getNotebook(jobDTO.Settings.NotebookTask.NotebookPath);
+                InteractiveCluster cluster = getCluster(jobDTO.Settings.ExistingClusterId, clusters);
+                Notebook notebook = notebooks.get(jobDTO.Settings.NotebookTask.NotebookPath);
+                if(notebook == null) {
+                    notebook = getNotebook(jobDTO.Settings.NotebookTask.NotebookPath);
+                    notebooks.put(jobDTO.Settings.NotebookTask.NotebookPath, notebook);
+                }
                 return new InteractiveNotebookJob(client, cluster, jobDTO, notebook);
             } else if(jobDTO.isAutomated() && jobDTO.isNotebookJob()) {
                 return new AutomatedNotebookJob(client, jobDTO);
             } else if(jobDTO.isInteractive() && jobDTO.isJarJob()) {
-                InteractiveCluster cluster = getCluster(jobDTO.Settings.ExistingClusterId);
+                InteractiveCluster cluster = getCluster(jobDTO.Settings.ExistingClusterId, clusters);
                 return new InteractiveJarJob(client,cluster, jobDTO);
             } else if(jobDTO.isAutomated() && jobDTO.isJarJob()) {
                 return new AutomatedJarJob(client, jobDTO);
             } else if(jobDTO.isInteractive() && jobDTO.isPythonJob()) {
-                InteractiveCluster cluster = getCluster(jobDTO.Settings.ExistingClusterId);
+                InteractiveCluster cluster = getCluster(jobDTO.Settings.ExistingClusterId, clusters);
                 PythonScript pythonScript = getPythonScript(new URI(jobDTO.Settings.SparkPythonTask.PythonFile));
                 return new InteractivePythonJob(client, cluster, pythonScript, jobDTO);
             } else if(jobDTO.isAutomated() && jobDTO.isPythonJob()) {
@@ -364,8 +690,6 @@ public class DatabricksSession {
             } else if(jobDTO.isAutomated() && jobDTO.isSparkSubmitJob()) {
                 return new AutomatedSparkSubmitJob(client, jobDTO);
             }
-        } catch(HttpException e) {
-            throw new JobConfigException(e);
         } catch(ClusterConfigException e) {
             throw new JobConfigException(e);
         } catch(URISyntaxException e) {
@@ -379,15 +703,59 @@ public class DatabricksSession {
         throw new JobConfigException("Unsupported Job Type");
     }
 
+    private InteractiveCluster getCluster(String id, Map<String, InteractiveCluster> clusters)
+            throws ClusterConfigException {
+        InteractiveCluster cluster = clusters.get(id);
+        if(cluster == null) {
+            cluster = getCluster(id);
+            clusters.put(id, cluster);
+        }
+        return cluster;
+    }
+
+    /**
+     * Every job of the workspace, read one at a time from the jobs/list response (which is not paginated); close the
+     * stream if not read to the end. The cluster and notebook of interactive jobs are read once per listing, however
+     * many jobs share them. Jobs that cannot be read, i.e. whose cluster or notebook no longer exists, are skipped
+     * with a warning.
+     */
+    public Stream<Job> listJobs() throws HttpException {
+        JobsClient client = getJobsClient();
+        JsonArrayIterator<JobDTO> jobs = client.iterateJobs();
+        Map<String, InteractiveCluster> clusters = new HashMap<>();
+        Map<String, Notebook> notebooks = new HashMap<>();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(jobs,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(jobs::close).map(jobDTO -> {
+            try {
+                return getJob(client, jobDTO, clusters, notebooks);
+            } catch(JobConfigException e) {
+                log.warn("Skipping job " + jobDTO.JobId, e);
+                return null;
+            }
+        }).filter(Objects::nonNull);
+    }
+
     public JobRun getRun(long runId) throws HttpException, JobRunException {
         JobsClient client = getJobsClient();
-        RunDTO runDTO = client.getRun(runId);
+        return JobRunHelper.createJobRun(client, client.getRun(runId));
+    }
 
-        if(runDTO.isInteractive() && runDTO.isNotebookJob()) {
-            return new InteractiveNotebookJobRun(client, runDTO);
-        } else {
-            throw new JobRunException("Unsupported Job Type");  //TODO add better exception handling
-        }
+    /**
+     * The runs of every job, most recently started first, listed page by page while iterated; filters are added to
+     * the returned RunHistory before iterating it
+     */
+    public RunHistory listRuns() {
+        return new RunHistory(getJobsClient());
+    }
+
+    /**
+     * Submits the runs concurrently, within the MaxConcurrentRuns of their jobs; the returned batch tells the
+     * progress and has the futures of every run
+     */
+    public JobBatch submitAll(Collection<RunRequest> requests) {
+        JobBatch batch = new JobBatch(getJobsClient());
+        batch.submitAll(requests);
+        return batch;
     }
 
     public AutomatedNotebookJobBuilder createJob(Notebook notebook) {
@@ -442,6 +810,83 @@ public class DatabricksSession {
         DbfsHelper.putFile(getDbfsClient(), file, dbfsPath);
     }
 
+    public void putDbfsFile(Path path, String dbfsPath, boolean overwrite) throws IOException, HttpException {
+        DbfsHelper.putFile(getDbfsClient(), path, dbfsPath, overwrite);
+    }
+
+    /**
+     * Uploads a file unless the DBFS file already has the same content; returns whether the file was uploaded
+     * (see DbfsHelper.putFileIfChanged)
+     */
+    public boolean putDbfsFileIfChanged(File file, String dbfsPath, boolean overwrite) throws IOException, HttpException {
+        return DbfsHelper.putFileIfChanged(getDbfsClient(), file, dbfsPath, overwrite);
+    }
+
+    public void putDbfsFile(InputStream in, String dbfsPath, boolean overwrite) throws IOException, HttpException {
+        DbfsHelper.putStream(getDbfsClient(), in, dbfsPath, overwrite);
+    }
+
+    /**
+     * Writes the content of a DBFS file to a stream, which is not closed; returns the number of bytes written
+     */
+    public long downloadDbfsFile(String dbfsPath, OutputStream out) throws IOException, HttpException {
+        return DbfsHelper.download(getDbfsClient(), dbfsPath, out);
+    }
+
+    /**
+     * Writes the content of a DBFS file to a local file, replacing it; returns the number of bytes written
+     */
+    public long downloadDbfsFile(String dbfsPath, Path path) throws IOException, HttpException {
+        return DbfsHelper.download(getDbfsClient(), dbfsPath, path);
+    }
+
+    /**
+     * Writes the content of a DBFS file to a local file; with resume, a download interrupted earlier continues from
+     * its last checkpoint (see DbfsHelper.download)
+     */
+    public long downloadDbfsFile(String dbfsPath, Path path, boolean resume) throws IOException, HttpException {
+        return DbfsHelper.download(getDbfsClient(), dbfsPath, path, resume);
+    }
+
+    /**
+     * Makes a DBFS directory a copy of a local directory, transferring only the files that differ (see DbfsSync)
+     */
+    public DbfsSyncResult syncToDbfs(Path localDirectory,
+                                     String dbfsDirectory,
+                                     boolean delete) throws IOException, HttpException {
+        return new DbfsSync(getDbfsClient()).withDelete(delete).upload(localDirectory, dbfsDirectory);
+    }
+
+    /**
+     * Makes a local directory a copy of a DBFS directory, transferring only the files that differ (see DbfsSync)
+     */
+    public DbfsSyncResult syncFromDbfs(String dbfsDirectory,
+                                       Path localDirectory,
+                                       boolean delete) throws IOException, HttpException {
+        return new DbfsSync(getDbfsClient()).withDelete(delete).download(dbfsDirectory, localDirectory);
+    }
+
+    /**
+     * Reads a DBFS file sequentially, with the next buffers read while the current one is consumed
+     */
+    public DbfsInputStream openDbfsInputStream(String dbfsPath) {
+        return new DbfsInputStream(getDbfsClient(), dbfsPath);
+    }
+
+    /**
+     * Reads a DBFS file at any position
+     */
+    public DbfsReadChannel openDbfsChannel(String dbfsPath) {
+        return new DbfsReadChannel(getDbfsClient(), dbfsPath);
+    }
+
+    /**
+     * Writes a DBFS file, which has its content once the stream is closed
+     */
+    public DbfsOutputStream openDbfsOutputStream(String dbfsPath, boolean overwrite) {
+        return new DbfsOutputStream(getDbfsClient(), dbfsPath, overwrite);
+    }
+
     public byte[] getDbfsObject(String dbfsPath) throws IOException, HttpException {
         return DbfsHelper.getObject(getDbfsClient(), dbfsPath);
     }
@@ -457,14 +902,37 @@ public class DatabricksSession {
         getDbfsClient().delete(dbfsDeleteRequestDTO);
     }
 
+    /**
+     * Deletes many paths concurrently; a path failing does not stop the others (see DbfsBatch)
+     */
+    public DbfsBatchResult<Void> deleteDbfsObjects(Collection<String> dbfsPaths,
+                                                   boolean recursive) throws HttpException {
+        return new DbfsBatch(getDbfsClient()).deleteAll(dbfsPaths, recursive);
+    }
+
+    public DbfsBatchResult<DbfsFileInfo> getDbfsObjectStatuses(Collection<String> dbfsPaths) throws HttpException {
+        return new DbfsBatch(getDbfsClient()).statusAll(dbfsPaths);
+    }
+
     public void moveDbfsObject(String fromPath, String toPath) throws HttpException {
         getDbfsClient().move(fromPath, toPath);
     }
 
+    /**
+     * Moves every source path of the map to its destination path concurrently (see DbfsBatch)
+     */
+    public DbfsBatchResult<Void> moveDbfsObjects(Map<String, String> moves) throws HttpException {
+        return new DbfsBatch(getDbfsClient()).moveAll(moves);
+    }
+
     public void mkdirsDbfs(String path) throws HttpException {
         getDbfsClient().mkdirs(path);
     }
 
+    public DbfsBatchResult<Void> mkdirsDbfs(Collection<String> paths) throws HttpException {
+        return new DbfsBatch(getDbfsClient()).mkdirsAll(paths);
+    }
+
     public ArrayList<DbfsFileInfo> listDbfs(String path) throws HttpException {
         DbfsListResponseDTO dbfsListResponseDTO = getDbfsClient().list(path);
         ArrayList<DbfsFileInfo> fileList = new ArrayList<>();
@@ -476,6 +944,14 @@ public class DatabricksSession {
         return fileList;
     }
 
+    /**
+     * Walks the tree under a DBFS directory, listing directories concurrently; the walk starts when the walker is
+     * first iterated, so filters can be added before (see DbfsWalker)
+     */
+    public DbfsWalker walkDbfs(String path) {
+        return new DbfsWalker(getDbfsClient(), path);
+    }
+
     public JarLibrary getJarLibrary(URI uri) throws LibraryConfigException {
         return new JarLibrary(getLibrariesClient(), uri);
     }
@@ -1,14 +1,18 @@
 package com.level11data.databricks.client;
 
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.level11data.databricks.client.entities.dbfs.*;
-import org.glassfish.jersey.client.ClientConfig;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class DbfsClient extends AbstractDatabricksClient {
 
@@ -18,109 +22,167 @@ public class DbfsClient extends AbstractDatabricksClient {
         super(session);
     }
 
-    protected ClientConfig ClientConfig() {
-        return super.ClientConfig();
+    public FileInfoDTO getStatus(String path) throws HttpException {
+        return execute(getStatusRequest(path));
     }
 
-    private Client createClient() {
-        return ClientBuilder.newClient(ClientConfig());
+    public CompletableFuture<FileInfoDTO> getStatusAsync(String path) {
+        return executeAsync(getStatusRequest(path));
     }
 
-    public FileInfoDTO getStatus(String path) throws HttpException {
+    private ApiRequest<FileInfoDTO> getStatusRequest(String path) {
         String pathSuffix = ENDPOINT_TARGET + "/get-status";
 
-        Response response = Session.getRequestBuilder(pathSuffix,"path",path).get();
-
-        checkResponse(response);
-        return response.readEntity(FileInfoDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix,"path",path), entityReader(FileInfoDTO.class));
     }
 
     public long create(CreateRequestDTO createRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/create";
+        return execute(createRequest(createRequestDTO));
+    }
+
+    public CompletableFuture<Long> createAsync(CreateRequestDTO createRequestDTO) {
+        return executeAsync(createRequest(createRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(createRequestDTO));
+    private ApiRequest<Long> createRequest(CreateRequestDTO createRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/create";
 
-        checkResponse(response);
-        return response.readEntity(CreateResponseDTO.class).Handle;
+        return postRequest(Session.getRequestBuilder(pathSuffix), createRequestDTO, createRequestDTO.Overwrite, response -> {
+            checkResponse(response);
+            return response.readEntity(CreateResponseDTO.class).Handle;
+        });
     }
 
     public void close(CloseRequestDTO closeRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/close";
+        execute(closeRequest(closeRequestDTO));
+    }
+
+    public CompletableFuture<Void> closeAsync(CloseRequestDTO closeRequestDTO) {
+        return executeAsync(closeRequest(closeRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(closeRequestDTO));
+    private ApiRequest<Void> closeRequest(CloseRequestDTO closeRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/close";
 
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), closeRequestDTO, statusReader());
     }
 
     public void addBlock(AddBlockRequestDTO addBlockRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/add-block";
+        execute(addBlockRequest(addBlockRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(addBlockRequestDTO));
+    public CompletableFuture<Void> addBlockAsync(AddBlockRequestDTO addBlockRequestDTO) {
+        return executeAsync(addBlockRequest(addBlockRequestDTO));
+    }
 
-        checkResponse(response);
+    private ApiRequest<Void> addBlockRequest(AddBlockRequestDTO addBlockRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/add-block";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), addBlockRequestDTO, statusReader());
     }
 
     public void put(PutRequestDTO putRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/put";
+        execute(putRequest(putRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(putRequestDTO));
+    public CompletableFuture<Void> putAsync(PutRequestDTO putRequestDTO) {
+        return executeAsync(putRequest(putRequestDTO));
+    }
+
+    private ApiRequest<Void> putRequest(PutRequestDTO putRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/put";
 
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), putRequestDTO, putRequestDTO.Overwrite, statusReader());
     }
 
     public void delete(DbfsDeleteRequestDTO dbfsDeleteRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/delete";
+        execute(deleteRequest(dbfsDeleteRequestDTO));
+    }
+
+    public CompletableFuture<Void> deleteAsync(DbfsDeleteRequestDTO dbfsDeleteRequestDTO) {
+        return executeAsync(deleteRequest(dbfsDeleteRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(dbfsDeleteRequestDTO));
+    private ApiRequest<Void> deleteRequest(DbfsDeleteRequestDTO dbfsDeleteRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/delete";
 
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), dbfsDeleteRequestDTO, true, statusReader());
     }
 
     //TODO remove this and fold into super() class; why the need for another Exception Type??
-    private void checkResponse(Response response, String message400) throws HttpException {
-        // check response status code
-        if (response.getStatus() == 400) {
-            throw new HttpServerSideException(message400);
-        } else {
-            super.checkResponse(response);
-        }
-    }
 
     public DbfsListResponseDTO list(String path) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/list";
+        return execute(listRequest(path));
+    }
+
+    public CompletableFuture<DbfsListResponseDTO> listAsync(String path) {
+        return executeAsync(listRequest(path));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix, "path", path).get();
+    private ApiRequest<DbfsListResponseDTO> listRequest(String path) {
+        String pathSuffix = ENDPOINT_TARGET + "/list";
 
-        checkResponse(response);
-        return response.readEntity(DbfsListResponseDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix, "path", path), entityReader(DbfsListResponseDTO.class));
     }
 
     //TODO - Refactor to accept DTO
     public void mkdirs(String path) throws HttpException {
+        execute(mkdirsRequest(path));
+    }
+
+    public CompletableFuture<Void> mkdirsAsync(String path) {
+        return executeAsync(mkdirsRequest(path));
+    }
+
+    private ApiRequest<Void> mkdirsRequest(String path) {
         DbfsMkdirsRequestDTO requestDTO = new DbfsMkdirsRequestDTO();
         requestDTO.Path = path;
 
         String pathSuffix = ENDPOINT_TARGET + "/mkdirs";
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(requestDTO));
-
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), requestDTO, true, statusReader());
     }
 
     //TODO - Refactor to accept DTO
     public void move(String sourcePath, String destinationPath) throws HttpException {
+        execute(moveRequest(sourcePath, destinationPath));
+    }
+
+    public CompletableFuture<Void> moveAsync(String sourcePath, String destinationPath) {
+        return executeAsync(moveRequest(sourcePath, destinationPath));
+    }
+
+    private ApiRequest<Void> moveRequest(String sourcePath, String destinationPath) {
         MoveRequestDTO requestDTO = new MoveRequestDTO();
         requestDTO.SourcePath = sourcePath;
         requestDTO.DestinationPath = destinationPath;
 
         String pathSuffix = ENDPOINT_TARGET + "/move";
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(requestDTO));
-
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), requestDTO, statusReader());
     }
 
     public ReadResponseDTO read(String path, long offset, long length) throws HttpException {
+        return execute(readRequest(path, offset, length, entityReader(ReadResponseDTO.class)));
+    }
+
+    public CompletableFuture<ReadResponseDTO> readAsync(String path, long offset, long length) {
+        return executeAsync(readRequest(path, offset, length, entityReader(ReadResponseDTO.class)));
+    }
+
+    /**
+     * Reads a range of a file, decoding the data of the response straight into buffer, from its position on,
+     * instead of into a base64 String first; completes with the number of bytes read. The buffer must have at least
+     * length bytes remaining; it may be a direct buffer.
+     */
+    public CompletableFuture<Integer> readAsync(String path, long offset, int length, ByteBuffer buffer) {
+        return executeAsync(readRequest(path, offset, length, response -> {
+            checkResponse(response);
+            return readData(response, buffer);
+        }));
+    }
+
+    private <T> ApiRequest<T> readRequest(String path, long offset, long length, ResponseReader<T> reader) {
         String pathSuffix = ENDPOINT_TARGET + "/read";
 
         Map<String, Object> queryParams = new HashMap<>();
@@ -128,9 +190,58 @@ public class DbfsClient extends AbstractDatabricksClient {
         queryParams.put("offset", offset);
         queryParams.put("length",length);
 
-        Response response = Session.getRequestBuilder(pathSuffix, queryParams).get();
+        return getRequest(Session.getRequestBuilder(pathSuffix, queryParams), reader);
+    }
 
-        checkResponse(response);
-        return response.readEntity(ReadResponseDTO.class);
+    private static int readData(Response response, ByteBuffer buffer) throws HttpException {
+        try (JsonParser parser = ObjectMapperProvider.getObjectMapper().getFactory()
+                .createParser(response.readEntity(InputStream.class))) {
+            if(parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in response");
+            }
+            int bytesRead = 0;
+            int decoded = 0;
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if(field.equals("data")) {
+                    decoded = parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, new BufferOutputStream(buffer));
+                } else if(field.equals("bytes_read")) {
+                    bytesRead = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if(decoded != bytesRead) {
+                throw new IOException("Decoded " + decoded + " bytes while " + bytesRead + " were read");
+            }
+            return decoded;
+        } catch(IOException e) {
+            throw new HttpException(e);
+        }
+    }
+
+    /**
+     * Writes into a fixed buffer, failing rather than overflowing it
+     */
+    private static class BufferOutputStream extends OutputStream {
+        private final ByteBuffer _buffer;
+
+        BufferOutputStream(ByteBuffer buffer) {
+            _buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if(len > _buffer.remaining()) {
+                throw new IOException("Response holds more than the " + _buffer.capacity() + " bytes requested");
+            }
+            _buffer.put(b, off, len);
+        }
     }
 }
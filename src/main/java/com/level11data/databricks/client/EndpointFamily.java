@@ -0,0 +1,43 @@
+package com.level11data.databricks.client;
+
+/**
+ * Group of REST endpoints sharing a rate limit in the Databricks workspace
+ */
+public enum EndpointFamily {
+    CLUSTERS, JOBS, DBFS, WORKSPACE, LIBRARIES, COMMANDS, CONTEXTS, OTHER;
+
+    /**
+     * Resolves the family of a request path such as "api/2.0/jobs/runs/get" or "/api/1.2/commands/status"
+     */
+    public static EndpointFamily of(String path) {
+        int apiIndex = path.indexOf("api/");
+        if(apiIndex < 0) {
+            return OTHER;
+        }
+        //skip "api/<version>/"
+        int versionEnd = path.indexOf('/', apiIndex + 4);
+        if(versionEnd < 0) {
+            return OTHER;
+        }
+        int familyEnd = path.indexOf('/', versionEnd + 1);
+        String family = familyEnd < 0 ? path.substring(versionEnd + 1) : path.substring(versionEnd + 1, familyEnd);
+
+        switch(family) {
+            case "clusters": return CLUSTERS;
+            case "jobs": return JOBS;
+            case "dbfs": return DBFS;
+            case "workspace": return WORKSPACE;
+            case "libraries": return LIBRARIES;
+            case "commands": return COMMANDS;
+            case "contexts": return CONTEXTS;
+            default: return OTHER;
+        }
+    }
+
+    /**
+     * Name used in configuration keys, i.e. com.level11data.databricks.client.rateLimit.jobs
+     */
+    public String getConfigName() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,113 @@
+package com.level11data.databricks.client;
+
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep-alive connection pool backing the Jersey client of a DatabricksSession.
+ *
+ * Connections are reused across requests (avoiding a TLS handshake per call), bounded in total and per route,
+ * capped in lifetime and evicted by a background thread once idle.
+ */
+public class HttpConnectionPool implements Closeable {
+    private final PoolingHttpClientConnectionManager _connectionManager;
+    private final IdleConnectionEvictor _idleConnectionEvictor;
+    private final HttpRoute _route;
+
+    public HttpConnectionPool(DatabricksClientConfiguration config) {
+        _connectionManager = new PoolingHttpClientConnectionManager(
+                config.getHttpConnectionTimeToLiveSeconds(), TimeUnit.SECONDS);
+        _connectionManager.setMaxTotal(config.getHttpMaxConnections());
+        _connectionManager.setDefaultMaxPerRoute(config.getHttpMaxConnectionsPerRoute());
+        _connectionManager.setValidateAfterInactivity(config.getHttpValidateAfterInactivityMillis());
+
+        long idleTimeoutSeconds = config.getHttpIdleTimeoutSeconds();
+        _idleConnectionEvictor = new IdleConnectionEvictor(_connectionManager,
+                idleTimeoutSeconds, TimeUnit.SECONDS, idleTimeoutSeconds, TimeUnit.SECONDS);
+        _idleConnectionEvictor.start();
+
+        _route = toRoute(config.getClientUrl());
+    }
+
+    private static HttpRoute toRoute(URI uri) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort();
+        if(port < 0) {
+            port = secure ? 443 : 80;
+        }
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
+
+    /**
+     * HttpClient's own compression is turned off: it would ask for gzip and decompress it transparently even when
+     * compression is not enabled, and hide the compressed bytes from the session's byte counts. When enabled,
+     * compression is negotiated by Jersey's EncodingFilter instead.
+     */
+    void configure(ClientConfig clientConfig) {
+        clientConfig.connectorProvider(new ApacheConnectorProvider());
+        clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER, _connectionManager);
+        //the pool outlives any single Jersey client; it is released by close()
+        clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
+        clientConfig.register(new ResponseDrainer());
+        clientConfig.property(ApacheClientProperties.REQUEST_CONFIG,
+                RequestConfig.custom().setContentCompressionEnabled(false).build());
+    }
+
+    /**
+     * Reads response bodies to the end once their entity is read: the connector only puts a connection back in the
+     * pool when its response was read to the end, and closes it otherwise, while JSON parsers stop at the last brace
+     */
+    @Priority(Priorities.ENTITY_CODER - 200)
+    private static class ResponseDrainer implements ReaderInterceptor {
+        @Override
+        public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+            InputStream body = context.getInputStream();
+            Object entity = context.proceed();
+            //streamed entities are read by the caller, who may close them early
+            if(!(entity instanceof InputStream) && !(entity instanceof Reader)) {
+                byte[] buffer = new byte[256];
+                while(body.read(buffer) >= 0) {
+                    //discard
+                }
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * Utilization of the whole pool
+     */
+    public ConnectionPoolStats getTotalStats() {
+        return new ConnectionPoolStats(_connectionManager.getTotalStats());
+    }
+
+    /**
+     * Utilization of the connections to the Databricks workspace URL of the session
+     */
+    public ConnectionPoolStats getRouteStats() {
+        return new ConnectionPoolStats(_connectionManager.getStats(_route));
+    }
+
+    public void close() {
+        _idleConnectionEvictor.shutdown();
+        _connectionManager.close();
+    }
+}
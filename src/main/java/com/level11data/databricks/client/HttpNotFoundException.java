@@ -0,0 +1,22 @@
+package com.level11data.databricks.client;
+
+/**
+ * HTTP 404: the resource requested (i.e. a DBFS path, a job, a run) does not exist
+ */
+public class HttpNotFoundException extends HttpException {
+    public HttpNotFoundException() {
+        super();
+    }
+
+    public HttpNotFoundException(String message) {
+        super(message);
+    }
+
+    public HttpNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public HttpNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
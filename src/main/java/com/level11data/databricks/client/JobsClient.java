@@ -1,12 +1,12 @@
 package com.level11data.databricks.client;
 
 import com.level11data.databricks.client.entities.jobs.*;
-import org.glassfish.jersey.client.ClientConfig;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class JobsClient extends AbstractDatabricksClient {
     private final String ENDPOINT_TARGET = "api/2.0/jobs";
@@ -15,110 +15,255 @@ public class JobsClient extends AbstractDatabricksClient {
         super(session);
     }
 
-    protected ClientConfig ClientConfig() {
-        return super.ClientConfig();
+    public JobsDTO listJobs() throws HttpException  {
+        return execute(listJobsRequest());
     }
 
-    private Client createClient() {
-        return ClientBuilder.newClient(ClientConfig());
+    public CompletableFuture<JobsDTO> listJobsAsync() {
+        return executeAsync(listJobsRequest());
     }
 
-    public JobsDTO listJobs() throws HttpException  {
+    private ApiRequest<JobsDTO> listJobsRequest() {
+        String pathSuffix = ENDPOINT_TARGET + "/list";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(JobsDTO.class));
+    }
+
+    /**
+     * Jobs of jobs/list read one at a time from the response; close the iterator if not read to the end
+     */
+    public JsonArrayIterator<JobDTO> iterateJobs() throws HttpException {
         String pathSuffix = ENDPOINT_TARGET + "/list";
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
+        Response response = get(Session.getRequestBuilder(pathSuffix));
 
         checkResponse(response);
-        return response.readEntity(JobsDTO.class);
+        return new JsonArrayIterator<>(response, "jobs", JobDTO.class);
     }
 
     public JobDTO getJob(long jobId) throws HttpException {
         //TODO should be DEBUG logging statement
         //System.out.println("getJob HTTP request for id "+jobId);
-        String pathSuffix = ENDPOINT_TARGET + "/get";
+        return execute(getJobRequest(jobId));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix, "job_id", jobId).get();
+    public CompletableFuture<JobDTO> getJobAsync(long jobId) {
+        return executeAsync(getJobRequest(jobId));
+    }
 
-        checkResponse(response);
-        return response.readEntity(JobDTO.class);
+    private ApiRequest<JobDTO> getJobRequest(long jobId) {
+        String pathSuffix = ENDPOINT_TARGET + "/get";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix, "job_id", jobId), entityReader(JobDTO.class));
     }
 
     public long createJob(JobSettingsDTO jobSettingsDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/create";
+        return execute(createJobRequest(jobSettingsDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(jobSettingsDTO));
+    public CompletableFuture<Long> createJobAsync(JobSettingsDTO jobSettingsDTO) {
+        return executeAsync(createJobRequest(jobSettingsDTO));
+    }
 
-        checkResponse(response);
-        return response.readEntity(CreateJobResponseDTO.class).JobId;
+    private ApiRequest<Long> createJobRequest(JobSettingsDTO jobSettingsDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/create";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), jobSettingsDTO, jobSettingsDTO.IdempotencyToken != null, response -> {
+            checkResponse(response);
+            return response.readEntity(CreateJobResponseDTO.class).JobId;
+        });
     }
 
     public void deleteJob(JobDTO jobDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/delete";
+        execute(deleteJobRequest(jobDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(jobDTO));
+    public CompletableFuture<Void> deleteJobAsync(JobDTO jobDTO) {
+        return executeAsync(deleteJobRequest(jobDTO));
+    }
 
-        checkResponse(response);
+    private ApiRequest<Void> deleteJobRequest(JobDTO jobDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/delete";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), jobDTO, true, statusReader());
     }
 
     public void resetJob(ResetJobRequestDTO resetJobRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/reset";
+        execute(resetJobRequest(resetJobRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(resetJobRequestDTO));
+    public CompletableFuture<Void> resetJobAsync(ResetJobRequestDTO resetJobRequestDTO) {
+        return executeAsync(resetJobRequest(resetJobRequestDTO));
+    }
 
-        checkResponse(response);
+    private ApiRequest<Void> resetJobRequest(ResetJobRequestDTO resetJobRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/reset";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), resetJobRequestDTO, true, statusReader());
     }
 
     public RunNowResponseDTO runJobNow(RunNowRequestDTO runNowRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/run-now";
+        return execute(runJobNowRequest(runNowRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(runNowRequestDTO));
+    public CompletableFuture<RunNowResponseDTO> runJobNowAsync(RunNowRequestDTO runNowRequestDTO) {
+        return executeAsync(runJobNowRequest(runNowRequestDTO));
+    }
 
-        checkResponse(response);
-        return response.readEntity(RunNowResponseDTO.class);
+    private ApiRequest<RunNowResponseDTO> runJobNowRequest(RunNowRequestDTO runNowRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/run-now";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), runNowRequestDTO, runNowRequestDTO.IdempotencyToken != null,
+                entityReader(RunNowResponseDTO.class));
     }
 
     public RunsSubmitResponseDTO submitRun(RunsSubmitRequestDTO runsSubmitRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/runs/submit";
+        return execute(submitRunRequest(runsSubmitRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(runsSubmitRequestDTO));
+    public CompletableFuture<RunsSubmitResponseDTO> submitRunAsync(RunsSubmitRequestDTO runsSubmitRequestDTO) {
+        return executeAsync(submitRunRequest(runsSubmitRequestDTO));
+    }
 
-        checkResponse(response);
-        return response.readEntity(RunsSubmitResponseDTO.class);
+    private ApiRequest<RunsSubmitResponseDTO> submitRunRequest(RunsSubmitRequestDTO runsSubmitRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/runs/submit";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), runsSubmitRequestDTO, runsSubmitRequestDTO.IdempotencyToken != null,
+                entityReader(RunsSubmitResponseDTO.class));
     }
 
     public RunsDTO listRuns() throws HttpException  {
+        return execute(listRunsRequest());
+    }
+
+    public CompletableFuture<RunsDTO> listRunsAsync() {
+        return executeAsync(listRunsRequest());
+    }
+
+    private ApiRequest<RunsDTO> listRunsRequest() {
+        String pathSuffix = ENDPOINT_TARGET + "/runs/list";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(RunsDTO.class));
+    }
+
+    /**
+     * One page of jobs/runs/list, most recent runs first; HasMore tells whether runs remain past offset + limit
+     *
+     * @param jobId only the runs of this job; null for the runs of all jobs
+     * @param activeOnly only the runs that are PENDING, RUNNING or TERMINATING
+     * @param completedOnly only the runs that are TERMINATED, SKIPPED or in INTERNAL_ERROR
+     */
+    public RunsDTO listRuns(Long jobId,
+                            boolean activeOnly,
+                            boolean completedOnly,
+                            int offset,
+                            int limit) throws HttpException {
+        return execute(listRunsRequest(jobId, activeOnly, completedOnly, offset, limit));
+    }
+
+    public CompletableFuture<RunsDTO> listRunsAsync(Long jobId,
+                                                    boolean activeOnly,
+                                                    boolean completedOnly,
+                                                    int offset,
+                                                    int limit) {
+        return executeAsync(listRunsRequest(jobId, activeOnly, completedOnly, offset, limit));
+    }
+
+    private ApiRequest<RunsDTO> listRunsRequest(Long jobId,
+                                                boolean activeOnly,
+                                                boolean completedOnly,
+                                                int offset,
+                                                int limit) {
+        String pathSuffix = ENDPOINT_TARGET + "/runs/list";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix,
+                getListRunsParams(jobId, activeOnly, completedOnly, offset, limit)), entityReader(RunsDTO.class));
+    }
+
+    private static Map<String, Object> getListRunsParams(Long jobId,
+                                                         boolean activeOnly,
+                                                         boolean completedOnly,
+                                                         int offset,
+                                                         int limit) {
+        if(activeOnly && completedOnly) {
+            throw new IllegalArgumentException("Runs cannot be both active and completed");
+        }
+        Map<String, Object> queryParams = new HashMap<>();
+        if(jobId != null) {
+            queryParams.put("job_id", jobId);
+        }
+        if(activeOnly) {
+            queryParams.put("active_only", true);
+        }
+        if(completedOnly) {
+            queryParams.put("completed_only", true);
+        }
+        queryParams.put("offset", offset);
+        queryParams.put("limit", limit);
+        return queryParams;
+    }
+
+    /**
+     * Runs of jobs/runs/list read one at a time from the response; close the iterator if not read to the end
+     */
+    public JsonArrayIterator<RunDTO> iterateRuns() throws HttpException {
         String pathSuffix = ENDPOINT_TARGET + "/runs/list";
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
+        Response response = get(Session.getRequestBuilder(pathSuffix));
 
         checkResponse(response);
-        return response.readEntity(RunsDTO.class);
+        return new JsonArrayIterator<>(response, "runs", RunDTO.class);
     }
 
     public RunDTO getRun(long runId) throws HttpException {
         //TODO should be DEBUG logging statement
         //System.out.println("getRun HTTP request for id "+runId);
+        return Session.getRunRequests().execute(runId, () -> execute(getRunRequest(runId)));
+    }
+
+    public CompletableFuture<RunDTO> getRunAsync(long runId) {
+        return Session.getRunRequests().executeAsync(runId, () -> executeAsync(getRunRequest(runId)));
+    }
+
+    private ApiRequest<RunDTO> getRunRequest(long runId) {
         String pathSuffix = ENDPOINT_TARGET + "/runs/get";
 
-        Response response = Session.getRequestBuilder(pathSuffix, "run_id", runId).get();
+        return getRequest(Session.getRequestBuilder(pathSuffix, "run_id", runId), entityReader(RunDTO.class));
+    }
 
-        checkResponse(response);
-        return response.readEntity(RunDTO.class);
+    /**
+     * Latest jobs/runs/get response not older than maxAge; sends a new request when the cached one is older
+     */
+    public SnapshotCache.Entry<RunDTO> getRunSnapshot(long runId, long maxAge, TimeUnit unit) throws HttpException {
+        return Session.getRunSnapshots().get(runId, maxAge, unit, () -> getRun(runId));
     }
 
     public void cancelRun(RunDTO runDTO) throws HttpException {
+        execute(cancelRunRequest(runDTO));
+    }
+
+    public CompletableFuture<Void> cancelRunAsync(RunDTO runDTO) {
+        return executeAsync(cancelRunRequest(runDTO));
+    }
+
+    private ApiRequest<Void> cancelRunRequest(RunDTO runDTO) {
         String pathSuffix = ENDPOINT_TARGET + "/runs/cancel";
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(runDTO));
+        return postRequest(Session.getRequestBuilder(pathSuffix), runDTO, true, statusReader());
     }
 
     public JobRunOutputDTO getRunOutput(long runId) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/runs/get-output";
+        return execute(getRunOutputRequest(runId));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix, "run_id", runId).get();
+    public CompletableFuture<JobRunOutputDTO> getRunOutputAsync(long runId) {
+        return executeAsync(getRunOutputRequest(runId));
+    }
 
-        checkResponse(response);
-        return response.readEntity(JobRunOutputDTO.class);
+    private ApiRequest<JobRunOutputDTO> getRunOutputRequest(long runId) {
+        String pathSuffix = ENDPOINT_TARGET + "/runs/get-output";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix, "run_id", runId), entityReader(JobRunOutputDTO.class));
     }
 
 }
@@ -0,0 +1,110 @@
+package com.level11data.databricks.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import javax.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the elements of one array field of a JSON response (i.e. "runs" of jobs/runs/list) while they are read
+ * from the connection, so only one element is held in memory at a time instead of the whole response DTO.
+ *
+ * The iterator holds the HTTP connection until the last element is read or it is closed.
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+    private final Response _response;
+    private final JsonParser _parser;
+    private final ObjectReader _reader;
+    private T _next;
+    private boolean _done;
+
+    JsonArrayIterator(Response response, String arrayField, Class<T> elementType) throws HttpException {
+        _response = response;
+        _reader = ObjectMapperProvider.getObjectMapper().readerFor(elementType);
+        try {
+            _parser = ObjectMapperProvider.getObjectMapper().getFactory()
+                    .createParser(response.readEntity(InputStream.class));
+            seekArray(arrayField);
+        } catch(IOException e) {
+            close();
+            throw new HttpException(e);
+        }
+    }
+
+    private void seekArray(String arrayField) throws IOException {
+        if(_parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object in response");
+        }
+        while(_parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = _parser.getCurrentName();
+            JsonToken value = _parser.nextToken();
+            if(field.equals(arrayField)) {
+                if(value == JsonToken.START_ARRAY) {
+                    return;
+                } else if(value == JsonToken.VALUE_NULL) {
+                    break;
+                }
+                throw new IOException("Expected " + arrayField + " to be a JSON array");
+            }
+            _parser.skipChildren();
+        }
+        //the API omits empty arrays
+        finish();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(_next == null && !_done) {
+            try {
+                if(_parser.nextToken() == JsonToken.START_OBJECT) {
+                    _next = _reader.readValue(_parser);
+                } else {
+                    finish();
+                }
+            } catch(IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+        return _next != null;
+    }
+
+    @Override
+    public T next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T next = _next;
+        _next = null;
+        return next;
+    }
+
+    private void finish() {
+        _done = true;
+        close();
+    }
+
+    /**
+     * Releases the connection; remaining elements are discarded
+     */
+    @Override
+    public void close() {
+        _done = true;
+        try {
+            if(_parser != null) {
+                _parser.close();
+            }
+        } catch(IOException e) {
+            //the connection is released below regardless
+        } finally {
+            _response.close();
+        }
+    }
+}
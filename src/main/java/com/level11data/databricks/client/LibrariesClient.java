@@ -3,11 +3,7 @@ package com.level11data.databricks.client;
 import com.level11data.databricks.client.entities.libraries.AllClusterLibraryStatusesDTO;
 import com.level11data.databricks.client.entities.libraries.ClusterLibraryRequestDTO;
 import com.level11data.databricks.client.entities.libraries.ClusterLibraryStatusesDTO;
-import org.glassfish.jersey.client.ClientConfig;
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
 
 public class LibrariesClient extends AbstractDatabricksClient {
 
@@ -17,47 +13,60 @@ public class LibrariesClient extends AbstractDatabricksClient {
         super(session);
     }
 
-    protected ClientConfig ClientConfig() {
-        return super.ClientConfig();
+    public AllClusterLibraryStatusesDTO getAllClusterStatuses() throws HttpException  {
+        return execute(getAllClusterStatusesRequest());
     }
 
-    private Client createClient() {
-        return ClientBuilder.newClient(ClientConfig());
+    public CompletableFuture<AllClusterLibraryStatusesDTO> getAllClusterStatusesAsync() {
+        return executeAsync(getAllClusterStatusesRequest());
     }
 
-    public AllClusterLibraryStatusesDTO getAllClusterStatuses() throws HttpException  {
+    private ApiRequest<AllClusterLibraryStatusesDTO> getAllClusterStatusesRequest() {
         String pathSuffix = ENDPOINT_TARGET + "/all-cluster-statuses";
 
-        Response response = Session.getRequestBuilder(pathSuffix).get();
-
-        checkResponse(response);
-        return response.readEntity(AllClusterLibraryStatusesDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix), entityReader(AllClusterLibraryStatusesDTO.class));
     }
 
     public ClusterLibraryStatusesDTO getClusterStatus(String clusterId) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/cluster-status";
+        return execute(getClusterStatusRequest(clusterId));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix, "cluster_id", clusterId).get();
+    public CompletableFuture<ClusterLibraryStatusesDTO> getClusterStatusAsync(String clusterId) {
+        return executeAsync(getClusterStatusRequest(clusterId));
+    }
+
+    private ApiRequest<ClusterLibraryStatusesDTO> getClusterStatusRequest(String clusterId) {
+        String pathSuffix = ENDPOINT_TARGET + "/cluster-status";
 
-        checkResponse(response);
-        return response.readEntity(ClusterLibraryStatusesDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix, "cluster_id", clusterId),
+                entityReader(ClusterLibraryStatusesDTO.class));
     }
 
     public void installLibraries(ClusterLibraryRequestDTO clusterLibrariesRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/install";
+        execute(installLibrariesRequest(clusterLibrariesRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterLibrariesRequestDTO));
+    public CompletableFuture<Void> installLibrariesAsync(ClusterLibraryRequestDTO clusterLibrariesRequestDTO) {
+        return executeAsync(installLibrariesRequest(clusterLibrariesRequestDTO));
+    }
 
-        checkResponse(response);
+    private ApiRequest<Void> installLibrariesRequest(ClusterLibraryRequestDTO clusterLibrariesRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/install";
+
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterLibrariesRequestDTO, true, statusReader());
     }
 
     public void uninstallLibraries(ClusterLibraryRequestDTO clusterLibrariesRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/uninstall";
-
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(clusterLibrariesRequestDTO));
+        execute(uninstallLibrariesRequest(clusterLibrariesRequestDTO));
+    }
 
-        checkResponse(response);
+    public CompletableFuture<Void> uninstallLibrariesAsync(ClusterLibraryRequestDTO clusterLibrariesRequestDTO) {
+        return executeAsync(uninstallLibrariesRequest(clusterLibrariesRequestDTO));
     }
 
+    private ApiRequest<Void> uninstallLibrariesRequest(ClusterLibraryRequestDTO clusterLibrariesRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/uninstall";
 
+        return postRequest(Session.getRequestBuilder(pathSuffix), clusterLibrariesRequestDTO, true, statusReader());
+    }
 }
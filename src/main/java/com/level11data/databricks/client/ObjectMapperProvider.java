@@ -0,0 +1,32 @@
+package com.level11data.databricks.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import javax.ws.rs.ext.ContextResolver;
+
+/**
+ * ObjectMapper shared by every session for reading and writing the DTOs.
+ *
+ * ObjectMappers are thread-safe and expensive to build, and they cache the serializers of every type they have seen,
+ * so one instance is reused rather than one per ClientConfig. The Afterburner module replaces reflective field
+ * access with generated bytecode, and unknown properties are ignored so new fields in API responses never break
+ * deserialization. Parser buffers are recycled per thread.
+ */
+class ObjectMapperProvider implements ContextResolver<ObjectMapper> {
+    private static final ObjectMapper MAPPER = new ObjectMapper(
+            new JsonFactory().enable(JsonFactory.Feature.USE_THREAD_LOCAL_FOR_BUFFER_RECYCLING))
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new AfterburnerModule());
+
+    static ObjectMapper getObjectMapper() {
+        return MAPPER;
+    }
+
+    @Override
+    public ObjectMapper getContext(Class<?> type) {
+        return MAPPER;
+    }
+}
@@ -0,0 +1,70 @@
+package com.level11data.databricks.client;
+
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jersey filter applying the AdaptiveRateLimiter of the request's EndpointFamily before a request is sent,
+ * and feeding throttled (429/503) and accepted responses back into it.
+ */
+class RequestThrottle implements ClientRequestFilter, ClientResponseFilter {
+    static final int TOO_MANY_REQUESTS = 429;
+    static final int SERVICE_UNAVAILABLE = 503;
+
+    private final Map<EndpointFamily, AdaptiveRateLimiter> _limiters = new EnumMap<>(EndpointFamily.class);
+
+    RequestThrottle(DatabricksClientConfiguration config) {
+        for(EndpointFamily family : EndpointFamily.values()) {
+            _limiters.put(family, new AdaptiveRateLimiter(family, config.getRateLimit(family.getConfigName())));
+        }
+    }
+
+    AdaptiveRateLimiter getRateLimiter(EndpointFamily family) {
+        return _limiters.get(family);
+    }
+
+    static boolean isThrottled(int status) {
+        return status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        getRateLimiter(requestContext).acquire();
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        AdaptiveRateLimiter limiter = getRateLimiter(requestContext);
+        if(isThrottled(responseContext.getStatus())) {
+            limiter.onThrottled(parseRetryAfterMillis(responseContext.getHeaderString(HttpHeaders.RETRY_AFTER)));
+        } else if(responseContext.getStatus() < 500) {
+            limiter.onSuccess();
+        }
+    }
+
+    private AdaptiveRateLimiter getRateLimiter(ClientRequestContext requestContext) {
+        return _limiters.get(EndpointFamily.of(requestContext.getUri().getPath()));
+    }
+
+    /**
+     * Retry-After in delta-seconds; HTTP dates are not sent by the Databricks API and fall back to backoff
+     */
+    static long parseRetryAfterMillis(String retryAfter) {
+        if(retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch(NumberFormatException e) {
+            return -1;
+        }
+    }
+}
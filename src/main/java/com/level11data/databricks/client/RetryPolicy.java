@@ -0,0 +1,145 @@
+package com.level11data.databricks.client;
+
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+
+import javax.ws.rs.ProcessingException;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry policy of a DatabricksSession for transient failures: 500, 502, 503 and 504 responses and I/O errors
+ * such as connection resets or read timeouts.
+ *
+ * Only idempotent requests are retried; see AbstractDatabricksClient get and post.
+ * The delay before a retry is drawn uniformly between zero and an exponentially growing ceiling (full jitter).
+ * Retries are also limited by a budget shared by the whole session: every request earns a fraction of a retry
+ * and the budget refills by a minimum number of retries per second, so an outage does not multiply the load on
+ * the workspace.
+ */
+public class RetryPolicy {
+    private final int _maxRetries;
+    private final long _initialBackoffMillis;
+    private final long _maxBackoffMillis;
+    private final double _budgetRatio;
+    private final double _minRetriesPerSecond;
+    private final double _maxBudget;
+
+    private double _budget;
+    private long _lastRefillNanos;
+
+    private final AtomicLong _retryCount = new AtomicLong();
+    private final AtomicLong _exhaustedCount = new AtomicLong();
+    private final AtomicLong _budgetRejectedCount = new AtomicLong();
+
+    public RetryPolicy(int maxRetries,
+                       long initialBackoffMillis,
+                       long maxBackoffMillis,
+                       double budgetRatio,
+                       double minRetriesPerSecond) {
+        _maxRetries = maxRetries;
+        _initialBackoffMillis = initialBackoffMillis;
+        _maxBackoffMillis = maxBackoffMillis;
+        _budgetRatio = budgetRatio;
+        _minRetriesPerSecond = minRetriesPerSecond;
+        //a budget saved up over ten seconds at most
+        _maxBudget = Math.max(1, minRetriesPerSecond * 10);
+        _budget = _maxBudget;
+        _lastRefillNanos = System.nanoTime();
+    }
+
+    static RetryPolicy fromConfig(DatabricksClientConfiguration config) {
+        return new RetryPolicy(config.getRetryMaxRetries(),
+                config.getRetryInitialBackoffMillis(),
+                config.getRetryMaxBackoffMillis(),
+                config.getRetryBudgetRatio(),
+                config.getRetryMinPerSecond());
+    }
+
+    public static boolean isRetryableStatus(int status) {
+        return status == 500 || status == 502 || status == 503 || status == 504;
+    }
+
+    public static boolean isRetryableFailure(Throwable throwable) {
+        if(throwable instanceof ProcessingException) {
+            throwable = throwable.getCause();
+        }
+        return throwable instanceof IOException;
+    }
+
+    /**
+     * Records a request sent for the first time; earns the budget a fraction of a retry
+     */
+    synchronized void onRequest() {
+        refill();
+        _budget = Math.min(_maxBudget, _budget + _budgetRatio);
+    }
+
+    /**
+     * Decides whether a failed request is retried and takes the retry out of the budget
+     *
+     * @param retry number of the retry, starting at 1
+     */
+    public boolean tryRetry(int retry) {
+        if(retry > _maxRetries) {
+            _exhaustedCount.incrementAndGet();
+            return false;
+        }
+        synchronized (this) {
+            refill();
+            if(_budget < 1) {
+                _budgetRejectedCount.incrementAndGet();
+                return false;
+            }
+            _budget -= 1;
+        }
+        _retryCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Delay before a retry
+     *
+     * @param retry number of the retry, starting at 1
+     */
+    public long getBackoffMillis(int retry) {
+        long ceiling = _initialBackoffMillis << Math.min(retry - 1, 30);
+        if(ceiling <= 0 || ceiling > _maxBackoffMillis) {
+            ceiling = _maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double seconds = (now - _lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        _budget = Math.min(_maxBudget, _budget + seconds * _minRetriesPerSecond);
+        _lastRefillNanos = now;
+    }
+
+    public int getMaxRetries() {
+        return _maxRetries;
+    }
+
+    /**
+     * Number of requests resent after a transient failure
+     */
+    public long getRetryCount() {
+        return _retryCount.get();
+    }
+
+    /**
+     * Number of requests that still failed after the maximum number of retries
+     */
+    public long getExhaustedCount() {
+        return _exhaustedCount.get();
+    }
+
+    /**
+     * Number of retries refused because the retry budget was spent
+     */
+    public long getBudgetRejectedCount() {
+        return _budgetRejectedCount.get();
+    }
+}
@@ -0,0 +1,29 @@
+package com.level11data.databricks.client;
+
+import org.glassfish.jersey.client.ClientAsyncExecutor;
+import org.glassfish.jersey.spi.ExecutorServiceProvider;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Makes Jersey run the asynchronous requests of a DatabricksSession on the session's async executor.
+ * The executor is owned by the session's SessionExecutors and shut down when the session is closed.
+ */
+@ClientAsyncExecutor
+class SessionAsyncExecutorProvider implements ExecutorServiceProvider {
+    private final ExecutorService _executor;
+
+    SessionAsyncExecutorProvider(ExecutorService executor) {
+        _executor = executor;
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return _executor;
+    }
+
+    @Override
+    public void dispose(ExecutorService executorService) {
+        //lifecycle is managed by the session
+    }
+}
@@ -0,0 +1,124 @@
+package com.level11data.databricks.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.level11data.databricks.config.ExecutionMode;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Threads owned by a DatabricksSession: the executor running asynchronous requests and the schedulers of
+ * pollers and bulk helpers.
+ *
+ * In VIRTUAL execution mode every thread is a virtual thread, so blocking on a request costs no platform thread.
+ * The library is compiled for Java 8, so virtual threads are looked up reflectively; when the running JVM does not
+ * support them the session falls back to PLATFORM threads.
+ */
+public class SessionExecutors {
+    private static final Logger log = Logger.getLogger(SessionExecutors.class);
+
+    private final ExecutionMode _mode;
+    private final ExecutorService _asyncExecutor;
+    private final List<ExecutorService> _ownedExecutors = new CopyOnWriteArrayList<>();
+
+    SessionExecutors(ExecutionMode requestedMode, int asyncThreads) {
+        if(requestedMode == ExecutionMode.VIRTUAL && !isVirtualThreadSupported()) {
+            log.warn("Virtual threads are not supported by this JVM (" + System.getProperty("java.version") +
+                    "); falling back to platform threads");
+            _mode = ExecutionMode.PLATFORM;
+        } else {
+            _mode = requestedMode;
+        }
+
+        if(_mode == ExecutionMode.VIRTUAL) {
+            //virtual threads are cheap to create and must not be pooled; one thread per request
+            _asyncExecutor = newVirtualThreadPerTaskExecutor(newThreadFactory("databricks-async-"));
+        } else {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(asyncThreads, asyncThreads,
+                    60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    newThreadFactory("databricks-async-"));
+            executor.allowCoreThreadTimeOut(true);
+            _asyncExecutor = executor;
+        }
+    }
+
+    public ExecutionMode getMode() {
+        return _mode;
+    }
+
+    public ExecutorService getAsyncExecutor() {
+        return _asyncExecutor;
+    }
+
+    /**
+     * Creates a thread factory of the session's execution mode; threads are daemon threads named prefix + counter
+     */
+    public ThreadFactory newThreadFactory(String namePrefix) {
+        if(_mode == ExecutionMode.VIRTUAL) {
+            return newVirtualThreadFactory(namePrefix);
+        }
+        return new ThreadFactoryBuilder()
+                .setNameFormat(namePrefix + "%d")
+                .setDaemon(true)
+                .build();
+    }
+
+    /**
+     * Creates a single threaded scheduler for a poller; it is shut down together with the session
+     */
+    public ScheduledExecutorService newScheduler(String namePrefix) {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, newThreadFactory(namePrefix));
+        scheduler.setRemoveOnCancelPolicy(true);
+        _ownedExecutors.add(scheduler);
+        return scheduler;
+    }
+
+    void shutdown() {
+        _asyncExecutor.shutdown();
+        for(ExecutorService executor : _ownedExecutors) {
+            executor.shutdownNow();
+        }
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        try {
+            newVirtualThreadFactory("databricks-probe-");
+            return true;
+        } catch(UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        try {
+            //Thread.ofVirtual().name(namePrefix, 0).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch(ReflectiveOperationException | LinkageError e) {
+            //not available (JDK < 21) or still a preview feature that is not enabled
+            throw new UnsupportedOperationException("Virtual threads are not supported", e);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory);
+        } catch(ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.level11data.databricks.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests: while a request for a key is in flight, callers asking for the same key
+ * wait for it and share its result (the same deserialized DTO) or its exception instead of sending their own.
+ *
+ * Nothing is cached; once the request completes the next caller sends a new one.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> _inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong _coalescedCount = new AtomicLong();
+
+    /**
+     * Blocking request returning its result
+     */
+    public interface Request<V> {
+        V execute() throws HttpException;
+    }
+
+    public V execute(K key, Request<V> request) throws HttpException {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = _inFlight.putIfAbsent(key, call);
+        if(inFlight != null) {
+            _coalescedCount.incrementAndGet();
+            return await(inFlight);
+        }
+
+        try {
+            V value = request.execute();
+            call.complete(value);
+            return value;
+        } catch(HttpException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            _inFlight.remove(key, call);
+        }
+    }
+
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> request) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = _inFlight.putIfAbsent(key, call);
+        if(inFlight != null) {
+            _coalescedCount.incrementAndGet();
+            return copy(inFlight);
+        }
+
+        try {
+            request.get().whenComplete((value, error) -> {
+                _inFlight.remove(key, call);
+                if(error != null) {
+                    call.completeExceptionally(error);
+                } else {
+                    call.complete(value);
+                }
+            });
+        } catch(RuntimeException e) {
+            _inFlight.remove(key, call);
+            call.completeExceptionally(e);
+        }
+        return copy(call);
+    }
+
+    /**
+     * Separate future for each caller, so a caller cancelling its future does not cancel the shared request
+     */
+    private static <V> CompletableFuture<V> copy(CompletableFuture<V> call) {
+        return call.thenApply(value -> value);
+    }
+
+    private static <V> V await(CompletableFuture<V> call) throws HttpException {
+        boolean interrupted = false;
+        try {
+            while(true) {
+                try {
+                    return call.get();
+                } catch(InterruptedException e) {
+                    //the caller would have blocked on its own request as well; keep waiting and restore the flag
+                    interrupted = true;
+                } catch(ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if(cause instanceof HttpException) {
+                        throw (HttpException) cause;
+                    } else if(cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new HttpException(cause);
+                }
+            }
+        } finally {
+            if(interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Number of requests that joined one already in flight instead of being sent
+     */
+    public long getCoalescedCount() {
+        return _coalescedCount.get();
+    }
+}
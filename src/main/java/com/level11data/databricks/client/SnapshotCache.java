@@ -0,0 +1,73 @@
+package com.level11data.databricks.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the latest response for a cluster or run, so callers can read many fields of one response
+ * and state explicitly how stale it may be.
+ *
+ * Entries are evicted once older than the cache's time-to-live or when the cache is full; a caller asking for a
+ * snapshot younger than the cached one triggers a new request.
+ */
+public class SnapshotCache<K, V> {
+    private final Cache<K, Entry<V>> _cache;
+    private final AtomicLong _hitCount = new AtomicLong();
+    private final AtomicLong _missCount = new AtomicLong();
+
+    /**
+     * Response with the time it was received
+     */
+    public static class Entry<V> {
+        public final V Value;
+        public final long FetchedAtMillis;
+        private final long _fetchedAtNanos;
+
+        Entry(V value) {
+            Value = value;
+            FetchedAtMillis = System.currentTimeMillis();
+            _fetchedAtNanos = System.nanoTime();
+        }
+
+        public long getAge(TimeUnit unit) {
+            return unit.convert(System.nanoTime() - _fetchedAtNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    SnapshotCache(long maxSize, long timeToLiveSeconds) {
+        _cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the cached response if it is not older than maxAge; otherwise executes the request and caches its response
+     */
+    public Entry<V> get(K key, long maxAge, TimeUnit unit, SingleFlight.Request<V> request) throws HttpException {
+        Entry<V> entry = _cache.getIfPresent(key);
+        if(entry != null && entry.getAge(TimeUnit.NANOSECONDS) <= unit.toNanos(maxAge)) {
+            _hitCount.incrementAndGet();
+            return entry;
+        }
+        _missCount.incrementAndGet();
+        entry = new Entry<>(request.execute());
+        _cache.put(key, entry);
+        return entry;
+    }
+
+    public void invalidate(K key) {
+        _cache.invalidate(key);
+    }
+
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    public long getMissCount() {
+        return _missCount.get();
+    }
+}
@@ -0,0 +1,194 @@
+package com.level11data.databricks.client;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes of request and response bodies per endpoint.
+ *
+ * Interceptors run in ascending priority: the wire counters come before the GZip encoder (ENTITY_CODER) and so
+ * see the compressed stream, the entity counters come after it and see the uncompressed one.
+ */
+class TransferMeter implements ClientRequestFilter {
+    private static final String ENDPOINT_PROPERTY = TransferMeter.class.getName() + ".endpoint";
+
+    private final ConcurrentMap<String, Counters> _counters = new ConcurrentHashMap<>();
+
+    private static class Counters {
+        final LongAdder Requests = new LongAdder();
+        final LongAdder RequestEntityBytes = new LongAdder();
+        final LongAdder RequestWireBytes = new LongAdder();
+        final LongAdder ResponseEntityBytes = new LongAdder();
+        final LongAdder ResponseWireBytes = new LongAdder();
+
+        TransferStats toStats() {
+            return new TransferStats(Requests.sum(),
+                    RequestEntityBytes.sum(), RequestWireBytes.sum(),
+                    ResponseEntityBytes.sum(), ResponseWireBytes.sum());
+        }
+    }
+
+    /**
+     * Endpoint of a request path, without the API prefix: "/api/2.0/jobs/runs/list" is "jobs/runs/list"
+     */
+    static String endpointOf(String path) {
+        int apiIndex = path.indexOf("api/");
+        if(apiIndex < 0) {
+            return path;
+        }
+        int versionEnd = path.indexOf('/', apiIndex + 4);
+        return versionEnd < 0 ? path : path.substring(versionEnd + 1);
+    }
+
+    private Counters getCounters(String endpoint) {
+        Counters counters = _counters.get(endpoint);
+        if(counters == null) {
+            counters = new Counters();
+            Counters existing = _counters.putIfAbsent(endpoint, counters);
+            if(existing != null) {
+                counters = existing;
+            }
+        }
+        return counters;
+    }
+
+    private Counters getCounters(Object endpoint) {
+        return getCounters(endpoint == null ? "" : endpoint.toString());
+    }
+
+    TransferStats getStats(String endpoint) {
+        Counters counters = _counters.get(endpoint);
+        return counters == null ? new TransferStats(0, 0, 0, 0, 0) : counters.toStats();
+    }
+
+    Map<String, TransferStats> getStats() {
+        Map<String, TransferStats> stats = new TreeMap<>();
+        for(Map.Entry<String, Counters> entry : _counters.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().toStats());
+        }
+        return stats;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        String endpoint = endpointOf(requestContext.getUri().getPath());
+        requestContext.setProperty(ENDPOINT_PROPERTY, endpoint);
+        getCounters(endpoint).Requests.increment();
+    }
+
+    Object[] getInterceptors() {
+        return new Object[] { new WireReaderInterceptor(), new EntityReaderInterceptor(),
+                new WireWriterInterceptor(), new EntityWriterInterceptor() };
+    }
+
+    @Priority(Priorities.ENTITY_CODER - 100)
+    private class WireReaderInterceptor implements ReaderInterceptor {
+        @Override
+        public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+            Counters counters = getCounters(context.getProperty(ENDPOINT_PROPERTY));
+            context.setInputStream(new CountingInputStream(context.getInputStream(), counters.ResponseWireBytes));
+            return context.proceed();
+        }
+    }
+
+    @Priority(Priorities.ENTITY_CODER + 100)
+    private class EntityReaderInterceptor implements ReaderInterceptor {
+        @Override
+        public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+            Counters counters = getCounters(context.getProperty(ENDPOINT_PROPERTY));
+            context.setInputStream(new CountingInputStream(context.getInputStream(), counters.ResponseEntityBytes));
+            return context.proceed();
+        }
+    }
+
+    @Priority(Priorities.ENTITY_CODER - 100)
+    private class WireWriterInterceptor implements WriterInterceptor {
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            Counters counters = getCounters(context.getProperty(ENDPOINT_PROPERTY));
+            context.setOutputStream(new CountingOutputStream(context.getOutputStream(), counters.RequestWireBytes));
+            context.proceed();
+        }
+    }
+
+    @Priority(Priorities.ENTITY_CODER + 100)
+    private class EntityWriterInterceptor implements WriterInterceptor {
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            Counters counters = getCounters(context.getProperty(ENDPOINT_PROPERTY));
+            context.setOutputStream(new CountingOutputStream(context.getOutputStream(), counters.RequestEntityBytes));
+            context.proceed();
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongAdder _count;
+
+        CountingInputStream(InputStream in, LongAdder count) {
+            super(in);
+            _count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b >= 0) {
+                _count.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if(n > 0) {
+                _count.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            _count.add(skipped);
+            return skipped;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final LongAdder _count;
+
+        CountingOutputStream(OutputStream out, LongAdder count) {
+            super(out);
+            _count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            _count.increment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            _count.add(len);
+        }
+    }
+}
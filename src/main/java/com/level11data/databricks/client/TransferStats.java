@@ -0,0 +1,49 @@
+package com.level11data.databricks.client;
+
+/**
+ * Bytes transferred for one endpoint (i.e. "jobs/runs/list") since the session was created.
+ *
+ * Wire bytes are counted as sent or received on the connection, before decompression; entity bytes are the
+ * uncompressed request and response bodies. Without compression both are equal.
+ */
+public class TransferStats {
+    public final long Requests;
+    public final long RequestEntityBytes;
+    public final long RequestWireBytes;
+    public final long ResponseEntityBytes;
+    public final long ResponseWireBytes;
+
+    public TransferStats(long requests,
+                         long requestEntityBytes,
+                         long requestWireBytes,
+                         long responseEntityBytes,
+                         long responseWireBytes) {
+        Requests = requests;
+        RequestEntityBytes = requestEntityBytes;
+        RequestWireBytes = requestWireBytes;
+        ResponseEntityBytes = responseEntityBytes;
+        ResponseWireBytes = responseWireBytes;
+    }
+
+    /**
+     * Bytes that compression kept off the wire, in both directions
+     */
+    public long getBytesSaved() {
+        return (RequestEntityBytes - RequestWireBytes) + (ResponseEntityBytes - ResponseWireBytes);
+    }
+
+    /**
+     * Wire bytes per entity byte of the responses; 1 without compression
+     */
+    public double getResponseCompressionRatio() {
+        return ResponseEntityBytes == 0 ? 1 : (double) ResponseWireBytes / ResponseEntityBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferStats{requests=" + Requests +
+                ", request=" + RequestWireBytes + "/" + RequestEntityBytes +
+                ", response=" + ResponseWireBytes + "/" + ResponseEntityBytes +
+                " (wire/entity bytes)}";
+    }
+}
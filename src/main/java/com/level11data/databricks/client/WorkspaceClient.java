@@ -1,14 +1,10 @@
 package com.level11data.databricks.client;
 
 import com.level11data.databricks.client.entities.workspace.*;
-import org.glassfish.jersey.client.ClientConfig;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class WorkspaceClient extends AbstractDatabricksClient {
     private final String ENDPOINT_TARGET = "api/2.0/workspace";
@@ -17,77 +13,95 @@ public class WorkspaceClient extends AbstractDatabricksClient {
         super(session);
     }
 
-    protected ClientConfig ClientConfig() {
-        return super.ClientConfig();
-    }
+    //TODO evaluate if this is necessary and remove.  Why is a new Excption type needed?  If so, fold it into super()
 
-    private Client createClient() {
-        return ClientBuilder.newClient(ClientConfig());
+    public void delete(WorkspaceDeleteRequestDTO workspaceDeleteRequestDTO) throws HttpException {
+        execute(deleteRequest(workspaceDeleteRequestDTO));
     }
 
-    //TODO evaluate if this is necessary and remove.  Why is a new Excption type needed?  If so, fold it into super()
-    private void checkResponse(Response response, String message400) throws HttpException {
-        // check response status code
-        if (response.getStatus() == 400) {
-            throw new HttpServerSideException(message400);
-        } else {
-            super.checkResponse(response);
-        }
+    public CompletableFuture<Void> deleteAsync(WorkspaceDeleteRequestDTO workspaceDeleteRequestDTO) {
+        return executeAsync(deleteRequest(workspaceDeleteRequestDTO));
     }
 
-    public void delete(WorkspaceDeleteRequestDTO workspaceDeleteRequestDTO) throws HttpException {
+    private ApiRequest<Void> deleteRequest(WorkspaceDeleteRequestDTO workspaceDeleteRequestDTO) {
         String pathSuffix = ENDPOINT_TARGET + "/delete";
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(workspaceDeleteRequestDTO));
-
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), workspaceDeleteRequestDTO, true, statusReader());
     }
 
     public ExportResponseDTO exportResource(ExportRequestDTO exportRequestDTO) throws HttpException {
+        return execute(exportResourceRequest(exportRequestDTO));
+    }
+
+    public CompletableFuture<ExportResponseDTO> exportResourceAsync(ExportRequestDTO exportRequestDTO) {
+        return executeAsync(exportResourceRequest(exportRequestDTO));
+    }
+
+    private ApiRequest<ExportResponseDTO> exportResourceRequest(ExportRequestDTO exportRequestDTO) {
         String pathSuffix = ENDPOINT_TARGET + "/export";
 
         Map<String, Object> queryParams = new HashMap<>();
         queryParams.put("path",exportRequestDTO.Path);
         queryParams.put("format",exportRequestDTO.Format);
 
-        Response response = Session.getRequestBuilder(pathSuffix, queryParams).get();
-
-        checkResponse(response);
-        return response.readEntity(ExportResponseDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix, queryParams), entityReader(ExportResponseDTO.class));
     }
 
     public StatusResponseDTO getStatus(StatusRequestDTO statusRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/get-status";
+        return execute(getStatusRequest(statusRequestDTO));
+    }
+
+    public CompletableFuture<StatusResponseDTO> getStatusAsync(StatusRequestDTO statusRequestDTO) {
+        return executeAsync(getStatusRequest(statusRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix, "path", statusRequestDTO.Path).get();
+    private ApiRequest<StatusResponseDTO> getStatusRequest(StatusRequestDTO statusRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/get-status";
 
-        checkResponse(response);
-        return response.readEntity(StatusResponseDTO.class);
+        return getRequest(Session.getRequestBuilder(pathSuffix, "path", statusRequestDTO.Path),
+                entityReader(StatusResponseDTO.class));
     }
 
     public void importResource(ImportRequestDTO importRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/import";
+        execute(importResourceRequest(importRequestDTO));
+    }
+
+    public CompletableFuture<Void> importResourceAsync(ImportRequestDTO importRequestDTO) {
+        return executeAsync(importResourceRequest(importRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(importRequestDTO));
+    private ApiRequest<Void> importResourceRequest(ImportRequestDTO importRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/import";
 
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), importRequestDTO, importRequestDTO.Overwrite, statusReader());
     }
 
     public WorkspaceListResponseDTO list(ListRequestDTO listRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/list";
+        return execute(listRequest(listRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix, "path", listRequestDTO.Path).get();
+    public CompletableFuture<WorkspaceListResponseDTO> listAsync(ListRequestDTO listRequestDTO) {
+        return executeAsync(listRequest(listRequestDTO));
+    }
 
-        checkResponse(response);
-        return response.readEntity(WorkspaceListResponseDTO.class);
+    private ApiRequest<WorkspaceListResponseDTO> listRequest(ListRequestDTO listRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/list";
+
+        return getRequest(Session.getRequestBuilder(pathSuffix, "path", listRequestDTO.Path),
+                entityReader(WorkspaceListResponseDTO.class));
     }
 
     public void mkdirs(WorkspaceMkdirsRequestDTO workspaceMkdirsRequestDTO) throws HttpException {
-        String pathSuffix = ENDPOINT_TARGET + "/mkdirs";
+        execute(mkdirsRequest(workspaceMkdirsRequestDTO));
+    }
 
-        Response response = Session.getRequestBuilder(pathSuffix).post(Entity.json(workspaceMkdirsRequestDTO));
+    public CompletableFuture<Void> mkdirsAsync(WorkspaceMkdirsRequestDTO workspaceMkdirsRequestDTO) {
+        return executeAsync(mkdirsRequest(workspaceMkdirsRequestDTO));
+    }
+
+    private ApiRequest<Void> mkdirsRequest(WorkspaceMkdirsRequestDTO workspaceMkdirsRequestDTO) {
+        String pathSuffix = ENDPOINT_TARGET + "/mkdirs";
 
-        // check response status code
-        checkResponse(response);
+        return postRequest(Session.getRequestBuilder(pathSuffix), workspaceMkdirsRequestDTO, true, statusReader());
     }
 }
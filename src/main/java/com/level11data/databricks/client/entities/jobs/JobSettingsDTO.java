@@ -62,6 +62,13 @@ public class JobSettingsDTO {
     @JsonProperty("timeout_seconds")
     public Integer TimeoutSeconds;
 
+    /**
+     * Only sent with jobs/create; a create request repeating the token of an earlier one returns the same job,
+     * which makes it safe to retry
+     */
+    @JsonProperty("idempotency_token")
+    public String IdempotencyToken;
+
     @Override
     public String toString() {
         ObjectWriter ow = new ObjectMapper().writer().withDefaultPrettyPrinter();
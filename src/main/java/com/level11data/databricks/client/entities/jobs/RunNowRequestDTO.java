@@ -30,6 +30,13 @@ public class RunNowRequestDTO {
     @JsonProperty("notebook_params")
     public Map<String,String> NotebookParams;
 
+    /**
+     * Token making the request safe to retry; a request repeating the token of an earlier one returns its result
+     * instead of starting another run. Requests without a token are never retried on transient failures.
+     */
+    @JsonProperty("idempotency_token")
+    public String IdempotencyToken;
+
     @Override
     public String toString() {
         ObjectWriter ow = new ObjectMapper().writer().withDefaultPrettyPrinter();
@@ -18,6 +18,9 @@ public class RunsDTO {
     @JsonProperty("runs")
     public RunDTO[] Runs;
 
+    @JsonProperty("has_more")
+    public boolean HasMore;
+
     @Override
     public String toString() {
         ObjectWriter ow = new ObjectMapper().writer().withDefaultPrettyPrinter();
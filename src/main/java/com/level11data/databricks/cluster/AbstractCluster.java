@@ -2,11 +2,13 @@ package com.level11data.databricks.cluster;
 
 import com.level11data.databricks.client.ClustersClient;
 import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.SnapshotCache;
 import com.level11data.databricks.client.entities.clusters.ClusterInfoDTO;
 import com.level11data.databricks.client.entities.clusters.SparkNodeDTO;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractCluster extends AbstractBaseCluster implements Cluster {
     private ClustersClient _client;
@@ -100,6 +102,20 @@ public abstract class AbstractCluster extends AbstractBaseCluster implements Clu
         return new Date(startTime.longValue());
     }
 
+    /**
+     * Reads all changing fields of the cluster from one response, which may be up to maxAge old;
+     * a maxAge of 0 always makes a client request
+     */
+    public ClusterSnapshot snapshot(long maxAge, TimeUnit unit) throws ClusterConfigException {
+        try {
+            SnapshotCache.Entry<ClusterInfoDTO> entry = _client.getClusterSnapshot(Id, maxAge, unit);
+            return new ClusterSnapshot(entry.Value, initNodeType(), entry.FetchedAtMillis,
+                    entry.getAge(TimeUnit.NANOSECONDS));
+        } catch(HttpException e) {
+            throw new ClusterConfigException(e);
+        }
+    }
+
     public ClusterState getState() throws ClusterConfigException {
         try {
             //Always make client request for this
@@ -2,9 +2,12 @@ package com.level11data.databricks.cluster;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 public interface Cluster {
 
+    ClusterSnapshot snapshot(long maxAge, TimeUnit unit) throws ClusterConfigException;
+
     ClusterState getState() throws ClusterConfigException;
 
     String getStateMessage() throws ClusterConfigException;
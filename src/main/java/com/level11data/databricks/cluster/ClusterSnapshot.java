@@ -0,0 +1,59 @@
+package com.level11data.databricks.cluster;
+
+import com.level11data.databricks.client.entities.clusters.ClusterInfoDTO;
+import com.level11data.databricks.client.entities.clusters.SparkNodeDTO;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of a cluster as of a single clusters/get response; see AbstractCluster.snapshot
+ */
+public class ClusterSnapshot {
+    public final String ClusterId;
+    public final ClusterState State;
+    public final String StateMessage;
+    public final List<SparkNode> Executors;
+    public final BigInteger TerminatedTime;
+    public final BigInteger LastStateLossTime;
+    public final BigInteger LastActivityTime;
+    public final BigInteger ClusterMemoryMb;
+    public final BigInteger ClusterCores;
+    public final LogSyncStatus LogStatus;
+    public final TerminationReason TerminationReason;
+    public final Date FetchedAt;
+
+    private final long _fetchedAtNanos;
+
+    ClusterSnapshot(ClusterInfoDTO info, NodeType executorNodeType, long fetchedAtMillis, long ageNanos) {
+        ClusterId = info.ClusterId;
+        State = info.State == null ? null : ClusterState.valueOf(info.State);
+        StateMessage = info.StateMessage;
+
+        ArrayList<SparkNode> executors = new ArrayList<>();
+        if(info.Executors != null) {
+            for(SparkNodeDTO nodeInfo : info.Executors) {
+                executors.add(new SparkNode(nodeInfo, executorNodeType));
+            }
+        }
+        Executors = Collections.unmodifiableList(executors);
+
+        TerminatedTime = info.TerminatedTime;
+        LastStateLossTime = info.LastStateLossTime;
+        LastActivityTime = info.LastActivityTime;
+        ClusterMemoryMb = info.ClusterMemoryMb;
+        ClusterCores = info.ClusterCores;
+        LogStatus = info.ClusterLogStatus == null ? null : new LogSyncStatus(info.ClusterLogStatus);
+        TerminationReason = info.TerminationReason == null ? null : new TerminationReason(info.TerminationReason);
+        FetchedAt = new Date(fetchedAtMillis);
+        _fetchedAtNanos = System.nanoTime() - ageNanos;
+    }
+
+    public long getAge(TimeUnit unit) {
+        return unit.convert(System.nanoTime() - _fetchedAtNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -28,6 +28,87 @@ public class DatabricksClientConfiguration extends CompositeConfiguration {
     public static final String CLIENT_USERNAME = CLIENT_PREFIX + ".username";
     public static final String CLIENT_PASSWORD = CLIENT_PREFIX + ".password";
     public static final String CLIENT_URL = CLIENT_PREFIX + ".url";
+    public static final String CLIENT_EXECUTION_MODE = CLIENT_PREFIX + ".executionMode";
+
+    private static final String HTTP_PREFIX = CLIENT_PREFIX + ".http";
+    public static final String HTTP_CONNECTOR = HTTP_PREFIX + ".connector";
+    public static final String HTTP_MAX_CONNECTIONS = HTTP_PREFIX + ".maxConnections";
+    public static final String HTTP_MAX_CONNECTIONS_PER_ROUTE = HTTP_PREFIX + ".maxConnectionsPerRoute";
+    public static final String HTTP_CONNECTION_TTL_SECONDS = HTTP_PREFIX + ".connectionTimeToLiveSeconds";
+    public static final String HTTP_IDLE_TIMEOUT_SECONDS = HTTP_PREFIX + ".idleTimeoutSeconds";
+    public static final String HTTP_VALIDATE_AFTER_INACTIVITY_MILLIS = HTTP_PREFIX + ".validateAfterInactivityMillis";
+    public static final String HTTP_COMPRESSION = HTTP_PREFIX + ".compression";
+    public static final String HTTP_REQUEST_COMPRESSION = HTTP_PREFIX + ".requestCompression";
+
+    private static final String ASYNC_PREFIX = CLIENT_PREFIX + ".async";
+    public static final String ASYNC_THREADS = ASYNC_PREFIX + ".threads";
+
+    private static final String RATE_LIMIT_PREFIX = CLIENT_PREFIX + ".rateLimit";
+    public static final String RATE_LIMIT_ENABLED = RATE_LIMIT_PREFIX + ".enabled";
+    public static final String RATE_LIMIT_MAX_RETRIES = RATE_LIMIT_PREFIX + ".maxRetries";
+
+    private static final String RETRY_PREFIX = CLIENT_PREFIX + ".retry";
+    public static final String RETRY_MAX_RETRIES = RETRY_PREFIX + ".maxRetries";
+    public static final String RETRY_INITIAL_BACKOFF_MILLIS = RETRY_PREFIX + ".initialBackoffMillis";
+    public static final String RETRY_MAX_BACKOFF_MILLIS = RETRY_PREFIX + ".maxBackoffMillis";
+    public static final String RETRY_BUDGET_RATIO = RETRY_PREFIX + ".budgetRatio";
+    public static final String RETRY_MIN_PER_SECOND = RETRY_PREFIX + ".minRetriesPerSecond";
+
+    private static final String SNAPSHOT_CACHE_PREFIX = CLIENT_PREFIX + ".snapshotCache";
+    public static final String SNAPSHOT_CACHE_MAX_SIZE = SNAPSHOT_CACHE_PREFIX + ".maxSize";
+    public static final String SNAPSHOT_CACHE_TTL_SECONDS = SNAPSHOT_CACHE_PREFIX + ".timeToLiveSeconds";
+
+    private static final String DBFS_PREFIX = CLIENT_PREFIX + ".dbfs";
+    public static final String DBFS_UPLOAD_BLOCK_SIZE = DBFS_PREFIX + ".uploadBlockSize";
+    public static final String DBFS_UPLOAD_READ_AHEAD = DBFS_PREFIX + ".uploadReadAhead";
+    public static final String DBFS_DOWNLOAD_CONCURRENCY = DBFS_PREFIX + ".downloadConcurrency";
+    public static final String DBFS_SYNC_CONCURRENCY = DBFS_PREFIX + ".syncConcurrency";
+    public static final String DBFS_LIST_CONCURRENCY = DBFS_PREFIX + ".listConcurrency";
+    public static final String DBFS_BULK_CONCURRENCY = DBFS_PREFIX + ".bulkConcurrency";
+    public static final String DBFS_STREAM_BUFFER_SIZE = DBFS_PREFIX + ".streamBufferSize";
+    public static final String DBFS_STREAM_READ_AHEAD = DBFS_PREFIX + ".streamReadAhead";
+
+    private static final String RUN_MONITOR_PREFIX = CLIENT_PREFIX + ".runMonitor";
+    public static final String RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS = RUN_MONITOR_PREFIX + ".minPollIntervalMillis";
+    public static final String RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS = RUN_MONITOR_PREFIX + ".maxPollIntervalMillis";
+    public static final String RUN_MONITOR_LIST_POLLING_MIN_RUNS = RUN_MONITOR_PREFIX + ".listPollingMinRuns";
+    public static final String RUN_MONITOR_EVENT_BUFFER_SIZE = RUN_MONITOR_PREFIX + ".eventBufferSize";
+
+    private static final String JOBS_PREFIX = CLIENT_PREFIX + ".jobs";
+    public static final String JOBS_SUBMIT_CONCURRENCY = JOBS_PREFIX + ".submitConcurrency";
+
+    //768 KB encode to 1 MB of base64, the most dbfs/add-block and dbfs/put accept
+    public static final int MAX_DBFS_UPLOAD_BLOCK_SIZE = 786432;
+    //the most dbfs/read returns per request
+    public static final int MAX_DBFS_READ_SIZE = 1048576;
+
+    public static final int DEFAULT_HTTP_MAX_CONNECTIONS = 50;
+    public static final int DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE = 50;
+    public static final long DEFAULT_HTTP_CONNECTION_TTL_SECONDS = 300;
+    public static final long DEFAULT_HTTP_IDLE_TIMEOUT_SECONDS = 60;
+    public static final int DEFAULT_HTTP_VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+    public static final int DEFAULT_ASYNC_THREADS = 16;
+    public static final int DEFAULT_RATE_LIMIT_MAX_RETRIES = 5;
+    public static final int DEFAULT_RETRY_MAX_RETRIES = 3;
+    public static final long DEFAULT_RETRY_INITIAL_BACKOFF_MILLIS = 200;
+    public static final long DEFAULT_RETRY_MAX_BACKOFF_MILLIS = 10000;
+    public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.2;
+    public static final double DEFAULT_RETRY_MIN_PER_SECOND = 10;
+    public static final long DEFAULT_SNAPSHOT_CACHE_MAX_SIZE = 1000;
+    public static final long DEFAULT_SNAPSHOT_CACHE_TTL_SECONDS = 300;
+    public static final int DEFAULT_DBFS_UPLOAD_BLOCK_SIZE = MAX_DBFS_UPLOAD_BLOCK_SIZE;
+    public static final int DEFAULT_DBFS_UPLOAD_READ_AHEAD = 2;
+    public static final int DEFAULT_DBFS_DOWNLOAD_CONCURRENCY = 4;
+    public static final int DEFAULT_DBFS_SYNC_CONCURRENCY = 8;
+    public static final int DEFAULT_DBFS_LIST_CONCURRENCY = 8;
+    public static final int DEFAULT_DBFS_BULK_CONCURRENCY = 16;
+    public static final int DEFAULT_DBFS_STREAM_BUFFER_SIZE = MAX_DBFS_READ_SIZE;
+    public static final int DEFAULT_DBFS_STREAM_READ_AHEAD = 2;
+    public static final long DEFAULT_RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS = 1000;
+    public static final long DEFAULT_RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS = 30000;
+    public static final int DEFAULT_RUN_MONITOR_LIST_POLLING_MIN_RUNS = 2;
+    public static final int DEFAULT_RUN_MONITOR_EVENT_BUFFER_SIZE = 1024;
+    public static final int DEFAULT_JOBS_SUBMIT_CONCURRENCY = 8;
 
     public DatabricksClientConfiguration() {
         super();
@@ -115,37 +196,254 @@ public class DatabricksClientConfiguration extends CompositeConfiguration {
         return getNonEmptyString(CLIENT_TOKEN);
     }
 
+    public HttpConnectorType getHttpConnector() {
+        return HttpConnectorType.valueOf(getString(HTTP_CONNECTOR, HttpConnectorType.APACHE.name()).trim().toUpperCase());
+    }
+
+    /**
+     * Whether responses are requested gzip-compressed (Accept-Encoding: gzip)
+     */
+    public boolean isHttpCompressionEnabled() {
+        return getBoolean(HTTP_COMPRESSION, false);
+    }
+
+    /**
+     * Whether request bodies are sent gzip-compressed (Content-Encoding: gzip); only for workspaces accepting it
+     */
+    public boolean isHttpRequestCompressionEnabled() {
+        return getBoolean(HTTP_REQUEST_COMPRESSION, false);
+    }
+
+    public int getHttpMaxConnections() {
+        return getPositiveInt(HTTP_MAX_CONNECTIONS, DEFAULT_HTTP_MAX_CONNECTIONS);
+    }
+
+    public int getHttpMaxConnectionsPerRoute() {
+        return getPositiveInt(HTTP_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE);
+    }
+
+    /**
+     * Maximum lifetime of a pooled connection; bounds how long a connection is kept alive and reused
+     */
+    public long getHttpConnectionTimeToLiveSeconds() {
+        return getPositiveLong(HTTP_CONNECTION_TTL_SECONDS, DEFAULT_HTTP_CONNECTION_TTL_SECONDS);
+    }
+
+    /**
+     * Pooled connections idle for longer than this are evicted by a background thread
+     */
+    public long getHttpIdleTimeoutSeconds() {
+        return getPositiveLong(HTTP_IDLE_TIMEOUT_SECONDS, DEFAULT_HTTP_IDLE_TIMEOUT_SECONDS);
+    }
+
+    public int getHttpValidateAfterInactivityMillis() {
+        return getPositiveInt(HTTP_VALIDATE_AFTER_INACTIVITY_MILLIS, DEFAULT_HTTP_VALIDATE_AFTER_INACTIVITY_MILLIS);
+    }
+
+    /**
+     * Kind of threads the session runs its executors and pollers on; VIRTUAL requires JDK 21+
+     */
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.valueOf(getString(CLIENT_EXECUTION_MODE, ExecutionMode.PLATFORM.name()).trim().toUpperCase());
+    }
+
+    /**
+     * Number of threads executing asynchronous requests of a session (PLATFORM execution mode only)
+     */
+    public int getAsyncThreads() {
+        return getPositiveInt(ASYNC_THREADS, DEFAULT_ASYNC_THREADS);
+    }
+
+    public boolean isRateLimitEnabled() {
+        return getBoolean(RATE_LIMIT_ENABLED, true);
+    }
+
+    /**
+     * Requests per second allowed for an endpoint family (i.e. "jobs", "clusters", "dbfs", "workspace");
+     * 0 when not configured, in which case requests are only limited once the workspace starts throttling
+     */
+    public double getRateLimit(String endpointFamily) {
+        double value = getDouble(RATE_LIMIT_PREFIX + "." + endpointFamily, 0.0);
+        Preconditions.checkArgument(value >= 0, RATE_LIMIT_PREFIX + "." + endpointFamily + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Number of times a request rejected with 429 or 503 is resent once the rate limiter allows it
+     */
+    public int getRateLimitMaxRetries() {
+        int value = getInt(RATE_LIMIT_MAX_RETRIES, DEFAULT_RATE_LIMIT_MAX_RETRIES);
+        Preconditions.checkArgument(value >= 0, RATE_LIMIT_MAX_RETRIES + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Number of times an idempotent request failing with a transient error (5xx, connection reset) is resent;
+     * 0 disables retries
+     */
+    public int getRetryMaxRetries() {
+        int value = getInt(RETRY_MAX_RETRIES, DEFAULT_RETRY_MAX_RETRIES);
+        Preconditions.checkArgument(value >= 0, RETRY_MAX_RETRIES + " cannot be negative");
+        return value;
+    }
+
+    public long getRetryInitialBackoffMillis() {
+        return getPositiveLong(RETRY_INITIAL_BACKOFF_MILLIS, DEFAULT_RETRY_INITIAL_BACKOFF_MILLIS);
+    }
+
+    public long getRetryMaxBackoffMillis() {
+        return getPositiveLong(RETRY_MAX_BACKOFF_MILLIS, DEFAULT_RETRY_MAX_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Fraction of a retry earned by every request sent; bounds retries to this ratio of the traffic during an outage
+     */
+    public double getRetryBudgetRatio() {
+        double value = getDouble(RETRY_BUDGET_RATIO, DEFAULT_RETRY_BUDGET_RATIO);
+        Preconditions.checkArgument(value >= 0, RETRY_BUDGET_RATIO + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Retries allowed per second regardless of the traffic
+     */
+    public double getRetryMinPerSecond() {
+        double value = getDouble(RETRY_MIN_PER_SECOND, DEFAULT_RETRY_MIN_PER_SECOND);
+        Preconditions.checkArgument(value >= 0, RETRY_MIN_PER_SECOND + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Number of clusters (and, separately, runs) whose latest snapshot is kept
+     */
+    public long getSnapshotCacheMaxSize() {
+        return getPositiveLong(SNAPSHOT_CACHE_MAX_SIZE, DEFAULT_SNAPSHOT_CACHE_MAX_SIZE);
+    }
+
+    /**
+     * Time after which a snapshot is evicted; bounds the staleness of any snapshot a caller can be given
+     */
+    public long getSnapshotCacheTimeToLiveSeconds() {
+        return getPositiveLong(SNAPSHOT_CACHE_TTL_SECONDS, DEFAULT_SNAPSHOT_CACHE_TTL_SECONDS);
+    }
+
+    /**
+     * Raw bytes sent per dbfs/add-block when uploading a file; at most 768 KB (1 MB once base64 encoded)
+     */
+    public int getDbfsUploadBlockSize() {
+        int value = getPositiveInt(DBFS_UPLOAD_BLOCK_SIZE, DEFAULT_DBFS_UPLOAD_BLOCK_SIZE);
+        Preconditions.checkArgument(value <= MAX_DBFS_UPLOAD_BLOCK_SIZE,
+                DBFS_UPLOAD_BLOCK_SIZE + " cannot exceed " + MAX_DBFS_UPLOAD_BLOCK_SIZE);
+        return value;
+    }
+
+    /**
+     * Number of blocks of an upload read and encoded ahead of the block being sent; 0 reads every block on demand
+     */
+    public int getDbfsUploadReadAhead() {
+        int value = getInt(DBFS_UPLOAD_READ_AHEAD, DEFAULT_DBFS_UPLOAD_READ_AHEAD);
+        Preconditions.checkArgument(value >= 0, DBFS_UPLOAD_READ_AHEAD + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Number of dbfs/read requests in flight while downloading a file
+     */
+    public int getDbfsDownloadConcurrency() {
+        return getPositiveInt(DBFS_DOWNLOAD_CONCURRENCY, DEFAULT_DBFS_DOWNLOAD_CONCURRENCY);
+    }
+
+    /**
+     * Number of files a DbfsSync transfers or deletes at once
+     */
+    public int getDbfsSyncConcurrency() {
+        return getPositiveInt(DBFS_SYNC_CONCURRENCY, DEFAULT_DBFS_SYNC_CONCURRENCY);
+    }
+
+    /**
+     * Number of dbfs/list requests in flight while walking a directory tree
+     */
+    public int getDbfsListConcurrency() {
+        return getPositiveInt(DBFS_LIST_CONCURRENCY, DEFAULT_DBFS_LIST_CONCURRENCY);
+    }
+
+    /**
+     * Number of requests in flight while a DbfsBatch deletes, moves or gets the status of many paths
+     */
+    public int getDbfsBulkConcurrency() {
+        return getPositiveInt(DBFS_BULK_CONCURRENCY, DEFAULT_DBFS_BULK_CONCURRENCY);
+    }
+
+    /**
+     * Bytes requested per dbfs/read by DBFS input streams and channels; at most 1 MB
+     */
+    public int getDbfsStreamBufferSize() {
+        int value = getPositiveInt(DBFS_STREAM_BUFFER_SIZE, DEFAULT_DBFS_STREAM_BUFFER_SIZE);
+        Preconditions.checkArgument(value <= MAX_DBFS_READ_SIZE,
+                DBFS_STREAM_BUFFER_SIZE + " cannot exceed " + MAX_DBFS_READ_SIZE);
+        return value;
+    }
+
+    /**
+     * Number of buffers DBFS input streams and channels read ahead of the one being consumed; 0 reads on demand
+     */
+    public int getDbfsStreamReadAhead() {
+        int value = getInt(DBFS_STREAM_READ_AHEAD, DEFAULT_DBFS_STREAM_READ_AHEAD);
+        Preconditions.checkArgument(value >= 0, DBFS_STREAM_READ_AHEAD + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Interval at which the RunMonitor polls a run just tracked or whose state just changed
+     */
+    public long getRunMonitorMinPollIntervalMillis() {
+        return getPositiveLong(RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS, DEFAULT_RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Longest interval the RunMonitor backs off to while the state of a run does not change
+     */
+    public long getRunMonitorMaxPollIntervalMillis() {
+        long value = getPositiveLong(RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS, DEFAULT_RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS);
+        Preconditions.checkArgument(value >= getRunMonitorMinPollIntervalMillis(),
+                RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS + " cannot be less than " + RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS);
+        return value;
+    }
+
+    /**
+     * Number of tracked runs of a job from which the RunMonitor polls them with jobs/runs/list instead of
+     * jobs/runs/get per run; 0 disables list polling
+     */
+    public int getRunMonitorListPollingMinRuns() {
+        int value = getInt(RUN_MONITOR_LIST_POLLING_MIN_RUNS, DEFAULT_RUN_MONITOR_LIST_POLLING_MIN_RUNS);
+        Preconditions.checkArgument(value >= 0, RUN_MONITOR_LIST_POLLING_MIN_RUNS + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Number of run events a subscriber of the RunEventPublisher can fall behind before its subscription fails
+     */
+    public int getRunMonitorEventBufferSize() {
+        return getPositiveInt(RUN_MONITOR_EVENT_BUFFER_SIZE, DEFAULT_RUN_MONITOR_EVENT_BUFFER_SIZE);
+    }
+
+    /**
+     * Number of jobs/run-now requests a JobBatch keeps in flight
+     */
+    public int getJobsSubmitConcurrency() {
+        return getPositiveInt(JOBS_SUBMIT_CONCURRENCY, DEFAULT_JOBS_SUBMIT_CONCURRENCY);
+    }
+
     public boolean hasClientToken() {
-        try {
-            getClientToken();
-            return true;
-        } catch(NullPointerException e) {
-            return false;
-        } catch(IllegalArgumentException e) {
-            return false;
-        }
+        return hasNonEmptyString(CLIENT_TOKEN);
     }
 
     public boolean hasClientUsername() {
-        try {
-            getClientUsername();
-            return true;
-        } catch(NullPointerException e) {
-            return false;
-        } catch(IllegalArgumentException e) {
-            return false;
-        }
+        return hasNonEmptyString(CLIENT_USERNAME);
     }
 
     public boolean hasClientPassword() {
-        try {
-            getClientPassword();
-            return true;
-        } catch(NullPointerException e) {
-            return false;
-        } catch(IllegalArgumentException e) {
-            return false;
-        }
+        return hasNonEmptyString(CLIENT_PASSWORD);
     }
 
     /**
@@ -163,6 +461,19 @@ public class DatabricksClientConfiguration extends CompositeConfiguration {
         return valid;
     }
 
+    private boolean hasNonEmptyString(String property) {
+        if(!containsKey(property)) {
+            return false;
+        }
+        try {
+            String value = getString(property);
+            return value != null && !value.isEmpty();
+        } catch(IllegalArgumentException e) {
+            //value references a variable that cannot be resolved (i.e. an unset environment variable)
+            return false;
+        }
+    }
+
     private String getNonEmptyString(String property, String defaultValue) {
         String value = getString(property, defaultValue);
         Preconditions.checkNotNull(value, property + " cannot be null");
@@ -177,6 +488,18 @@ public class DatabricksClientConfiguration extends CompositeConfiguration {
         return value;
     }
 
+    private int getPositiveInt(String property, int defaultValue) {
+        int value = getInt(property, defaultValue);
+        Preconditions.checkArgument(value > 0, property + " must be greater than zero");
+        return value;
+    }
+
+    private long getPositiveLong(String property, long defaultValue) {
+        long value = getLong(property, defaultValue);
+        Preconditions.checkArgument(value > 0, property + " must be greater than zero");
+        return value;
+    }
+
     private static String verifyNotNull(String property, String value) {
         Preconditions.checkNotNull(value, property + " cannot be null");
         return value;
@@ -0,0 +1,5 @@
+package com.level11data.databricks.config;
+
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL
+}
@@ -0,0 +1,108 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.entities.dbfs.DbfsDeleteRequestDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Applies a DBFS operation to many paths with up to the session's bulk concurrency of requests in flight. Requests
+ * still go through the session's rate limiter and retry policy, and a path failing does not stop the others: every
+ * path ends up either in the Succeeded or the Failed of the result.
+ */
+public class DbfsBatch {
+    private final DbfsClient _client;
+    private final int _concurrency;
+
+    public DbfsBatch(DbfsClient client) {
+        this(client, client.Session.getDbfsBulkConcurrency());
+    }
+
+    public DbfsBatch(DbfsClient client, int concurrency) {
+        if(concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        _client = client;
+        _concurrency = concurrency;
+    }
+
+    /**
+     * Deletes every path; a path that does not exist fails with HttpNotFoundException
+     */
+    public DbfsBatchResult<Void> deleteAll(Collection<String> paths, boolean recursive) throws HttpException {
+        return run(paths, path -> {
+            DbfsDeleteRequestDTO dbfsDeleteRequestDTO = new DbfsDeleteRequestDTO();
+            dbfsDeleteRequestDTO.Path = path;
+            dbfsDeleteRequestDTO.Recursive = recursive;
+            return _client.deleteAsync(dbfsDeleteRequestDTO);
+        });
+    }
+
+    public DbfsBatchResult<DbfsFileInfo> statusAll(Collection<String> paths) throws HttpException {
+        return run(paths, path -> _client.getStatusAsync(path).thenApply(DbfsFileInfo::new));
+    }
+
+    /**
+     * Moves every source path of the map to its destination path; results are by source path
+     */
+    public DbfsBatchResult<Void> moveAll(Map<String, String> moves) throws HttpException {
+        return run(moves.keySet(), path -> _client.moveAsync(path, moves.get(path)));
+    }
+
+    public DbfsBatchResult<Void> mkdirsAll(Collection<String> paths) throws HttpException {
+        return run(paths, _client::mkdirsAsync);
+    }
+
+    /**
+     * Sends a request per path, a new one whenever one completes; returns once all have completed
+     */
+    private <T> DbfsBatchResult<T> run(Collection<String> paths,
+                                       Function<String, CompletableFuture<T>> operation) throws HttpException {
+        List<String> pathList = new ArrayList<>(paths);
+        Semaphore slots = new Semaphore(_concurrency);
+        List<CompletableFuture<T>> requests = new ArrayList<>();
+        try {
+            for(String path : pathList) {
+                slots.acquire();
+                CompletableFuture<T> request;
+                try {
+                    request = operation.apply(path);
+                } catch(RuntimeException e) {
+                    request = new CompletableFuture<>();
+                    request.completeExceptionally(e);
+                }
+                request.whenComplete((result, e) -> slots.release());
+                requests.add(request);
+            }
+            slots.acquire(_concurrency);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for(CompletableFuture<T> request : requests) {
+                request.cancel(true);
+            }
+            throw new HttpException(e);
+        }
+
+        Map<String, T> succeeded = new LinkedHashMap<>();
+        Map<String, HttpException> failed = new LinkedHashMap<>();
+        for(int i = 0; i < pathList.size(); i++) {
+            String path = pathList.get(i);
+            try {
+                succeeded.put(path, requests.get(i).join());
+            } catch(CompletionException e) {
+                Throwable cause = e.getCause();
+                failed.put(path, cause instanceof HttpException ? (HttpException) cause : new HttpException(cause));
+            }
+        }
+        return new DbfsBatchResult<>(succeeded, failed);
+    }
+}
@@ -0,0 +1,31 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.HttpException;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a DbfsBatch operation, by path, in the order the paths were given
+ */
+public class DbfsBatchResult<T> {
+    /**
+     * Result of every path the operation succeeded on; null values for operations without a result (i.e. delete)
+     */
+    public final Map<String, T> Succeeded;
+    public final Map<String, HttpException> Failed;
+
+    DbfsBatchResult(Map<String, T> succeeded, Map<String, HttpException> failed) {
+        Succeeded = Collections.unmodifiableMap(succeeded);
+        Failed = Collections.unmodifiableMap(failed);
+    }
+
+    public boolean isSuccess() {
+        return Failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return Succeeded.size() + " succeeded, " + Failed.size() + " failed";
+    }
+}
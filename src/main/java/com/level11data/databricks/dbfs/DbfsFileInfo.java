@@ -6,10 +6,12 @@ public class DbfsFileInfo {
     public final String Path;
     public final boolean IsDir;
     public final long FileSize;
+    public final long ModificationTime;
 
     public DbfsFileInfo(FileInfoDTO fileInfoDTO) {
         Path = fileInfoDTO.Path;
         IsDir = fileInfoDTO.IsDir;
         FileSize = fileInfoDTO.FileSize;
+        ModificationTime = fileInfoDTO.ModificationTime;
     }
 }
@@ -2,15 +2,25 @@ package com.level11data.databricks.dbfs;
 
 import com.level11data.databricks.client.DbfsClient;
 import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.HttpServerSideException;
+import com.level11data.databricks.client.RetryPolicy;
 import com.level11data.databricks.client.entities.dbfs.*;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
 import com.level11data.databricks.util.ResourceUtils;
 
+import javax.ws.rs.ProcessingException;
 import java.io.*;
-import java.util.Base64;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
 
 public class DbfsHelper {
-    private static final int MAX_BLOCK_SIZE = 1048576; //1 MB
 
+    public static final int MAX_UPLOAD_BLOCK_SIZE = DatabricksClientConfiguration.MAX_DBFS_UPLOAD_BLOCK_SIZE;
 
     public static void putFile(DbfsClient client,
                                File file,
@@ -18,94 +28,290 @@ public class DbfsHelper {
         putFile(client, file, dbfsPath, false);
     }
 
+    /**
+     * Uploads a file of any size with memory independent of the file size, reading it through memory-mapped
+     * regions; a transient failure while adding blocks restarts the upload as per the session's RetryPolicy
+     */
     public static void putFile(DbfsClient client,
                                File file,
                                String dbfsPath,
                                boolean overwrite) throws IOException, HttpException {
+        //add-block is not idempotent, so a block failing with a transient error cannot be resent on its own;
+        //the upload starts over on a new handle instead (overwriting the partial file this upload created)
+        RetryPolicy retryPolicy = client.Session.getRetryPolicy();
+        boolean created = false;
+        for(int retry = 1; ; retry++) {
+            try (FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+                 UploadBlocks blocks = UploadBlocks.open(client.Session, new MappedFileSource(channel))) {
+                UploadBlocks.Block block = blocks.next();
+                if(block.Last) {
+                    put(client, dbfsPath, overwrite, block);
+                    return;
+                }
 
-        FileInputStream fileInputStreamReader = new FileInputStream(file);
-        try {
-            byte[] fileBytes = new byte[(int)file.length()];
-            fileInputStreamReader.read(fileBytes);
-
-            //encode bytes to Base64
-            Base64.Encoder encoder = Base64.getEncoder();
-            byte[] fileBase64Bytes = encoder.encode(fileBytes);
-
-            long bytesLeftToSend = fileBase64Bytes.length;
-
-            if(bytesLeftToSend < MAX_BLOCK_SIZE) {
-                PutRequestDTO putRequestDTO = new PutRequestDTO();
-                putRequestDTO.Path = dbfsPath;
-                putRequestDTO.Contents = ResourceUtils.encodeToBase64(file);
-                putRequestDTO.Overwrite = overwrite;
-                client.put(putRequestDTO);
-            } else {
-                //open handler to DBFS
-                CreateRequestDTO createRequestDTO = new CreateRequestDTO();
-                createRequestDTO.Path = dbfsPath;
-                createRequestDTO.Overwrite = overwrite;
-                long dbfsHandle = client.create(createRequestDTO);
-
-                //reset the reader to begin reading from the start again
-                fileInputStreamReader = new FileInputStream(file);
-
-                while(bytesLeftToSend > 0) {
-                    int numBytesToSend = (int) bytesLeftToSend > MAX_BLOCK_SIZE ? MAX_BLOCK_SIZE : (int) bytesLeftToSend;
-                    byte[] bytesToSend = new byte[(int)numBytesToSend];
-
-                    //read the next batch of bytes that fits into the byte array
-                    fileInputStreamReader.read(bytesToSend);
-
-                    //TODO add retry logic; inside or outside the client?
-
-                    //add block to DBFS
-                    AddBlockRequestDTO addBlockRequestDTO = new AddBlockRequestDTO();
-                    addBlockRequestDTO.Handle = dbfsHandle;
-                    addBlockRequestDTO.Data = encoder.encodeToString(bytesToSend);
-                    client.addBlock(addBlockRequestDTO);
-
-                    bytesLeftToSend = bytesLeftToSend - numBytesToSend;
+                long dbfsHandle = create(client, dbfsPath, overwrite || created);
+                created = true;
+                addBlocks(client, dbfsHandle, block, blocks);
+                close(client, dbfsHandle);
+                return;
+            } catch(HttpServerSideException | ProcessingException e) {
+                if(!created || !retryPolicy.tryRetry(retry)) {
+                    throw e;
                 }
-                //close handler to DBFS
-                CloseRequestDTO closeRequestDTO = new CloseRequestDTO();
-                closeRequestDTO.Handle = dbfsHandle;
-                client.close(closeRequestDTO);
+                sleep(retryPolicy.getBackoffMillis(retry));
             }
-        } catch (Throwable e) {
-          throw e;
-        } finally {
-            fileInputStreamReader.close();
         }
+    }
+
+    public static void putFile(DbfsClient client,
+                               Path path,
+                               String dbfsPath,
+                               boolean overwrite) throws IOException, HttpException {
+        putFile(client, path.toFile(), dbfsPath, overwrite);
+    }
+
+    /**
+     * Uploads a file unless the DBFS file already has its content, as vouched for by the manifest an earlier call
+     * wrote next to it (see UploadManifest); returns whether the file was uploaded. An unchanged file costs a
+     * get-status and a read of the manifest, sent while the local file is hashed, and no upload.
+     *
+     * A DBFS file written by other means (without a manifest, or modified since) is only replaced with overwrite.
+     */
+    public static boolean putFileIfChanged(DbfsClient client,
+                                           File file,
+                                           String dbfsPath,
+                                           boolean overwrite) throws IOException, HttpException {
+        CompletableFuture<UploadManifest> manifestRequest = UploadManifest.readAsync(client, dbfsPath);
+        String md5;
+        try {
+            md5 = ResourceUtils.getMD5(file);
+        } catch(IOException | RuntimeException e) {
+            manifestRequest.cancel(true);
+            throw e;
+        }
+        UploadManifest manifest = UploadManifest.await(manifestRequest);
+        if(manifest.matches(file.length(), md5)) {
+            return false;
+        }
+
+        putFile(client, file, dbfsPath, overwrite || manifest.isCurrent());
+        UploadManifest.write(client, dbfsPath, md5);
+        return true;
+    }
+
+    /**
+     * Uploads the remaining content of a stream with memory independent of its length; the stream is not closed.
+     * Unlike putFile, a failed upload is not restarted since the stream cannot be read again.
+     */
+    public static void putStream(DbfsClient client,
+                                 InputStream in,
+                                 String dbfsPath,
+                                 boolean overwrite) throws IOException, HttpException {
+        upload(client, dbfsPath, overwrite, in::read);
+    }
+
+    /**
+     * Uploads the remaining content of a blocking channel with memory independent of its length;
+     * the channel is not closed
+     */
+    public static void putChannel(DbfsClient client,
+                                  ReadableByteChannel channel,
+                                  String dbfsPath,
+                                  boolean overwrite) throws IOException, HttpException {
+        upload(client, dbfsPath, overwrite, (buffer, offset, length) ->
+                channel.read(ByteBuffer.wrap(buffer, offset, length)));
+    }
+
+    private static void upload(DbfsClient client,
+                               String dbfsPath,
+                               boolean overwrite,
+                               UploadBlocks.Source source) throws IOException, HttpException {
+        try (UploadBlocks blocks = UploadBlocks.open(client.Session, source)) {
+            UploadBlocks.Block block = blocks.next();
+            if(block.Last) {
+                //the whole content fits into a single put
+                put(client, dbfsPath, overwrite, block);
+                return;
+            }
+
+            long dbfsHandle = create(client, dbfsPath, overwrite);
+            addBlocks(client, dbfsHandle, block, blocks);
+            close(client, dbfsHandle);
+        }
+    }
+
+    private static void put(DbfsClient client,
+                            String dbfsPath,
+                            boolean overwrite,
+                            UploadBlocks.Block block) throws HttpException {
+        PutRequestDTO putRequestDTO = new PutRequestDTO();
+        putRequestDTO.Path = dbfsPath;
+        putRequestDTO.Contents = block.Data;
+        putRequestDTO.Overwrite = overwrite;
+        client.put(putRequestDTO);
+    }
+
+    private static long create(DbfsClient client, String dbfsPath, boolean overwrite) throws HttpException {
+        CreateRequestDTO createRequestDTO = new CreateRequestDTO();
+        createRequestDTO.Path = dbfsPath;
+        createRequestDTO.Overwrite = overwrite;
+        return client.create(createRequestDTO);
+    }
 
+    private static void close(DbfsClient client, long dbfsHandle) throws HttpException {
+        CloseRequestDTO closeRequestDTO = new CloseRequestDTO();
+        closeRequestDTO.Handle = dbfsHandle;
+        client.close(closeRequestDTO);
     }
 
+    /**
+     * Sends the first block, then the following ones as they are read.
+     *
+     * add-block has no offset, a handle appends blocks in the order they arrive; blocks are therefore sent one at
+     * a time and only reading and encoding runs ahead (see UploadBlocks).
+     */
+    private static void addBlocks(DbfsClient client,
+                                  long dbfsHandle,
+                                  UploadBlocks.Block first,
+                                  UploadBlocks blocks) throws IOException, HttpException {
+        UploadBlocks.Block block = first;
+        while(block != null) {
+            AddBlockRequestDTO addBlockRequestDTO = new AddBlockRequestDTO();
+            addBlockRequestDTO.Handle = dbfsHandle;
+            addBlockRequestDTO.Data = block.Data;
+            client.addBlock(addBlockRequestDTO);
+
+            block = blocks.next();
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry transfer");
+        }
+    }
+
+    /**
+     * Reads a whole file into memory; for small files (download writes files of any size to a stream or a path)
+     */
     public static byte[] getObject(DbfsClient client, String dbfsPath) throws IOException, HttpException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        download(client, dbfsPath, outputStream);
+        return outputStream.toByteArray();
+    }
 
-        try {
-            FileInfoDTO statusResponseDTO = client.getStatus(dbfsPath);
-            long bytesLeftToRead = statusResponseDTO.FileSize;
+    /**
+     * Writes the content of a file to a stream with the session's download concurrency of dbfs/read requests in
+     * flight and memory independent of the file size; the stream is not closed. Returns the number of bytes written.
+     * A transient failure resumes the download where it stopped, as per the session's RetryPolicy.
+     */
+    public static long download(DbfsClient client, String dbfsPath, OutputStream out) throws IOException, HttpException {
+        RangedDownload download = new RangedDownload(client, dbfsPath);
+        return resume(client, download, () -> download.writeTo(out::write));
+    }
+
+    /**
+     * Writes the content of a file to a blocking channel, which is not closed; returns the number of bytes written
+     */
+    public static long download(DbfsClient client,
+                                String dbfsPath,
+                                WritableByteChannel channel) throws IOException, HttpException {
+        RangedDownload download = new RangedDownload(client, dbfsPath);
+        return resume(client, download, () -> download.writeTo((buffer, offset, length) -> {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, offset, length);
+            while(byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        }));
+    }
 
-            long offset = 0;
+    /**
+     * Writes the content of a file to a local file, creating or replacing it; returns the number of bytes written.
+     * Ranges are written in place as soon as they are read, whatever the order the requests complete in.
+     */
+    public static long download(DbfsClient client, String dbfsPath, Path path) throws IOException, HttpException {
+        return download(client, dbfsPath, path, false);
+    }
 
-            while(bytesLeftToRead > 0) {
-                ReadResponseDTO readResponseDTO = client.read(dbfsPath, offset, MAX_BLOCK_SIZE);
-                long numBytesRead = readResponseDTO.BytesRead;
+    /**
+     * Writes the content of a file to a local file; returns the file size.
+     *
+     * With resume, progress is saved to a checkpoint file next to the local file (see DownloadCheckpoint) until the
+     * download completes, and a download of the same, unmodified DBFS file that was interrupted, in this process or
+     * an earlier one, continues from its last checkpoint. Otherwise the local file is replaced.
+     */
+    public static long download(DbfsClient client,
+                                String dbfsPath,
+                                Path path,
+                                boolean resume) throws IOException, HttpException {
+        FileInfoDTO status = client.getStatus(dbfsPath);
+        long offset = resume ? DownloadCheckpoint.getSavedOffset(path, dbfsPath, status) : 0;
+        RangedDownload download = new RangedDownload(client, dbfsPath, status.FileSize);
+        download.setOffset(offset);
 
-                Base64.Decoder decoder = Base64.getDecoder();
-                byte[] decodedBytes = decoder.decode(readResponseDTO.data);
-                outputStream.write(decodedBytes);
-                bytesLeftToRead = bytesLeftToRead - numBytesRead;
-                offset = offset + numBytesRead;
+        try (FileChannel channel = offset > 0 ?
+                FileChannel.open(path, StandardOpenOption.WRITE) :
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            if(!resume) {
+                return resume(client, download, () -> download.writeTo(channel, null));
             }
-            return outputStream.toByteArray();
-        } catch(Throwable e) {
-            throw e;
-        } finally {
-            outputStream.close();
+
+            DownloadCheckpoint checkpoint = DownloadCheckpoint.create(path, channel, dbfsPath, status, offset);
+            boolean completed = false;
+            try {
+                resume(client, download, () -> download.writeTo(channel, checkpoint));
+                //the local file may have been longer than the DBFS file before it was resumed
+                channel.truncate(status.FileSize);
+                completed = true;
+            } finally {
+                if(completed) {
+                    checkpoint.delete();
+                } else {
+                    checkpoint.save(download.getOffset());
+                }
+            }
+            return status.FileSize;
         }
     }
 
+    private interface DownloadAttempt {
+        long run() throws IOException, HttpException;
+    }
+
+    /**
+     * Runs a download, resuming it where it stopped after a transient failure as per the session's RetryPolicy.
+     * The reads that failed were already retried on their own, so the download only resumes after an outage longer
+     * than the retries of a single request; the retry count starts over whenever an attempt made progress.
+     */
+    private static long resume(DbfsClient client,
+                               RangedDownload download,
+                               DownloadAttempt attempt) throws IOException, HttpException {
+        RetryPolicy retryPolicy = client.Session.getRetryPolicy();
+        int retry = 0;
+        while(true) {
+            long offset = download.getOffset();
+            try {
+                return attempt.run();
+            } catch(HttpException | ProcessingException e) {
+                if(download.getOffset() > offset) {
+                    retry = 0;
+                }
+                if(!isTransient(e) || !retryPolicy.tryRetry(++retry)) {
+                    throw e;
+                }
+                sleep(retryPolicy.getBackoffMillis(retry));
+            }
+        }
+    }
 
+    private static boolean isTransient(Exception e) {
+        if(e instanceof HttpServerSideException) {
+            return true;
+        }
+        return RetryPolicy.isRetryableFailure(e instanceof HttpException ? e.getCause() : e);
+    }
 }
@@ -0,0 +1,102 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a DBFS file sequentially through a DbfsReadChannel, so the buffers following the one being read are
+ * requested ahead of time. Reads are served from the channel's current buffer, which is only asked for the next one
+ * once it is consumed. skip moves the position without reading what is skipped.
+ */
+public class DbfsInputStream extends InputStream {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final DbfsReadChannel _channel;
+    //bytes of the channel's current buffer not read yet; the channel is positioned after them
+    private ByteBuffer _buffer = EMPTY;
+
+    /**
+     * Stream with the session's stream buffer size and read-ahead
+     */
+    public DbfsInputStream(DbfsClient client, String dbfsPath) {
+        this(new DbfsReadChannel(client, dbfsPath));
+    }
+
+    /**
+     * @param bufferSize bytes requested per dbfs/read; at most 1 MB
+     * @param readAhead number of buffers read ahead of the one being consumed; 0 reads on demand
+     */
+    public DbfsInputStream(DbfsClient client, String dbfsPath, int bufferSize, int readAhead) {
+        this(new DbfsReadChannel(client, dbfsPath, bufferSize, readAhead));
+    }
+
+    private DbfsInputStream(DbfsReadChannel channel) {
+        _channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!_buffer.hasRemaining() && !nextBuffer()) {
+            return -1;
+        }
+        return _buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if(len == 0) {
+            return 0;
+        }
+        if(!_buffer.hasRemaining() && !nextBuffer()) {
+            return -1;
+        }
+        int length = Math.min(len, _buffer.remaining());
+        _buffer.get(b, off, length);
+        return length;
+    }
+
+    private boolean nextBuffer() throws IOException {
+        ByteBuffer buffer = _channel.readBuffer();
+        if(buffer == null) {
+            return false;
+        }
+        _buffer = buffer;
+        return true;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if(n <= 0) {
+            return 0;
+        }
+        if(n <= _buffer.remaining()) {
+            _buffer.position(_buffer.position() + (int) n);
+            return n;
+        }
+        long position = _channel.position() - _buffer.remaining();
+        long skipped = Math.min(n, Math.max(0, _channel.size() - position));
+        _channel.position(position + skipped);
+        _buffer = EMPTY;
+        return skipped;
+    }
+
+    /**
+     * Bytes that can be read without waiting for a request
+     */
+    @Override
+    public int available() {
+        return _buffer.hasRemaining() ? _buffer.remaining() : _channel.getBuffered();
+    }
+
+    @Override
+    public void close() {
+        _buffer = EMPTY;
+        _channel.close();
+    }
+}
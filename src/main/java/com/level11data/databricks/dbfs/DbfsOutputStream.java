@@ -0,0 +1,160 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.entities.dbfs.AddBlockRequestDTO;
+import com.level11data.databricks.client.entities.dbfs.CloseRequestDTO;
+import com.level11data.databricks.client.entities.dbfs.CreateRequestDTO;
+import com.level11data.databricks.client.entities.dbfs.PutRequestDTO;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Writes a DBFS file, buffering the bytes written into blocks of the session's upload block size, each sent with
+ * a dbfs/add-block. A block is sent while the next one is being filled, one block in flight at a time, since a
+ * handle appends blocks in the order they arrive.
+ *
+ * The file is created with the first full block; content shorter than a block is written with a single dbfs/put
+ * when the stream is closed. Either way, DBFS only shows the content once the stream is closed, and a failed
+ * stream leaves the blocks sent so far (add-block is not idempotent, so blocks are not resent).
+ */
+public class DbfsOutputStream extends OutputStream {
+    private final DbfsClient _client;
+    private final String _dbfsPath;
+    private final boolean _overwrite;
+    private final byte[] _block;
+    private int _filled;
+    private Long _handle;
+    private CompletableFuture<Void> _sending;
+    private boolean _closed;
+
+    public DbfsOutputStream(DbfsClient client, String dbfsPath, boolean overwrite) {
+        _client = client;
+        _dbfsPath = dbfsPath;
+        _overwrite = overwrite;
+        _block = new byte[client.Session.getDbfsUploadBlockSize()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        _block[_filled++] = (byte) b;
+        if(_filled == _block.length) {
+            sendBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if(off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureOpen();
+        while(len > 0) {
+            int length = Math.min(len, _block.length - _filled);
+            System.arraycopy(b, off, _block, _filled, length);
+            _filled += length;
+            off += length;
+            len -= length;
+            if(_filled == _block.length) {
+                sendBlock();
+            }
+        }
+    }
+
+    /**
+     * Does nothing: blocks are only sent full, and DBFS does not show the content before the stream is closed anyway
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+    }
+
+    /**
+     * Sends the last block and closes the handle, or puts the whole content when it is shorter than a block
+     */
+    @Override
+    public void close() throws IOException {
+        if(_closed) {
+            return;
+        }
+        _closed = true;
+        try {
+            if(_handle == null) {
+                PutRequestDTO putRequestDTO = new PutRequestDTO();
+                putRequestDTO.Path = _dbfsPath;
+                putRequestDTO.Contents = encode();
+                putRequestDTO.Overwrite = _overwrite;
+                _client.put(putRequestDTO);
+                return;
+            }
+            if(_filled > 0) {
+                sendBlock();
+            }
+            awaitSending();
+            CloseRequestDTO closeRequestDTO = new CloseRequestDTO();
+            closeRequestDTO.Handle = _handle;
+            _client.close(closeRequestDTO);
+        } catch(HttpException e) {
+            throw new IOException("Could not write " + _dbfsPath, e);
+        }
+    }
+
+    /**
+     * Encodes the block, which can then be filled again, and sends it once the previous one has been added
+     */
+    private void sendBlock() throws IOException {
+        AddBlockRequestDTO addBlockRequestDTO = new AddBlockRequestDTO();
+        addBlockRequestDTO.Data = encode();
+        _filled = 0;
+        try {
+            if(_handle == null) {
+                CreateRequestDTO createRequestDTO = new CreateRequestDTO();
+                createRequestDTO.Path = _dbfsPath;
+                createRequestDTO.Overwrite = _overwrite;
+                _handle = _client.create(createRequestDTO);
+            }
+        } catch(HttpException e) {
+            _closed = true;
+            throw new IOException("Could not create " + _dbfsPath, e);
+        }
+        awaitSending();
+        addBlockRequestDTO.Handle = _handle;
+        _sending = _client.addBlockAsync(addBlockRequestDTO);
+    }
+
+    private void awaitSending() throws IOException {
+        if(_sending == null) {
+            return;
+        }
+        try {
+            _sending.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            _closed = true;
+            throw new InterruptedIOException("Interrupted while writing " + _dbfsPath);
+        } catch(ExecutionException e) {
+            _closed = true;
+            throw new IOException("Could not write " + _dbfsPath, e.getCause());
+        } finally {
+            _sending = null;
+        }
+    }
+
+    private String encode() {
+        byte[] block = _filled == _block.length ? _block : Arrays.copyOf(_block, _filled);
+        return Base64.getEncoder().encodeToString(block);
+    }
+
+    private void ensureOpen() throws IOException {
+        if(_closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Read-only channel over a DBFS file, reading it one buffer (dbfs/read request) at a time.
+ *
+ * While the caller consumes a buffer, the following readAhead buffers are already being read, so reading a file
+ * sequentially waits on a request only when the caller consumes faster than the requests complete. Moving the
+ * position forward keeps the buffers read ahead from the one holding it on; moving it anywhere else drops them, and
+ * reading from there starts a new sequence.
+ *
+ * The size of the file is read on the first read, or call to size(), and is not refreshed afterwards.
+ */
+public class DbfsReadChannel implements SeekableByteChannel {
+
+    private static class Range {
+        final long Offset;
+        final ByteBuffer Buffer;
+        final CompletableFuture<Integer> BytesRead;
+
+        Range(long offset, ByteBuffer buffer, CompletableFuture<Integer> bytesRead) {
+            Offset = offset;
+            Buffer = buffer;
+            BytesRead = bytesRead;
+        }
+    }
+
+    private final DbfsClient _client;
+    private final String _dbfsPath;
+    private final int _bufferSize;
+    private final int _readAhead;
+    private final Deque<Range> _readingAhead = new ArrayDeque<>();
+    private final Deque<ByteBuffer> _buffers = new ArrayDeque<>();
+    private long _size = -1;
+    private long _position;
+    //the buffer being consumed, flipped, holding the file from _currentOffset on
+    private ByteBuffer _current;
+    private long _currentOffset;
+    private boolean _open = true;
+
+    /**
+     * Channel with the session's stream buffer size and read-ahead
+     */
+    public DbfsReadChannel(DbfsClient client, String dbfsPath) {
+        this(client, dbfsPath, client.Session.getDbfsStreamBufferSize(), client.Session.getDbfsStreamReadAhead());
+    }
+
+    /**
+     * @param bufferSize bytes requested per dbfs/read; at most 1 MB
+     * @param readAhead number of buffers read ahead of the one being consumed; 0 reads on demand
+     */
+    public DbfsReadChannel(DbfsClient client, String dbfsPath, int bufferSize, int readAhead) {
+        if(bufferSize <= 0 || bufferSize > RangedDownload.RANGE_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be between 1 and " + RangedDownload.RANGE_SIZE);
+        }
+        if(readAhead < 0) {
+            throw new IllegalArgumentException("Read-ahead cannot be negative");
+        }
+        _client = client;
+        _dbfsPath = dbfsPath;
+        _bufferSize = bufferSize;
+        _readAhead = readAhead;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if(!dst.hasRemaining()) {
+            return 0;
+        }
+        if(_position >= size()) {
+            return -1;
+        }
+        if(getBuffered() == 0) {
+            fill();
+        }
+        ByteBuffer current = _current.duplicate();
+        current.position((int) (_position - _currentOffset));
+        if(current.remaining() > dst.remaining()) {
+            current.limit(current.position() + dst.remaining());
+        }
+        int length = current.remaining();
+        dst.put(current);
+        _position += length;
+        return length;
+    }
+
+    /**
+     * The bytes from the position to the end of the buffer holding it, moving the position past them, or null at the
+     * end of the file; for DbfsInputStream, which reads them without a call per read. The buffer is only valid until
+     * the next read of the channel.
+     */
+    synchronized ByteBuffer readBuffer() throws IOException {
+        ensureOpen();
+        if(_position >= size()) {
+            return null;
+        }
+        if(getBuffered() == 0) {
+            fill();
+        }
+        ByteBuffer current = _current.asReadOnlyBuffer();
+        current.position((int) (_position - _currentOffset));
+        _position += current.remaining();
+        return current;
+    }
+
+    /**
+     * Bytes at the position that can be read without waiting for a request
+     */
+    synchronized int getBuffered() {
+        if(_current == null || _position < _currentOffset || _position >= _currentOffset + _current.limit()) {
+            return 0;
+        }
+        return (int) (_currentOffset + _current.limit() - _position);
+    }
+
+    /**
+     * Makes the buffer holding the position current, reading it unless it was read ahead, and reads ahead the
+     * buffers following it
+     */
+    private void fill() throws IOException {
+        if(_current != null) {
+            _buffers.push(_current);
+            _current = null;
+        }
+        //the ranges before the position are skipped, all of them when it is before the first one
+        while(!_readingAhead.isEmpty() && !contains(_readingAhead.peek(), _position)) {
+            //the buffer of a cancelled request may still be written to, so it is not reused
+            _readingAhead.poll().BytesRead.cancel(true);
+        }
+        Range range = _readingAhead.isEmpty() ? read(_position) : _readingAhead.poll();
+        readAhead(range.Offset + range.Buffer.limit());
+
+        await(range);
+        range.Buffer.flip();
+        _current = range.Buffer;
+        _currentOffset = range.Offset;
+    }
+
+    private static boolean contains(Range range, long position) {
+        return position >= range.Offset && position < range.Offset + range.Buffer.limit();
+    }
+
+    private void readAhead(long offset) {
+        Range last = _readingAhead.peekLast();
+        long nextOffset = last == null ? offset : last.Offset + last.Buffer.limit();
+        while(_readingAhead.size() < _readAhead && nextOffset < _size) {
+            Range range = read(nextOffset);
+            _readingAhead.add(range);
+            nextOffset += range.Buffer.limit();
+        }
+    }
+
+    private Range read(long offset) {
+        ByteBuffer buffer = _buffers.isEmpty() ? ByteBuffer.allocate(_bufferSize) : _buffers.pop();
+        buffer.clear();
+        buffer.limit((int) Math.min(_bufferSize, _size - offset));
+        return new Range(offset, buffer, _client.readAsync(_dbfsPath, offset, buffer.limit(), buffer));
+    }
+
+    private void await(Range range) throws IOException {
+        int bytesRead;
+        try {
+            bytesRead = range.BytesRead.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading " + _dbfsPath);
+        } catch(ExecutionException e) {
+            throw new IOException("Could not read " + _dbfsPath + " at " + range.Offset, e.getCause());
+        }
+        if(bytesRead == 0) {
+            throw new EOFException(_dbfsPath + " ended at " + range.Offset + " instead of " + _size);
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return _position;
+    }
+
+    /**
+     * Moves the position; the next read waits for a request unless the position is in the current buffer or one
+     * read ahead
+     */
+    @Override
+    public synchronized DbfsReadChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if(newPosition < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+        _position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        ensureOpen();
+        if(_size < 0) {
+            try {
+                _size = _client.getStatus(_dbfsPath).FileSize;
+            } catch(HttpException e) {
+                throw new IOException("Could not get the status of " + _dbfsPath, e);
+            }
+        }
+        return _size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return _open;
+    }
+
+    /**
+     * Closes the channel, cancelling the reads ahead in flight
+     */
+    @Override
+    public synchronized void close() {
+        _open = false;
+        for(Range range : _readingAhead) {
+            range.BytesRead.cancel(true);
+        }
+        _readingAhead.clear();
+        _buffers.clear();
+        _current = null;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if(!_open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.HttpNotFoundException;
+import com.level11data.databricks.client.entities.dbfs.DbfsDeleteRequestDTO;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Synchronizes a local directory tree and a DBFS directory tree in either direction, rsync style: both trees are
+ * listed and only the files missing or different on the destination are transferred, with up to the session's
+ * sync concurrency of files in flight. Optionally, files of the destination missing from the source are deleted.
+ *
+ * A file is unchanged when it has the same size and, uploading, the local file was not modified after the DBFS file
+ * was written or, downloading, the local file has the modification time of the DBFS file (downloads set it), as far
+ * as the local file system records it: file systems keeping whole or even seconds only truncate the time set.
+ * With checksum, uploads go through DbfsHelper.putFileIfChanged, so that files whose modification time changed but
+ * not their content (i.e. after a fresh checkout) are not uploaded again.
+ *
+ * A file failing to be transferred or deleted does not stop the others; its failure is reported in the result.
+ *
+ * The source directory must exist, so that a mistyped source never deletes the destination; a missing destination is
+ * created.
+ */
+public class DbfsSync {
+    //milliseconds of an odd second, to tell the modification time resolution of a file system by what it keeps
+    private static final long RESOLUTION_PROBE_TIME = 1500000001999L;
+
+    private final DbfsClient _client;
+    private final int _concurrency;
+    private boolean _delete = false;
+    private boolean _checksum = false;
+
+    public DbfsSync(DbfsClient client) {
+        _client = client;
+        _concurrency = client.Session.getDbfsSyncConcurrency();
+    }
+
+    /**
+     * Deletes the files of the destination that are not in the source
+     */
+    public DbfsSync withDelete(boolean delete) {
+        _delete = delete;
+        return this;
+    }
+
+    /**
+     * Compares the MD5 of local files with the one recorded when they were uploaded before uploading them again
+     */
+    public DbfsSync withChecksum(boolean checksum) {
+        _checksum = checksum;
+        return this;
+    }
+
+    /**
+     * Makes a DBFS directory a copy of a local directory
+     */
+    public DbfsSyncResult upload(Path localDirectory, String dbfsDirectory) throws IOException, HttpException {
+        Map<String, Path> localFiles = listLocal(localDirectory, true);
+        Set<String> manifestPaths = new HashSet<>();
+        Map<String, DbfsFileInfo> dbfsFiles = listDbfs(dbfsDirectory, manifestPaths, false);
+        String root = trimTrailingSlash(dbfsDirectory);
+
+        Progress progress = new Progress();
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        for(Map.Entry<String, Path> entry : localFiles.entrySet()) {
+            File file = entry.getValue().toFile();
+            DbfsFileInfo dbfsFile = dbfsFiles.get(entry.getKey());
+            if(dbfsFile != null && dbfsFile.FileSize == file.length()
+                    && file.lastModified() <= dbfsFile.ModificationTime) {
+                progress.FilesSkipped.incrementAndGet();
+                continue;
+            }
+            String dbfsPath = root + "/" + entry.getKey();
+            tasks.put(entry.getKey(), () -> {
+                if(_checksum) {
+                    if(!DbfsHelper.putFileIfChanged(_client, file, dbfsPath, true)) {
+                        progress.FilesSkipped.incrementAndGet();
+                        return;
+                    }
+                } else {
+                    DbfsHelper.putFile(_client, file, dbfsPath, true);
+                }
+                progress.transferred(file.length());
+            });
+        }
+        if(_delete) {
+            for(Map.Entry<String, DbfsFileInfo> entry : dbfsFiles.entrySet()) {
+                if(!localFiles.containsKey(entry.getKey())) {
+                    String dbfsPath = entry.getValue().Path;
+                    String manifestPath = UploadManifest.getManifestPath(dbfsPath);
+                    tasks.put(entry.getKey(), () -> {
+                        delete(dbfsPath);
+                        //written when the file was uploaded with checksum
+                        if(manifestPaths.contains(manifestPath)) {
+                            delete(manifestPath);
+                        }
+                        progress.FilesDeleted.incrementAndGet();
+                    });
+                }
+            }
+        }
+        return progress.getResult(run(tasks));
+    }
+
+    /**
+     * Makes a local directory a copy of a DBFS directory
+     */
+    public DbfsSyncResult download(String dbfsDirectory, Path localDirectory) throws IOException, HttpException {
+        Map<String, DbfsFileInfo> dbfsFiles = listDbfs(dbfsDirectory, new HashSet<>(), true);
+        Map<String, Path> localFiles = listLocal(localDirectory, false);
+        long resolutionMillis = localFiles.isEmpty() ? 1 : getModificationTimeResolutionMillis(localDirectory);
+
+        Progress progress = new Progress();
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        for(Map.Entry<String, DbfsFileInfo> entry : dbfsFiles.entrySet()) {
+            DbfsFileInfo dbfsFile = entry.getValue();
+            Path path = localDirectory.resolve(entry.getKey());
+            if(localFiles.containsKey(entry.getKey()) && Files.size(path) == dbfsFile.FileSize
+                    && Math.abs(Files.getLastModifiedTime(path).toMillis() - dbfsFile.ModificationTime)
+                    < resolutionMillis) {
+                progress.FilesSkipped.incrementAndGet();
+                continue;
+            }
+            tasks.put(entry.getKey(), () -> {
+                Files.createDirectories(path.getParent());
+                long written = DbfsHelper.download(_client, dbfsFile.Path, path);
+                //the next sync compares it
+                Files.setLastModifiedTime(path, FileTime.fromMillis(dbfsFile.ModificationTime));
+                progress.transferred(written);
+            });
+        }
+        if(_delete) {
+            for(Map.Entry<String, Path> entry : localFiles.entrySet()) {
+                if(!dbfsFiles.containsKey(entry.getKey())) {
+                    Path path = entry.getValue();
+                    tasks.put(entry.getKey(), () -> {
+                        Files.delete(path);
+                        progress.FilesDeleted.incrementAndGet();
+                    });
+                }
+            }
+        }
+        return progress.getResult(run(tasks));
+    }
+
+    private static class Progress {
+        final AtomicLong FilesTransferred = new AtomicLong();
+        final AtomicLong BytesTransferred = new AtomicLong();
+        final AtomicLong FilesSkipped = new AtomicLong();
+        final AtomicLong FilesDeleted = new AtomicLong();
+
+        void transferred(long bytes) {
+            FilesTransferred.incrementAndGet();
+            BytesTransferred.addAndGet(bytes);
+        }
+
+        DbfsSyncResult getResult(Map<String, Exception> failed) {
+            return new DbfsSyncResult(FilesTransferred.get(), BytesTransferred.get(), FilesSkipped.get(),
+                    FilesDeleted.get(), failed);
+        }
+    }
+
+    /**
+     * Milliseconds to which the file system of a local directory truncates modification times: 1, or 1000 or 2000
+     * for file systems keeping whole or even seconds (i.e. ext3, HFS+, FAT and many network mounts)
+     */
+    private static long getModificationTimeResolutionMillis(Path directory) throws IOException {
+        Path probe = Files.createTempFile(directory, ".dbfs-sync", ".tmp");
+        try {
+            Files.setLastModifiedTime(probe, FileTime.fromMillis(RESOLUTION_PROBE_TIME));
+            long kept = Files.getLastModifiedTime(probe).toMillis();
+            if(kept == RESOLUTION_PROBE_TIME) {
+                return 1;
+            }
+            return kept % 2000 == 0 ? 2000 : 1000;
+        } finally {
+            Files.delete(probe);
+        }
+    }
+
+    private void delete(String dbfsPath) throws HttpException {
+        DbfsDeleteRequestDTO dbfsDeleteRequestDTO = new DbfsDeleteRequestDTO();
+        dbfsDeleteRequestDTO.Path = dbfsPath;
+        dbfsDeleteRequestDTO.Recursive = false;
+        _client.delete(dbfsDeleteRequestDTO);
+    }
+
+    /**
+     * Regular files under a local directory by path relative to it, with / as separator; none if it does not exist,
+     * unless required
+     */
+    private static Map<String, Path> listLocal(Path directory, boolean required) throws IOException {
+        Map<String, Path> files = new HashMap<>();
+        if(!Files.isDirectory(directory)) {
+            if(required) {
+                throw new NoSuchFileException(directory.toString(), null, "Source directory does not exist");
+            }
+            return files;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile).forEach(path ->
+                    files.put(directory.relativize(path).toString().replace(File.separatorChar, '/'), path));
+        }
+        return files;
+    }
+
+    /**
+     * Files under a DBFS directory by path relative to it, except upload manifests, whose paths are added to
+     * manifestPaths; none if it does not exist, unless required
+     */
+    private Map<String, DbfsFileInfo> listDbfs(String directory, Set<String> manifestPaths, boolean required)
+            throws HttpException {
+        Map<String, DbfsFileInfo> files = new HashMap<>();
+        //listed paths have no scheme
+        String root = trimTrailingSlash(directory.startsWith("dbfs:") ? directory.substring(5) : directory);
+        try (DbfsWalker walker = new DbfsWalker(_client, directory).withFilter(fileInfo -> !fileInfo.IsDir)) {
+            walker.forEachRemaining(fileInfo -> {
+                if(fileInfo.Path.endsWith(UploadManifest.SUFFIX)) {
+                    manifestPaths.add(fileInfo.Path);
+                } else {
+                    files.put(fileInfo.Path.substring(root.length() + 1), fileInfo);
+                }
+            });
+        } catch(UncheckedIOException e) {
+            Throwable cause = e.getCause().getCause();
+            if(cause instanceof HttpNotFoundException && !required) {
+                return files;
+            } else if(cause instanceof HttpException) {
+                throw (HttpException) cause;
+            }
+            throw e;
+        }
+        return files;
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private interface Task {
+        void run() throws IOException, HttpException;
+    }
+
+    /**
+     * Runs the tasks on up to the sync concurrency of threads, and returns the failures by path in the order of the
+     * tasks
+     */
+    private Map<String, Exception> run(Map<String, Task> tasks) throws IOException {
+        Map<String, Exception> failed = new LinkedHashMap<>();
+        if(tasks.isEmpty()) {
+            return failed;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(_concurrency, tasks.size()),
+                _client.Session.getExecutors().newThreadFactory("databricks-dbfs-sync-"));
+        try {
+            Map<String, Future<Void>> futures = new LinkedHashMap<>();
+            for(Map.Entry<String, Task> task : tasks.entrySet()) {
+                futures.put(task.getKey(), executor.submit(() -> {
+                    task.getValue().run();
+                    return null;
+                }));
+            }
+            for(Map.Entry<String, Future<Void>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch(ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    failed.put(future.getKey(), cause instanceof Exception ? (Exception) cause : e);
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while synchronizing");
+        } finally {
+            executor.shutdownNow();
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.level11data.databricks.dbfs;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a DbfsSync
+ */
+public class DbfsSyncResult {
+    public final long FilesTransferred;
+    public final long BytesTransferred;
+    public final long FilesSkipped;
+    public final long FilesDeleted;
+    /**
+     * Failure of every file that could not be transferred or deleted, by path relative to the synchronized directory
+     */
+    public final Map<String, Exception> Failed;
+
+    DbfsSyncResult(long filesTransferred, long bytesTransferred, long filesSkipped, long filesDeleted,
+                   Map<String, Exception> failed) {
+        FilesTransferred = filesTransferred;
+        BytesTransferred = bytesTransferred;
+        FilesSkipped = filesSkipped;
+        FilesDeleted = filesDeleted;
+        Failed = Collections.unmodifiableMap(failed);
+    }
+
+    public boolean isSuccess() {
+        return Failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return FilesTransferred + " files (" + BytesTransferred + " bytes) transferred, " + FilesSkipped
+                + " skipped, " + FilesDeleted + " deleted, " + Failed.size() + " failed";
+    }
+}
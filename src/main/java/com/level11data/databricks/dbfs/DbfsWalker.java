@@ -0,0 +1,218 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpNotFoundException;
+import com.level11data.databricks.client.entities.dbfs.DbfsListResponseDTO;
+import com.level11data.databricks.client.entities.dbfs.FileInfoDTO;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks a DBFS directory tree, listing up to the session's list concurrency of directories at once, and yields the
+ * files and directories under it as the listings arrive, in no particular order.
+ *
+ * The walk is lazy: directories are only listed while fewer than MAX_BUFFERED entries wait to be consumed, so a
+ * caller that stops early (and closes the walker) does not list the rest of the tree. Every listing adds the
+ * subdirectories it finds to the directories left to list, which any request slot then takes, so a few wide
+ * subtrees keep all slots busy.
+ *
+ * Filters are applied during the walk: withDirectoryFilter and the literal leading segments of a glob prune the
+ * directories that are listed, not only the entries returned. Listing failures are thrown as UncheckedIOException.
+ */
+public class DbfsWalker implements Iterator<DbfsFileInfo>, AutoCloseable {
+    static final int MAX_BUFFERED = 10000;
+
+    private final DbfsClient _client;
+    private final String _root;
+    private final String _relativeRoot;
+    private final int _concurrency;
+    private Predicate<DbfsFileInfo> _filter = fileInfo -> true;
+    private Predicate<DbfsFileInfo> _directoryFilter = fileInfo -> true;
+
+    //guarded by this
+    private final Deque<String> _directories = new ArrayDeque<>();
+    private final Deque<DbfsFileInfo> _buffered = new ArrayDeque<>();
+    private final List<CompletableFuture<DbfsListResponseDTO>> _inFlight = new ArrayList<>();
+    private boolean _started = false;
+    private boolean _closed = false;
+    private Throwable _failure;
+
+    public DbfsWalker(DbfsClient client, String root) {
+        _client = client;
+        _root = root.length() > 1 && root.endsWith("/") && !root.endsWith(":/")
+                ? root.substring(0, root.length() - 1) : root;
+        //listed paths have no scheme
+        String path = _root.startsWith("dbfs:") ? _root.substring(5) : _root;
+        _relativeRoot = path.endsWith("/") ? path : path + "/";
+        _concurrency = client.Session.getDbfsListConcurrency();
+    }
+
+    /**
+     * Only returns the entries accepted by the filter; the walk still descends into every directory
+     */
+    public DbfsWalker withFilter(Predicate<DbfsFileInfo> filter) {
+        _filter = _filter.and(filter);
+        return this;
+    }
+
+    /**
+     * Only lists the directories accepted by the filter, skipping whole subtrees
+     */
+    public DbfsWalker withDirectoryFilter(Predicate<DbfsFileInfo> directoryFilter) {
+        _directoryFilter = _directoryFilter.and(directoryFilter);
+        return this;
+    }
+
+    /**
+     * Only returns the entries whose path relative to the root matches the glob (i.e. "2018/**&#47;*.csv"); the
+     * walk does not descend into directories the glob cannot match under
+     */
+    public DbfsWalker withGlob(String glob) {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        String[] segments = glob.split("/");
+        int literalSegments = 0;
+        while(literalSegments < segments.length - 1 && !hasGlobCharacters(segments[literalSegments])) {
+            literalSegments++;
+        }
+        int prefixLength = literalSegments;
+        boolean anyDepth = glob.contains("**");
+
+        withFilter(fileInfo -> matcher.matches(Paths.get(relativize(fileInfo.Path))));
+        return withDirectoryFilter(fileInfo -> {
+            String[] directory = relativize(fileInfo.Path).split("/");
+            for(int i = 0; i < Math.min(directory.length, prefixLength); i++) {
+                if(!directory[i].equals(segments[i])) {
+                    return false;
+                }
+            }
+            //without **, the glob matches nothing deeper than its own segments
+            return anyDepth || directory.length < segments.length;
+        });
+    }
+
+    private static boolean hasGlobCharacters(String segment) {
+        return segment.matches(".*[*?\\[\\]{}\\\\].*");
+    }
+
+    private String relativize(String path) {
+        return path.startsWith(_relativeRoot) ? path.substring(_relativeRoot.length()) : path;
+    }
+
+    /**
+     * The walk as a stream; closing the stream closes the walker
+     */
+    public Stream<DbfsFileInfo> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.DISTINCT | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if(!_started) {
+            _started = true;
+            _directories.push(_root);
+            listDirectories();
+        }
+        while(true) {
+            if(_failure != null) {
+                Throwable failure = _failure;
+                close();
+                throw new UncheckedIOException(new IOException("Could not list " + _root, failure));
+            }
+            if(!_buffered.isEmpty()) {
+                return true;
+            }
+            if(_closed || (_inFlight.isEmpty() && _directories.isEmpty())) {
+                return false;
+            }
+            try {
+                wait();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while listing"));
+            }
+        }
+    }
+
+    @Override
+    public synchronized DbfsFileInfo next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DbfsFileInfo next = _buffered.poll();
+        listDirectories();
+        return next;
+    }
+
+    /**
+     * Stops the walk, cancelling the listings in flight
+     */
+    @Override
+    public synchronized void close() {
+        _closed = true;
+        for(CompletableFuture<DbfsListResponseDTO> request : new ArrayList<>(_inFlight)) {
+            request.cancel(true);
+        }
+        _inFlight.clear();
+        _directories.clear();
+        _buffered.clear();
+        notifyAll();
+    }
+
+    private synchronized void listDirectories() {
+        while(!_closed && _failure == null && _inFlight.size() < _concurrency && !_directories.isEmpty()
+                && _buffered.size() < MAX_BUFFERED) {
+            String directory = _directories.pop();
+            CompletableFuture<DbfsListResponseDTO> request = _client.listAsync(directory);
+            _inFlight.add(request);
+            request.whenComplete((listing, e) -> listed(directory, request, listing, e));
+        }
+    }
+
+    private synchronized void listed(String directory,
+                                     CompletableFuture<DbfsListResponseDTO> request,
+                                     DbfsListResponseDTO listing,
+                                     Throwable e) {
+        if(!_inFlight.remove(request) || _closed) {
+            return;
+        }
+        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+        if(cause instanceof HttpNotFoundException && !directory.equals(_root)) {
+            //deleted since its parent was listed
+        } else if(cause != null) {
+            _failure = cause;
+        } else if(listing.Files != null) {
+            for(FileInfoDTO fileInfoDTO : listing.Files) {
+                DbfsFileInfo fileInfo = new DbfsFileInfo(fileInfoDTO);
+                if(fileInfo.IsDir && _directoryFilter.test(fileInfo)) {
+                    //depth first, which keeps the directories left to list few
+                    _directories.push(fileInfo.Path);
+                }
+                if(_filter.test(fileInfo)) {
+                    _buffered.add(fileInfo);
+                }
+            }
+        }
+        listDirectories();
+        notifyAll();
+    }
+}
@@ -0,0 +1,109 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.entities.dbfs.FileInfoDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Sidecar file of a local file being downloaded from DBFS, recording the DBFS file it is a copy of and the offset up
+ * to which it has been written, so that an interrupted download resumes there instead of starting over.
+ *
+ * The local file is forced to disk before every save, so the recorded offset never runs ahead of the data.
+ * Saves happen every CHECKPOINT_INTERVAL bytes, since forcing the file for every range would cost more than reading
+ * a few ranges again.
+ */
+class DownloadCheckpoint implements RangedDownload.Progress {
+    static final String SUFFIX = ".dbfs-checkpoint";
+    static final long CHECKPOINT_INTERVAL = 16L * 1024 * 1024;
+
+    private static final String DBFS_PATH = "dbfsPath";
+    private static final String FILE_SIZE = "fileSize";
+    private static final String MODIFICATION_TIME = "modificationTime";
+    private static final String OFFSET = "offset";
+
+    private final Path _checkpointPath;
+    private final FileChannel _channel;
+    private final Properties _properties = new Properties();
+    private long _savedOffset;
+
+    private DownloadCheckpoint(Path checkpointPath, FileChannel channel, String dbfsPath, FileInfoDTO status) {
+        _checkpointPath = checkpointPath;
+        _channel = channel;
+        _properties.setProperty(DBFS_PATH, dbfsPath);
+        _properties.setProperty(FILE_SIZE, Long.toString(status.FileSize));
+        _properties.setProperty(MODIFICATION_TIME, Long.toString(status.ModificationTime));
+    }
+
+    static Path getCheckpointPath(Path path) {
+        return path.resolveSibling(path.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Offset saved by an earlier download of the same DBFS file to this path, or 0 when there is none; a checkpoint
+     * of another file, or of the same file since modified, does not count
+     */
+    static long getSavedOffset(Path path, String dbfsPath, FileInfoDTO status) throws IOException {
+        Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(getCheckpointPath(path))) {
+            saved.load(in);
+        } catch(NoSuchFileException e) {
+            return 0;
+        }
+        if(!dbfsPath.equals(saved.getProperty(DBFS_PATH))
+                || !Long.toString(status.FileSize).equals(saved.getProperty(FILE_SIZE))
+                || !Long.toString(status.ModificationTime).equals(saved.getProperty(MODIFICATION_TIME))
+                || !Files.exists(path)) {
+            return 0;
+        }
+        try {
+            long offset = Long.parseLong(saved.getProperty(OFFSET));
+            return offset <= Math.min(status.FileSize, Files.size(path)) ? offset : 0;
+        } catch(NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static DownloadCheckpoint create(Path path,
+                                     FileChannel channel,
+                                     String dbfsPath,
+                                     FileInfoDTO status,
+                                     long offset) {
+        DownloadCheckpoint checkpoint = new DownloadCheckpoint(getCheckpointPath(path), channel, dbfsPath, status);
+        checkpoint._savedOffset = offset;
+        return checkpoint;
+    }
+
+    @Override
+    public void written(long offset) throws IOException {
+        if(offset - _savedOffset >= CHECKPOINT_INTERVAL) {
+            save(offset);
+        }
+    }
+
+    void save(long offset) throws IOException {
+        if(offset == _savedOffset && Files.exists(_checkpointPath)) {
+            return;
+        }
+        _channel.force(false);
+        _properties.setProperty(OFFSET, Long.toString(offset));
+        //written aside then moved over the previous checkpoint, so a crash cannot leave half a checkpoint
+        Path temp = _checkpointPath.resolveSibling(_checkpointPath.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            _properties.store(out, null);
+        }
+        Files.move(temp, _checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        _savedOffset = offset;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(_checkpointPath);
+    }
+}
@@ -0,0 +1,44 @@
+package com.level11data.databricks.dbfs;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Upload source reading a local file through memory-mapped regions: every block is copied straight from the page
+ * cache, without the read system call and the intermediate native buffer of FileInputStream.read.
+ *
+ * The file is mapped one region at a time, so files larger than 2 GB (the limit of one mapping) are supported and
+ * the address space in use stays bounded. Regions are unmapped once garbage collected.
+ */
+class MappedFileSource implements UploadBlocks.Source {
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel _channel;
+    private final long _size;
+    private long _regionEnd;
+    private MappedByteBuffer _region;
+
+    /**
+     * Reads the channel from its start up to its size when the source is created
+     */
+    MappedFileSource(FileChannel channel) throws IOException {
+        _channel = channel;
+        _size = channel.size();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if(_region == null || !_region.hasRemaining()) {
+            if(_regionEnd >= _size) {
+                return -1;
+            }
+            long regionSize = Math.min(REGION_SIZE, _size - _regionEnd);
+            _region = _channel.map(FileChannel.MapMode.READ_ONLY, _regionEnd, regionSize);
+            _regionEnd += regionSize;
+        }
+        int read = Math.min(length, _region.remaining());
+        _region.get(buffer, offset, read);
+        return read;
+    }
+}
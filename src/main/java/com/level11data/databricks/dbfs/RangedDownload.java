@@ -0,0 +1,244 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Downloads a file with several dbfs/read requests in flight. Every request decodes into a buffer of its own, taken
+ * from a pool of one buffer per request in flight, so memory is bounded by concurrency x 1 MB whatever the file size.
+ *
+ * Ranges are either written to a sink in file order, or written in place to a FileChannel as soon as they complete,
+ * in which case a slow request does not hold back the ones behind it.
+ *
+ * The download keeps the offset up to which the file has been written without gaps; after a failure, writeTo can be
+ * called again to resume there.
+ */
+class RangedDownload {
+    static final int RANGE_SIZE = DatabricksClientConfiguration.MAX_DBFS_READ_SIZE;
+
+    interface Sink {
+        void write(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    interface Progress {
+        /**
+         * Called whenever the offset up to which the file has been written moves forward
+         */
+        void written(long offset) throws IOException;
+    }
+
+    private static class Range {
+        final long Offset;
+        final int Length;
+        final ByteBuffer Buffer;
+        final CompletableFuture<Integer> BytesRead;
+
+        Range(long offset, int length, ByteBuffer buffer, CompletableFuture<Integer> bytesRead) {
+            Offset = offset;
+            Length = length;
+            Buffer = buffer;
+            BytesRead = bytesRead;
+        }
+    }
+
+    private final DbfsClient _client;
+    private final String _dbfsPath;
+    private final int _concurrency;
+    private final List<Range> _inFlight = new ArrayList<>();
+    private final Deque<ByteBuffer> _buffers = new ArrayDeque<>();
+    //ranges written past _offset, by start offset, when written in completion order
+    private final NavigableMap<Long, Long> _written = new TreeMap<>();
+    private long _size;
+    private long _offset;
+
+    /**
+     * Download of a whole file, whose size is read when writeTo is first called
+     */
+    RangedDownload(DbfsClient client, String dbfsPath) {
+        this(client, dbfsPath, -1);
+    }
+
+    RangedDownload(DbfsClient client, String dbfsPath, long size) {
+        _client = client;
+        _dbfsPath = dbfsPath;
+        _concurrency = client.Session.getDbfsDownloadConcurrency();
+        _size = size;
+    }
+
+    /**
+     * Offset up to which the file has been written without gaps, where writeTo starts
+     */
+    long getOffset() {
+        return _offset;
+    }
+
+    void setOffset(long offset) {
+        _offset = offset;
+    }
+
+    /**
+     * Writes the file from the current offset to the sink, in order; returns the offset reached, i.e. the file size
+     */
+    long writeTo(Sink sink) throws IOException, HttpException {
+        long size = getSize();
+        long nextOffset = _offset;
+        try {
+            while(_offset < size) {
+                while(_inFlight.size() < _concurrency && nextOffset < size) {
+                    int length = (int) Math.min(RANGE_SIZE, size - nextOffset);
+                    _inFlight.add(read(nextOffset, length, takeBuffer(size, false), null));
+                    nextOffset += length;
+                }
+
+                Range range = _inFlight.remove(0);
+                int bytesRead = await(range, size);
+                sink.write(range.Buffer.array(), 0, bytesRead);
+                _offset += bytesRead;
+                completed(range, bytesRead, null);
+            }
+            return _offset;
+        } finally {
+            cancel();
+        }
+    }
+
+    /**
+     * Writes the file from the current offset to a channel opened for writing, every range at its offset as soon as
+     * it is read; returns the offset reached, i.e. the file size. Ranges are decoded into direct buffers, which the
+     * channel writes without copying them first.
+     *
+     * @param progress notified as the offset moves forward; may be null
+     */
+    long writeTo(FileChannel channel, Progress progress) throws IOException, HttpException {
+        long size = getSize();
+        BlockingQueue<Range> completed = new LinkedBlockingQueue<>();
+        long nextOffset = _offset;
+        //ranges written after the offset by a failed attempt are read again
+        _written.clear();
+        try {
+            while(_offset < size) {
+                while(_inFlight.size() < _concurrency && nextOffset < size) {
+                    int length = (int) Math.min(RANGE_SIZE, size - nextOffset);
+                    _inFlight.add(read(nextOffset, length, takeBuffer(size, true), completed));
+                    nextOffset += length;
+                }
+
+                Range range;
+                try {
+                    range = completed.take();
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while downloading");
+                }
+                _inFlight.remove(range);
+                int bytesRead = await(range, size);
+                range.Buffer.flip();
+                while(range.Buffer.hasRemaining()) {
+                    channel.write(range.Buffer, range.Offset + range.Buffer.position());
+                }
+                long offset = _offset;
+                advance(range.Offset, range.Offset + bytesRead);
+                completed(range, bytesRead, completed);
+                if(progress != null && _offset > offset) {
+                    progress.written(_offset);
+                }
+            }
+            return _offset;
+        } finally {
+            cancel();
+        }
+    }
+
+    private long getSize() throws HttpException {
+        if(_size < 0) {
+            _size = _client.getStatus(_dbfsPath).FileSize;
+        }
+        return _size;
+    }
+
+    /**
+     * Records a written range and moves the offset past the ranges now written without gaps
+     */
+    private void advance(long start, long end) {
+        _written.put(start, end);
+        Long next;
+        while((next = _written.remove(_offset)) != null) {
+            _offset = next;
+        }
+    }
+
+    private Range read(long offset, int length, ByteBuffer buffer, BlockingQueue<Range> completed) {
+        buffer.clear();
+        Range range = new Range(offset, length, buffer, _client.readAsync(_dbfsPath, offset, length, buffer));
+        if(completed != null) {
+            range.BytesRead.whenComplete((bytesRead, e) -> completed.add(range));
+        }
+        return range;
+    }
+
+    /**
+     * Recycles the buffer of a written range, or reads the rest of the range after a short read
+     */
+    private void completed(Range range, int bytesRead, BlockingQueue<Range> completed) {
+        if(bytesRead < range.Length) {
+            //in order, the rest of the range goes before the ranges already in flight
+            _inFlight.add(0, read(range.Offset + bytesRead, range.Length - bytesRead, range.Buffer, completed));
+        } else {
+            _buffers.push(range.Buffer);
+        }
+    }
+
+    private ByteBuffer takeBuffer(long size, boolean direct) {
+        if(!_buffers.isEmpty()) {
+            return _buffers.pop();
+        }
+        int capacity = (int) Math.min(RANGE_SIZE, size);
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private void cancel() {
+        for(Range range : _inFlight) {
+            range.BytesRead.cancel(true);
+        }
+        _inFlight.clear();
+    }
+
+    private int await(Range range, long size) throws IOException, HttpException {
+        int bytesRead;
+        try {
+            bytesRead = range.BytesRead.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while downloading");
+        } catch(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof HttpException) {
+                throw (HttpException) cause;
+            } else if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HttpException(cause);
+        }
+        if(bytesRead == 0) {
+            throw new EOFException(_dbfsPath + " ended at " + range.Offset + " instead of " + size);
+        }
+        return bytesRead;
+    }
+}
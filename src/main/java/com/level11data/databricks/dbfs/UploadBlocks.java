@@ -0,0 +1,195 @@
+package com.level11data.databricks.dbfs;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.level11data.databricks.client.DatabricksSession;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The base64 encoded blocks of an upload, in order. Blocks are either read from the source when requested or,
+ * with read-ahead, by a separate thread while the previous blocks are being sent.
+ */
+abstract class UploadBlocks implements Closeable {
+
+    /**
+     * InputStream.read-like view of an upload source
+     */
+    interface Source {
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    static final class Block {
+        final String Data;
+        final boolean Last;
+
+        Block(String data, boolean last) {
+            Data = data;
+            Last = last;
+        }
+    }
+
+    /**
+     * Blocks of the source as per the session's upload block size and read-ahead
+     */
+    static UploadBlocks open(DatabricksSession session, Source source) {
+        Encoder encoder = new Encoder(source, session.getDbfsUploadBlockSize());
+        if(session.getDbfsUploadReadAhead() == 0) {
+            return new OnDemand(encoder);
+        }
+        return new ReadAhead(encoder, session.getDbfsUploadReadAhead(),
+                session.getExecutors().newThreadFactory("databricks-dbfs-upload-"));
+    }
+
+    /**
+     * Returns the next block, or null after the last one; the first block is returned even when the source is empty
+     */
+    abstract Block next() throws IOException;
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Reads and encodes one block at a time into buffers reused for every block
+     */
+    private static class Encoder {
+        private final Source _source;
+        private final Base64.Encoder _encoder = Base64.getEncoder();
+        private final byte[] _block;
+        private final byte[] _encoded;
+        private boolean _first = true;
+        private boolean _finished;
+
+        Encoder(Source source, int blockSize) {
+            _source = source;
+            _block = new byte[blockSize];
+            _encoded = new byte[4 * ((blockSize + 2) / 3)];
+        }
+
+        Block next() throws IOException {
+            if(_finished) {
+                return null;
+            }
+            int length = readBlock();
+            boolean first = _first;
+            _first = false;
+            //only the last block is short; a source ending on a block boundary is only detected by the next read
+            _finished = length < _block.length;
+            if(length == 0 && !first) {
+                return null;
+            }
+            return new Block(encode(length), _finished);
+        }
+
+        private int readBlock() throws IOException {
+            int filled = 0;
+            while(filled < _block.length) {
+                int read = _source.read(_block, filled, _block.length - filled);
+                if(read < 0) {
+                    break;
+                }
+                filled += read;
+            }
+            return filled;
+        }
+
+        private String encode(int length) {
+            byte[] block = length == _block.length ? _block : Arrays.copyOf(_block, length);
+            int encodedLength = _encoder.encode(block, _encoded);
+            return new String(_encoded, 0, encodedLength, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static class OnDemand extends UploadBlocks {
+        private final Encoder _encoder;
+
+        OnDemand(Encoder encoder) {
+            _encoder = encoder;
+        }
+
+        @Override
+        Block next() throws IOException {
+            return _encoder.next();
+        }
+    }
+
+    /**
+     * Reads and encodes up to depth blocks ahead of the caller on a separate thread, so reading the source overlaps
+     * with the requests sending the previous blocks
+     */
+    private static class ReadAhead extends UploadBlocks {
+        private static final Object END = new Object();
+
+        //blocks, END, or the Throwable the reader failed with
+        private final BlockingQueue<Object> _queue;
+        private final Thread _reader;
+        private volatile boolean _closed;
+        private boolean _ended;
+
+        ReadAhead(Encoder encoder, int depth, ThreadFactory threadFactory) {
+            _queue = new ArrayBlockingQueue<>(depth);
+            _reader = threadFactory.newThread(() -> {
+                while(!_closed) {
+                    Object item;
+                    try {
+                        Block block = encoder.next();
+                        item = block == null ? END : block;
+                    } catch(Throwable e) {
+                        item = e;
+                    }
+                    Uninterruptibles.putUninterruptibly(_queue, item);
+                    if(!(item instanceof Block) || ((Block) item).Last) {
+                        break;
+                    }
+                }
+            });
+            _reader.start();
+        }
+
+        @Override
+        Block next() throws IOException {
+            if(_ended) {
+                return null;
+            }
+            Object item;
+            try {
+                item = _queue.take();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the next block to upload");
+            }
+            if(item instanceof Block) {
+                _ended = ((Block) item).Last;
+                return (Block) item;
+            }
+            _ended = true;
+            if(item == END) {
+                return null;
+            }
+            Throwable failure = (Throwable) item;
+            Throwables.throwIfInstanceOf(failure, IOException.class);
+            Throwables.throwIfUnchecked(failure);
+            throw new IOException(failure);
+        }
+
+        /**
+         * Stops reading ahead; returns once the reader no longer uses the source, so the source can be closed
+         */
+        @Override
+        public void close() {
+            _closed = true;
+            //unblocks the reader if it waits for room in the queue; it then sees it is closed
+            _queue.clear();
+            Uninterruptibles.joinUninterruptibly(_reader);
+        }
+    }
+}
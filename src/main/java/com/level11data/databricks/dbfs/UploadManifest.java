@@ -0,0 +1,132 @@
+package com.level11data.databricks.dbfs;
+
+import com.level11data.databricks.client.DbfsClient;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.HttpNotFoundException;
+import com.level11data.databricks.client.entities.dbfs.FileInfoDTO;
+import com.level11data.databricks.client.entities.dbfs.PutRequestDTO;
+import com.level11data.databricks.client.entities.dbfs.ReadResponseDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Small DBFS file written next to a file uploaded by DbfsHelper.putFileIfChanged, recording the MD5 and size of
+ * the content uploaded and the modification time DBFS gave the file. When the file still has that size and
+ * modification time, it has not been written since, and its MD5 is the recorded one.
+ */
+class UploadManifest {
+    static final String SUFFIX = ".upload-manifest";
+
+    private static final String MD5 = "md5";
+    private static final String SIZE = "size";
+    private static final String MODIFICATION_TIME = "modificationTime";
+
+    //status of the uploaded file and the manifest, or null when missing
+    private final FileInfoDTO _status;
+    private final Properties _recorded;
+
+    private UploadManifest(FileInfoDTO status, Properties recorded) {
+        _status = status;
+        _recorded = recorded;
+    }
+
+    static String getManifestPath(String dbfsPath) {
+        return dbfsPath + SUFFIX;
+    }
+
+    /**
+     * Reads the status of a DBFS file and its manifest, both requests in flight at once
+     */
+    static CompletableFuture<UploadManifest> readAsync(DbfsClient client, String dbfsPath) {
+        CompletableFuture<FileInfoDTO> status = orNullIfNotFound(client.getStatusAsync(dbfsPath));
+        CompletableFuture<ReadResponseDTO> manifest =
+                orNullIfNotFound(client.readAsync(getManifestPath(dbfsPath), 0, RangedDownload.RANGE_SIZE));
+        return status.thenCombine(manifest, (fileInfo, read) -> {
+            if(read == null || read.data == null) {
+                return new UploadManifest(fileInfo, null);
+            }
+            Properties recorded = new Properties();
+            try {
+                recorded.load(new ByteArrayInputStream(Base64.getDecoder().decode(read.data)));
+            } catch(IOException | IllegalArgumentException e) {
+                //an unreadable manifest does not vouch for anything
+                return new UploadManifest(fileInfo, null);
+            }
+            return new UploadManifest(fileInfo, recorded);
+        });
+    }
+
+    static UploadManifest await(CompletableFuture<UploadManifest> request) throws HttpException {
+        try {
+            return request.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException(e);
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof HttpException) {
+                throw (HttpException) e.getCause();
+            }
+            throw new HttpException(e.getCause());
+        }
+    }
+
+    private static <T> CompletableFuture<T> orNullIfNotFound(CompletableFuture<T> request) {
+        return request.handle((value, e) -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if(cause == null) {
+                return value;
+            } else if(cause instanceof HttpNotFoundException) {
+                return null;
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Whether the manifest vouches for the DBFS file, i.e. the file was uploaded with a manifest and not written since
+     */
+    boolean isCurrent() {
+        return _status != null && _recorded != null
+                && Long.toString(_status.FileSize).equals(_recorded.getProperty(SIZE))
+                && Long.toString(_status.ModificationTime).equals(_recorded.getProperty(MODIFICATION_TIME));
+    }
+
+    /**
+     * Whether the DBFS file already has the content of a local file of this size and MD5
+     */
+    boolean matches(long size, String md5) {
+        return isCurrent() && _status.FileSize == size && md5.equals(_recorded.getProperty(MD5));
+    }
+
+    /**
+     * Records the content just uploaded to a DBFS file, along with the modification time DBFS gave it
+     */
+    static void write(DbfsClient client, String dbfsPath, String md5) throws HttpException {
+        FileInfoDTO status = client.getStatus(dbfsPath);
+        Properties recorded = new Properties();
+        recorded.setProperty(MD5, md5);
+        recorded.setProperty(SIZE, Long.toString(status.FileSize));
+        recorded.setProperty(MODIFICATION_TIME, Long.toString(status.ModificationTime));
+        StringWriter writer = new StringWriter();
+        try {
+            recorded.store(writer, null);
+        } catch(IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        PutRequestDTO putRequestDTO = new PutRequestDTO();
+        putRequestDTO.Path = getManifestPath(dbfsPath);
+        putRequestDTO.Contents = Base64.getEncoder().encodeToString(
+                writer.toString().getBytes(StandardCharsets.ISO_8859_1));
+        putRequestDTO.Overwrite = true;
+        client.put(putRequestDTO);
+    }
+}
@@ -2,6 +2,7 @@ package com.level11data.databricks.job.run;
 
 import com.level11data.databricks.client.HttpException;
 import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.SnapshotCache;
 import com.level11data.databricks.client.entities.jobs.RunDTO;
 import com.level11data.databricks.client.entities.libraries.LibraryDTO;
 import com.level11data.databricks.job.TriggerType;
@@ -9,6 +10,7 @@ import com.level11data.databricks.library.AbstractLibrary;
 import com.level11data.databricks.library.LibraryConfigException;
 import com.level11data.databricks.library.util.LibraryHelper;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 abstract public class AbstractJobRun implements JobRun {
     private String _sparkContextId;
@@ -57,6 +59,14 @@ abstract public class AbstractJobRun implements JobRun {
 
     }
 
+    public long getRunId() {
+        return RunId;
+    }
+
+    public long getJobId() {
+        return JobId;
+    }
+
     public RunState getRunState() throws JobRunException {
         try{
             if(_runState == null) {
@@ -74,6 +84,19 @@ abstract public class AbstractJobRun implements JobRun {
         }
     }
 
+    /**
+     * Reads the state and durations of the run from one response, which may be up to maxAge old;
+     * a maxAge of 0 always makes a client request
+     */
+    public RunSnapshot snapshot(long maxAge, TimeUnit unit) throws JobRunException {
+        try {
+            SnapshotCache.Entry<RunDTO> entry = _client.getRunSnapshot(this.RunId, maxAge, unit);
+            return new RunSnapshot(entry.Value, entry.FetchedAtMillis, entry.getAge(TimeUnit.NANOSECONDS));
+        } catch(HttpException e) {
+            throw new JobRunException(e);
+        }
+    }
+
     public String getSparkContextId() throws JobRunException {
         if(_sparkContextId == null) {
             try{
@@ -0,0 +1,36 @@
+package com.level11data.databricks.job.run;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A RunRequest submitted through a JobBatch, and the futures of its submission and termination
+ */
+public class BatchRun {
+    public final RunRequest Request;
+    final CompletableFuture<Long> RunId = new CompletableFuture<>();
+    final CompletableFuture<RunState> Termination = new CompletableFuture<>();
+
+    BatchRun(RunRequest request) {
+        Request = request;
+    }
+
+    /**
+     * Completes with the id of the run once jobs/run-now returned it; fails with a JobRunException if the run could
+     * not be submitted, or a CancellationException if the batch was cancelled first
+     */
+    public CompletableFuture<Long> getRunId() {
+        return RunId.thenApply(runId -> runId);
+    }
+
+    /**
+     * Completes with the final state of the run; fails as getRunId does, or if the run could not be followed
+     */
+    public CompletableFuture<RunState> getTermination() {
+        return Termination.thenApply(state -> state);
+    }
+
+    void fail(Throwable e) {
+        RunId.completeExceptionally(e);
+        Termination.completeExceptionally(e);
+    }
+}
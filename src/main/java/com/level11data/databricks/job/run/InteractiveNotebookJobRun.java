@@ -12,8 +12,15 @@ import java.util.Map;
 public class InteractiveNotebookJobRun extends AbstractInteractiveJobRun implements NotebookJobRun {
     private JobsClient _client;
     private String _jobRunOutputResult;
+    private Notebook _notebook;
 
+    /**
+     * @deprecated use getNotebook(); this view of the notebook reads it from the workspace on first use, and is not
+     * the ScalaNotebook getNotebook() returns
+     */
+    @Deprecated
     public final Notebook Notebook;
+    public final String NotebookPath;
     public final Map<String,String> BaseParameters;
     public final Map<String,String> OverridingParameters;
 
@@ -24,11 +31,8 @@ public class InteractiveNotebookJobRun extends AbstractInteractiveJobRun impleme
             throw new JobRunException("Job Run is not configured as a AbstractNotebook Job");
         }
 
-        try {
-            Notebook = _client.Session.getNotebook(runDTO.Task.NotebookTask.NotebookPath);
-        } catch(WorkspaceConfigException e) {
-            throw new JobRunException(e);
-        }
+        NotebookPath = runDTO.Task.NotebookTask.NotebookPath;
+        Notebook = new LazyNotebook(NotebookPath, this::getNotebook);
 
         //Set Base Parameters of Run
         BaseParameters = this.getBaseParametersAsMap();
@@ -37,6 +41,20 @@ public class InteractiveNotebookJobRun extends AbstractInteractiveJobRun impleme
         OverridingParameters = this.getOverridingParametersAsMap();
     }
 
+    /**
+     * The notebook of the run, read from the workspace on first use
+     */
+    public Notebook getNotebook() throws JobRunException {
+        if(_notebook == null) {
+            try {
+                _notebook = _client.Session.getNotebook(NotebookPath);
+            } catch(WorkspaceConfigException e) {
+                throw new JobRunException(e);
+            }
+        }
+        return _notebook;
+    }
+
     public String getOutput() throws JobRunException {
         if(_jobRunOutputResult != null) {
             return _jobRunOutputResult;
@@ -0,0 +1,260 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import com.level11data.databricks.client.entities.jobs.RunsDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Submits runs of existing jobs with up to the session's submit concurrency of jobs/run-now requests in flight,
+ * without waiting on any of them; see DatabricksSession.submitAll.
+ *
+ * A job runs at most its MaxConcurrentRuns at once, the API skipping runs submitted past that. Runs of a job are
+ * therefore only submitted while fewer of its runs are active: the active runs of a job are listed before its first
+ * submission, and every active or submitted run holds one of the job's MaxConcurrentRuns until the session's
+ * RunMonitor sees it terminate. Requests go through the session's rate limiter of jobs requests, and carry an
+ * idempotency token so that they are retried on transient failures without starting a run twice.
+ */
+public class JobBatch {
+    //jobs/create default
+    static final int DEFAULT_MAX_CONCURRENT_RUNS = 1;
+
+    private static class JobSlots {
+        final long JobId;
+        final Deque<BatchRun> Queued = new ArrayDeque<>();
+        boolean Resolving = false;
+        boolean Resolved = false;
+        //MaxConcurrentRuns less the runs active; negative while more runs are active than the job now allows
+        int Free;
+
+        JobSlots(long jobId) {
+            JobId = jobId;
+        }
+    }
+
+    private final JobsClient _client;
+    private final RunMonitor _monitor;
+    private final int _concurrency;
+
+    //guarded by this
+    private final Map<Long, JobSlots> _jobs = new LinkedHashMap<>();
+    private final List<BatchRun> _runs = new ArrayList<>();
+    private int _inFlight = 0;
+    private int _queued = 0;
+    private int _submitted = 0;
+    private int _terminated = 0;
+    private int _failed = 0;
+    private boolean _cancelled = false;
+
+    public JobBatch(JobsClient client) {
+        this(client, client.Session.getJobsSubmitConcurrency());
+    }
+
+    public JobBatch(JobsClient client, int concurrency) {
+        if(concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        _client = client;
+        _monitor = client.Session.getRunMonitor();
+        _concurrency = concurrency;
+    }
+
+    /**
+     * Queues the runs for submission and returns them in the order of the requests
+     */
+    public synchronized List<BatchRun> submitAll(Collection<RunRequest> requests) {
+        if(_cancelled) {
+            throw new IllegalStateException("Job batch is cancelled");
+        }
+        List<BatchRun> runs = new ArrayList<>();
+        for(RunRequest request : requests) {
+            BatchRun run = new BatchRun(request);
+            runs.add(run);
+            _runs.add(run);
+            _queued++;
+            JobSlots slots = _jobs.computeIfAbsent(request.JobId, JobSlots::new);
+            slots.Queued.add(run);
+            if(!slots.Resolving && !slots.Resolved) {
+                resolve(slots, request.MaxConcurrentRuns);
+            }
+        }
+        dispatch();
+        return Collections.unmodifiableList(runs);
+    }
+
+    public synchronized List<BatchRun> getRuns() {
+        return Collections.unmodifiableList(new ArrayList<>(_runs));
+    }
+
+    public synchronized JobBatchProgress getProgress() {
+        return new JobBatchProgress(_runs.size(), _queued, _submitted, _terminated, _failed);
+    }
+
+    /**
+     * Completes once every run queued so far is submitted or failed to be
+     */
+    public CompletableFuture<Void> awaitSubmission() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for(BatchRun run : getRuns()) {
+            futures.add(run.RunId.handle((runId, e) -> null));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Completes once every run queued so far is terminated or failed to be submitted
+     */
+    public CompletableFuture<Void> awaitTermination() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for(BatchRun run : getRuns()) {
+            futures.add(run.Termination.handle((state, e) -> null));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Stops submitting runs; the runs still queued fail with a CancellationException, the runs submitted are not
+     * cancelled
+     */
+    public synchronized void cancel() {
+        _cancelled = true;
+        for(JobSlots slots : _jobs.values()) {
+            while(!slots.Queued.isEmpty()) {
+                _queued--;
+                _failed++;
+                slots.Queued.poll().fail(new CancellationException("Job batch is cancelled"));
+            }
+        }
+    }
+
+    /**
+     * Gets the MaxConcurrentRuns of the job unless known, and holds one of them for every active run of the job
+     */
+    private void resolve(JobSlots slots, Integer maxConcurrentRuns) {
+        slots.Resolving = true;
+        CompletableFuture<Integer> max = maxConcurrentRuns != null
+                ? CompletableFuture.completedFuture(maxConcurrentRuns)
+                : _client.getJobAsync(slots.JobId).thenApply(jobDTO -> jobDTO.Settings.MaxConcurrentRuns == null
+                        ? DEFAULT_MAX_CONCURRENT_RUNS : jobDTO.Settings.MaxConcurrentRuns);
+        //MaxConcurrentRuns cannot exceed a page
+        CompletableFuture<RunsDTO> active = _client.listRunsAsync(slots.JobId, true, false, 0,
+                RunHistory.MAX_PAGE_SIZE);
+        max.thenCombine(active, (maxRuns, activeRuns) -> {
+            resolved(slots, maxRuns, activeRuns);
+            return null;
+        }).whenComplete((result, e) -> {
+            if(e != null) {
+                resolveFailed(slots, e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+    }
+
+    private synchronized void resolved(JobSlots slots, int maxConcurrentRuns, RunsDTO activeRuns) {
+        slots.Resolving = false;
+        slots.Resolved = true;
+        slots.Free = maxConcurrentRuns;
+        if(activeRuns.Runs != null) {
+            for(RunDTO runDTO : activeRuns.Runs) {
+                slots.Free--;
+                awaitTermination(runDTO.RunId).whenComplete((state, e) -> released(slots));
+            }
+        }
+        dispatch();
+    }
+
+    private synchronized void resolveFailed(JobSlots slots, Throwable cause) {
+        slots.Resolving = false;
+        while(!slots.Queued.isEmpty()) {
+            _queued--;
+            _failed++;
+            slots.Queued.poll().fail(new JobRunException("Could not get the active runs of job " + slots.JobId,
+                    cause));
+        }
+    }
+
+    private synchronized void dispatch() {
+        for(JobSlots slots : _jobs.values()) {
+            while(_inFlight < _concurrency && slots.Resolved && slots.Free > 0 && !slots.Queued.isEmpty()) {
+                submit(slots, slots.Queued.poll());
+            }
+            if(_inFlight >= _concurrency) {
+                return;
+            }
+        }
+    }
+
+    private void submit(JobSlots slots, BatchRun run) {
+        _inFlight++;
+        slots.Free--;
+        _client.runJobNowAsync(run.Request.createRunNowRequest()).whenComplete((response, e) -> {
+            if(e == null) {
+                submitted(slots, run, response.RunId);
+            } else {
+                submitFailed(slots, run, e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+    }
+
+    private synchronized void submitted(JobSlots slots, BatchRun run, long runId) {
+        _inFlight--;
+        _queued--;
+        _submitted++;
+        run.RunId.complete(runId);
+        awaitTermination(runId).whenComplete((state, e) -> {
+            terminated(run, state, e);
+            released(slots);
+        });
+        dispatch();
+    }
+
+    private synchronized void submitFailed(JobSlots slots, BatchRun run, Throwable cause) {
+        _inFlight--;
+        _queued--;
+        _failed++;
+        slots.Free++;
+        run.fail(new JobRunException("Could not submit a run of job " + slots.JobId, cause));
+        dispatch();
+    }
+
+    /**
+     * The termination of the run from the session's RunMonitor, failed once the session is closed
+     */
+    private CompletableFuture<RunState> awaitTermination(long runId) {
+        try {
+            return _monitor.awaitTermination(runId);
+        } catch(IllegalStateException e) {
+            CompletableFuture<RunState> termination = new CompletableFuture<>();
+            termination.completeExceptionally(new JobRunException("Could not await the termination of run " + runId,
+                    e));
+            return termination;
+        }
+    }
+
+    private synchronized void terminated(BatchRun run, RunState state, Throwable e) {
+        if(e == null) {
+            _terminated++;
+            run.Termination.complete(state);
+        } else {
+            //no longer counted as submitted, so that the counts still add up to the total
+            _submitted--;
+            _failed++;
+            run.Termination.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+        }
+    }
+
+    private synchronized void released(JobSlots slots) {
+        slots.Free++;
+        dispatch();
+    }
+}
@@ -0,0 +1,30 @@
+package com.level11data.databricks.job.run;
+
+/**
+ * Counts of the runs of a JobBatch at one point in time; Queued, Submitted and Failed add up to Total
+ */
+public class JobBatchProgress {
+    public final int Total;
+    //not submitted yet, including the submissions in flight
+    public final int Queued;
+    //submitted, less those whose termination could not be awaited
+    public final int Submitted;
+    //submitted and in a final state
+    public final int Terminated;
+    //could not be submitted, cancelled before they were, or whose termination could not be awaited
+    public final int Failed;
+
+    JobBatchProgress(int total, int queued, int submitted, int terminated, int failed) {
+        Total = total;
+        Queued = queued;
+        Submitted = submitted;
+        Terminated = terminated;
+        Failed = failed;
+    }
+
+    @Override
+    public String toString() {
+        return Total + " runs: " + Queued + " queued, " + Submitted + " submitted (" + Terminated + " terminated), "
+                + Failed + " failed";
+    }
+}
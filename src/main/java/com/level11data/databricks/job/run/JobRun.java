@@ -3,10 +3,18 @@ package com.level11data.databricks.job.run;
 import com.level11data.databricks.client.HttpException;
 import com.level11data.databricks.cluster.Cluster;
 
+import java.util.concurrent.TimeUnit;
+
 public interface JobRun {
 
+    long getRunId();
+
+    long getJobId();
+
     RunState getRunState() throws JobRunException;
 
+    RunSnapshot snapshot(long maxAge, TimeUnit unit) throws JobRunException;
+
     String getSparkContextId() throws JobRunException;
 
     Long getSetupDuration() throws JobRunException;
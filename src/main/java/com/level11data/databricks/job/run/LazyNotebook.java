@@ -0,0 +1,77 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.command.Command;
+import com.level11data.databricks.workspace.Notebook;
+import com.level11data.databricks.workspace.WorkspaceConfigException;
+
+import java.io.File;
+
+/**
+ * Notebook of a notebook job run, read from the workspace only once a method needs more than its path; backs the
+ * deprecated Notebook field of the runs, so that listing runs does not read every notebook.
+ *
+ * getCommands() cannot throw a checked exception, so a notebook that cannot be read fails it with an
+ * IllegalStateException.
+ */
+class LazyNotebook implements Notebook {
+
+    interface Resolver {
+        Notebook resolve() throws JobRunException;
+    }
+
+    private final String _workspacePath;
+    private final Resolver _resolver;
+
+    LazyNotebook(String workspacePath, Resolver resolver) {
+        _workspacePath = workspacePath;
+        _resolver = resolver;
+    }
+
+    private Notebook resolve() throws WorkspaceConfigException {
+        try {
+            return _resolver.resolve();
+        } catch(JobRunException e) {
+            throw new WorkspaceConfigException(e);
+        }
+    }
+
+    @Override
+    public void delete() throws WorkspaceConfigException {
+        resolve().delete();
+    }
+
+    @Override
+    public String getName() {
+        int slash = _workspacePath.lastIndexOf('/');
+        return slash < 0 ? _workspacePath : _workspacePath.substring(slash + 1);
+    }
+
+    @Override
+    public Command[] getCommands() {
+        try {
+            return resolve().getCommands();
+        } catch(WorkspaceConfigException e) {
+            throw new IllegalStateException("Could not read notebook " + _workspacePath, e);
+        }
+    }
+
+    @Override
+    public String getWorkspacePath() {
+        return _workspacePath;
+    }
+
+    @Override
+    public File saveAsDbc(String pathname) throws WorkspaceConfigException {
+        return resolve().saveAsDbc(pathname);
+    }
+
+    @Override
+    public File saveAsHtml(String pathname) throws WorkspaceConfigException {
+        return resolve().saveAsHtml(pathname);
+    }
+
+    @Override
+    public File saveAsSource(String pathname) throws WorkspaceConfigException {
+        return resolve().saveAsSource(pathname);
+    }
+}
@@ -0,0 +1,49 @@
+package com.level11data.databricks.job.run;
+
+/**
+ * Change of a run tracked by the session's RunMonitor, published by a RunEventPublisher
+ */
+public class RunEvent {
+    public final RunEventType Type;
+    public final long RunId;
+    public final long JobId;
+    //null for the first state seen
+    public final RunState PreviousState;
+    public final RunState State;
+    //in milliseconds; 0 or null until the phase is over
+    public final Long SetupDuration;
+    public final Long ExecutionDuration;
+    public final Long CleanupDuration;
+    //the value the notebook exited with, for OUTPUT events; may be null
+    public final String Output;
+    //the error of the run, for OUTPUT events; null unless it failed
+    public final String Error;
+
+    RunEvent(RunEventType type,
+             long runId,
+             long jobId,
+             RunState previousState,
+             RunState state,
+             Long setupDuration,
+             Long executionDuration,
+             Long cleanupDuration,
+             String output,
+             String error) {
+        Type = type;
+        RunId = runId;
+        JobId = jobId;
+        PreviousState = previousState;
+        State = state;
+        SetupDuration = setupDuration;
+        ExecutionDuration = executionDuration;
+        CleanupDuration = cleanupDuration;
+        Output = output;
+        Error = error;
+    }
+
+    @Override
+    public String toString() {
+        return Type + " of run " + RunId + ": " + (PreviousState == null ? null : PreviousState.LifeCycleState) + " -> "
+                + State.LifeCycleState + (State.ResultState == null ? "" : " " + State.ResultState);
+    }
+}
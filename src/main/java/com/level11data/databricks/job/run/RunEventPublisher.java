@@ -0,0 +1,251 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import org.apache.log4j.Logger;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes a RunEvent for every transition of the runs tracked by the session's RunMonitor (see
+ * DatabricksSession.getRunEventPublisher), so that callers react to runs without polling them. When a notebook run
+ * terminates while there are subscribers, its output is read with jobs/runs/get-output and published as well.
+ *
+ * Every subscriber gets the events published after it subscribed, on the session's async executor, one at a time and
+ * no more than it requested. Events beyond its demand are buffered; a subscriber falling more than the session's
+ * event buffer size behind fails with an IllegalStateException rather than holding up the monitor. Closing the
+ * publisher (or the session) completes every subscriber.
+ */
+public class RunEventPublisher implements Publisher<RunEvent> {
+    private static final Logger log = Logger.getLogger(RunEventPublisher.class);
+
+    private final JobsClient _client;
+    private final RunMonitor _monitor;
+    private final Executor _executor;
+    private final int _bufferSize;
+    private final List<EventSubscription> _subscriptions = new CopyOnWriteArrayList<>();
+    private final RunMonitor.Listener _listener = new RunMonitor.Listener() {
+        @Override
+        public void onTransition(long runId, RunState previous, RunState current) {
+            //the run is needed for its durations
+        }
+
+        @Override
+        public void onTransition(RunDTO runDTO, RunState previous, RunState current) {
+            transition(runDTO, previous, current);
+        }
+    };
+    private volatile boolean _closed;
+
+    public RunEventPublisher(JobsClient client) {
+        _client = client;
+        _monitor = client.Session.getRunMonitor();
+        _executor = client.Session.getAsyncExecutor();
+        _bufferSize = client.Session.getRunMonitorEventBufferSize();
+        _monitor.addListener(_listener);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super RunEvent> subscriber) {
+        if(subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        EventSubscription subscription = new EventSubscription(subscriber);
+        _subscriptions.add(subscription);
+        if(_closed) {
+            subscription.complete();
+        }
+        subscription.signal();
+    }
+
+    /**
+     * Number of subscribers not cancelled, failed or completed yet
+     */
+    public int getSubscriberCount() {
+        return _subscriptions.size();
+    }
+
+    private void transition(RunDTO runDTO, RunState previous, RunState current) {
+        if(_subscriptions.isEmpty()) {
+            return;
+        }
+        publish(new RunEvent(RunEventType.TRANSITION, runDTO.RunId, runDTO.JobId, previous, current,
+                runDTO.SetupDuration, runDTO.ExecutionDuration, runDTO.CleanupDuration, null, null));
+
+        //get-output only has the output of notebook runs
+        if(current.LifeCycleState.isFinal() && current.LifeCycleState != RunLifeCycleState.SKIPPED
+                && runDTO.Task != null && runDTO.isNotebookJob()) {
+            _client.getRunOutputAsync(runDTO.RunId).whenComplete((output, e) -> {
+                if(e != null) {
+                    log.warn("Could not read the output of run " + runDTO.RunId,
+                            e instanceof CompletionException ? e.getCause() : e);
+                    return;
+                }
+                publish(new RunEvent(RunEventType.OUTPUT, runDTO.RunId, runDTO.JobId, previous, current,
+                        runDTO.SetupDuration, runDTO.ExecutionDuration, runDTO.CleanupDuration,
+                        output.NotebookOutput == null ? null : output.NotebookOutput.Result, output.Error));
+            });
+        }
+    }
+
+    private void publish(RunEvent event) {
+        for(EventSubscription subscription : _subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Stops publishing; every subscriber completes once it received the events already published
+     */
+    public void close() {
+        _closed = true;
+        _monitor.removeListener(_listener);
+        for(EventSubscription subscription : _subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private class EventSubscription implements Subscription {
+        final Subscriber<? super RunEvent> Subscriber;
+        //signals in progress or pending; the one raising it from 0 delivers them
+        final AtomicInteger Signals = new AtomicInteger();
+        //only read and written while delivering
+        boolean Subscribed = false;
+
+        //guarded by this
+        final Deque<RunEvent> Buffered = new ArrayDeque<>();
+        long Demand = 0;
+        boolean Completing = false;
+        Throwable Failure;
+        boolean Terminated = false;
+
+        EventSubscription(Subscriber<? super RunEvent> subscriber) {
+            Subscriber = subscriber;
+        }
+
+        synchronized void offer(RunEvent event) {
+            if(Terminated || Completing || Failure != null) {
+                return;
+            }
+            if(Buffered.size() >= _bufferSize) {
+                Buffered.clear();
+                Failure = new IllegalStateException("Subscriber fell more than " + _bufferSize + " run events behind");
+            } else {
+                Buffered.add(event);
+            }
+            signal();
+        }
+
+        synchronized void complete() {
+            Completing = true;
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized(this) {
+                if(n <= 0) {
+                    Buffered.clear();
+                    Failure = new IllegalArgumentException("Requested " + n + " run events; must be positive");
+                } else {
+                    Demand = Demand + n < 0 ? Long.MAX_VALUE : Demand + n;
+                }
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized(this) {
+                Terminated = true;
+                Buffered.clear();
+            }
+            _subscriptions.remove(this);
+        }
+
+        void signal() {
+            if(Signals.getAndIncrement() == 0) {
+                try {
+                    _executor.execute(this::deliver);
+                } catch(RejectedExecutionException e) {
+                    //the session is closed
+                    cancel();
+                }
+            }
+        }
+
+        /**
+         * Delivers onSubscribe, then the buffered events within the demand and the completion or failure, until no
+         * signal is pending
+         */
+        private void deliver() {
+            int signals = Signals.get();
+            while(true) {
+                if(!Subscribed) {
+                    Subscribed = true;
+                    try {
+                        Subscriber.onSubscribe(this);
+                    } catch(RuntimeException e) {
+                        log.warn("Run event subscriber failed in onSubscribe; cancelling its subscription", e);
+                        cancel();
+                    }
+                }
+                while(deliverNext()) {
+                    //until nothing can be delivered
+                }
+                signals = Signals.addAndGet(-signals);
+                if(signals == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean deliverNext() {
+            RunEvent event = null;
+            Throwable failure = null;
+            synchronized(this) {
+                if(Terminated) {
+                    return false;
+                } else if(Failure != null) {
+                    Terminated = true;
+                    failure = Failure;
+                } else if(!Buffered.isEmpty() && Demand > 0) {
+                    event = Buffered.poll();
+                    if(Demand != Long.MAX_VALUE) {
+                        Demand--;
+                    }
+                } else if(Buffered.isEmpty() && Completing) {
+                    Terminated = true;
+                } else {
+                    return false;
+                }
+            }
+            try {
+                if(event != null) {
+                    Subscriber.onNext(event);
+                    return true;
+                }
+                _subscriptions.remove(this);
+                if(failure != null) {
+                    Subscriber.onError(failure);
+                } else {
+                    Subscriber.onComplete();
+                }
+            } catch(RuntimeException e) {
+                log.warn("Run event subscriber failed; cancelling its subscription", e);
+                cancel();
+            }
+            return false;
+        }
+    }
+}
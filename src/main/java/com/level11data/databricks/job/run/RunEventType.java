@@ -0,0 +1,8 @@
+package com.level11data.databricks.job.run;
+
+public enum RunEventType {
+    //the life cycle or result state of the run changed
+    TRANSITION,
+    //the notebook run terminated and its output, or error, was read
+    OUTPUT
+}
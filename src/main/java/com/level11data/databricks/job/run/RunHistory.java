@@ -0,0 +1,216 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import com.level11data.databricks.client.entities.jobs.RunsDTO;
+import com.level11data.databricks.job.util.JobRunHelper;
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the runs of jobs/runs/list, most recently started first, one page at a time: the next page is requested
+ * as soon as a page arrives, so it is usually there by the time the caller has consumed the current one, and no more
+ * than these two pages are held in memory.
+ *
+ * Job and active/completed filters are applied by the API. The start time window is applied while iterating; as runs
+ * are listed by descending start time, listing stops at the first run started before the window.
+ *
+ * Runs are listed by offset, so a run started during the iteration shifts the following pages by one; runs already
+ * returned in the previous page are skipped. Listing failures are thrown as RuntimeException, wrapping a
+ * JobRunException.
+ *
+ * Runs are built from the listing alone, without further requests; a run that cannot be built from it, i.e. of a
+ * task type this client does not support, is skipped with a warning.
+ */
+public class RunHistory implements Iterator<JobRun>, AutoCloseable {
+    private static final Logger log = Logger.getLogger(RunHistory.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    //jobs/runs/list limit
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final JobsClient _client;
+    private Long _jobId;
+    private boolean _activeOnly = false;
+    private boolean _completedOnly = false;
+    private long _startedAfter = Long.MIN_VALUE;
+    private long _startedBefore = Long.MAX_VALUE;
+    private int _pageSize = DEFAULT_PAGE_SIZE;
+
+    private boolean _started = false;
+    private boolean _done = false;
+    private int _offset = 0;
+    private Iterator<RunDTO> _page = Collections.emptyIterator();
+    private Set<Long> _pageRunIds = new HashSet<>();
+    private Set<Long> _previousPageRunIds = new HashSet<>();
+    private CompletableFuture<RunsDTO> _nextPage;
+    private JobRun _next;
+
+    public RunHistory(JobsClient client) {
+        _client = client;
+    }
+
+    /**
+     * Only the runs of the job
+     */
+    public RunHistory withJobId(long jobId) {
+        ensureNotStarted();
+        _jobId = jobId;
+        return this;
+    }
+
+    /**
+     * Only the runs that are PENDING, RUNNING or TERMINATING
+     */
+    public RunHistory withActiveOnly() {
+        ensureNotStarted();
+        if(_completedOnly) {
+            throw new IllegalArgumentException("Runs cannot be both active and completed");
+        }
+        _activeOnly = true;
+        return this;
+    }
+
+    /**
+     * Only the runs that are TERMINATED, SKIPPED or in INTERNAL_ERROR
+     */
+    public RunHistory withCompletedOnly() {
+        ensureNotStarted();
+        if(_activeOnly) {
+            throw new IllegalArgumentException("Runs cannot be both active and completed");
+        }
+        _completedOnly = true;
+        return this;
+    }
+
+    /**
+     * Only the runs started at or after from and before to; either may be null for no bound
+     */
+    public RunHistory withStartTimeBetween(Date from, Date to) {
+        ensureNotStarted();
+        _startedAfter = from == null ? Long.MIN_VALUE : from.getTime();
+        _startedBefore = to == null ? Long.MAX_VALUE : to.getTime();
+        return this;
+    }
+
+    /**
+     * Runs requested per jobs/runs/list; DEFAULT_PAGE_SIZE unless set
+     */
+    public RunHistory withPageSize(int pageSize) {
+        ensureNotStarted();
+        if(pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        _pageSize = pageSize;
+        return this;
+    }
+
+    private void ensureNotStarted() {
+        if(_started) {
+            throw new IllegalStateException("Run history is already being iterated");
+        }
+    }
+
+    /**
+     * The runs as a stream; closing the stream closes the iterator
+     */
+    public Stream<JobRun> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if(!_started) {
+            _started = true;
+            _nextPage = requestPage();
+        }
+        while(_next == null && !_done) {
+            if(_page.hasNext()) {
+                RunDTO runDTO = _page.next();
+                if(runDTO.StartTime < _startedAfter) {
+                    //the remaining runs started even earlier
+                    close();
+                } else if(runDTO.StartTime < _startedBefore && _pageRunIds.add(runDTO.RunId)
+                        && !_previousPageRunIds.contains(runDTO.RunId)) {
+                    try {
+                        _next = JobRunHelper.createJobRun(_client, runDTO);
+                    } catch(JobRunException e) {
+                        log.warn("Skipping run " + runDTO.RunId + " of job " + runDTO.JobId, e);
+                    }
+                }
+            } else if(_nextPage == null) {
+                _done = true;
+            } else {
+                nextPage();
+            }
+        }
+        return _next != null;
+    }
+
+    @Override
+    public JobRun next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JobRun next = _next;
+        _next = null;
+        return next;
+    }
+
+    private CompletableFuture<RunsDTO> requestPage() {
+        return _client.listRunsAsync(_jobId, _activeOnly, _completedOnly, _offset, _pageSize);
+    }
+
+    /**
+     * Waits for the page requested, makes it current and requests the following one if any
+     */
+    private void nextPage() {
+        RunsDTO page;
+        try {
+            page = _nextPage.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(new JobRunException("Interrupted while listing runs"));
+        } catch(ExecutionException e) {
+            close();
+            throw new RuntimeException(new JobRunException("Could not list runs at offset " + _offset,
+                    e.getCause()));
+        }
+        RunDTO[] runs = page.Runs == null ? new RunDTO[0] : page.Runs;
+        _offset += runs.length;
+        _nextPage = page.HasMore && runs.length > 0 ? requestPage() : null;
+
+        _previousPageRunIds = _pageRunIds;
+        _pageRunIds = new HashSet<>();
+        _page = Arrays.asList(runs).iterator();
+    }
+
+    /**
+     * Stops the iteration, cancelling the page request in flight
+     */
+    @Override
+    public void close() {
+        _started = true;
+        _done = true;
+        if(_nextPage != null) {
+            _nextPage.cancel(true);
+            _nextPage = null;
+        }
+        _page = Collections.emptyIterator();
+    }
+}
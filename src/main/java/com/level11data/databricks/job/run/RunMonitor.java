@@ -0,0 +1,316 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.client.HttpServerSideException;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.RetryPolicy;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import org.apache.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the state of many job runs from a single scheduler thread, instead of a thread sleeping between
+ * jobs/runs/get requests per run; see DatabricksSession.getRunMonitor.
+ *
+ * Every tracked run is polled on its own schedule: minPollInterval after it starts being tracked or its state
+ * changes, then POLL_BACKOFF times longer after every poll finding the same state, up to maxPollInterval. Runs just
+ * submitted are thus seen starting quickly while long RUNNING phases cost few requests. Polls are sent
+ * asynchronously, so the scheduler thread never waits on a request.
+ *
+ * Runs of a job with at least listPollingMinRuns tracked runs are polled through jobs/runs/list?active_only of the
+ * job instead of one jobs/runs/get each: a listing serves every poll of the job's runs due within minPollInterval
+ * of it, and only runs missing from it (i.e. just completed) are then read with jobs/runs/get. The job of a run
+ * tracked by id only is learned from its first poll, always a jobs/runs/get.
+ *
+ * A poll failing with a transient error (I/O failure or 5xx, after the session's retries) is tried again
+ * maxPollInterval later; any other failure, i.e. a run that does not exist, fails the run's termination future.
+ */
+public class RunMonitor {
+    private static final Logger log = Logger.getLogger(RunMonitor.class);
+
+    static final double POLL_BACKOFF = 1.5;
+    static final int LIST_PAGE_SIZE = 100;
+
+    /**
+     * Notified, on the thread that completed the poll, whenever the life cycle or result state of a tracked run
+     * changes; previous is null for the first state seen
+     */
+    public interface Listener {
+        void onTransition(long runId, RunState previous, RunState current);
+
+        /**
+         * The same notification with the run as polled, i.e. for its durations; calls the one with the run id unless
+         * overridden
+         */
+        default void onTransition(RunDTO runDTO, RunState previous, RunState current) {
+            onTransition(runDTO.RunId, previous, current);
+        }
+    }
+
+    private class TrackedRun {
+        final long RunId;
+        final CompletableFuture<RunState> Termination = new CompletableFuture<>();
+        RunState State;
+        Long JobId;
+        long IntervalMillis = _minPollIntervalMillis;
+
+        TrackedRun(long runId) {
+            RunId = runId;
+        }
+    }
+
+    private final JobsClient _client;
+    private final ScheduledExecutorService _scheduler;
+    private final long _minPollIntervalMillis;
+    private final long _maxPollIntervalMillis;
+    private final int _listPollingMinRuns;
+    private final Map<Long, TrackedRun> _runs = new ConcurrentHashMap<>();
+    //tracked runs and latest active runs listing, by job of known id
+    private final Map<Long, Integer> _runsPerJob = new ConcurrentHashMap<>();
+    private final Map<Long, Listing> _listings = new ConcurrentHashMap<>();
+    private final List<Listener> _listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean _closed;
+
+    public RunMonitor(JobsClient client) {
+        _client = client;
+        _scheduler = client.Session.getExecutors().newScheduler("databricks-run-monitor-");
+        _minPollIntervalMillis = client.Session.getRunMonitorMinPollIntervalMillis();
+        _maxPollIntervalMillis = client.Session.getRunMonitorMaxPollIntervalMillis();
+        _listPollingMinRuns = client.Session.getRunMonitorListPollingMinRuns();
+    }
+
+    public void addListener(Listener listener) {
+        _listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        _listeners.remove(listener);
+    }
+
+    /**
+     * Completes with the final state of the run, once it is TERMINATED, SKIPPED or in INTERNAL_ERROR; the run is
+     * tracked until then. Cancelling the returned future does not stop tracking the run.
+     */
+    public CompletableFuture<RunState> awaitTermination(JobRun run) {
+        return track(run.getRunId(), run.getJobId()).Termination.thenApply(state -> state);
+    }
+
+    public CompletableFuture<RunState> awaitTermination(long runId) {
+        return track(runId, null).Termination.thenApply(state -> state);
+    }
+
+    /**
+     * Tracks a run until its state is final, notifying the listeners of its transitions
+     */
+    public void watch(JobRun run) {
+        track(run.getRunId(), run.getJobId());
+    }
+
+    public void watch(long runId) {
+        track(runId, null);
+    }
+
+    /**
+     * Number of runs whose state is not known to be final yet
+     */
+    public int getTrackedCount() {
+        return _runs.size();
+    }
+
+    private TrackedRun track(long runId, Long jobId) {
+        if(_closed) {
+            throw new IllegalStateException("Run monitor is closed");
+        }
+        boolean[] added = {false};
+        TrackedRun run = _runs.computeIfAbsent(runId, id -> {
+            added[0] = true;
+            return new TrackedRun(id);
+        });
+        if(added[0]) {
+            if(jobId != null) {
+                setJobId(run, jobId);
+            }
+            schedule(run, 0);
+        }
+        return run;
+    }
+
+    private void schedule(TrackedRun run, long delayMillis) {
+        try {
+            _scheduler.schedule(() -> poll(run), delayMillis, TimeUnit.MILLISECONDS);
+        } catch(RejectedExecutionException e) {
+            //the session is closing
+            stop(run, new JobRunException("Run monitor is closed"));
+        }
+    }
+
+    private void poll(TrackedRun run) {
+        if(_closed) {
+            return;
+        }
+        if(run.JobId != null && _listPollingMinRuns > 0
+                && _runsPerJob.getOrDefault(run.JobId, 0) >= _listPollingMinRuns) {
+            getActiveRuns(run.JobId).whenComplete((activeRuns, e) -> {
+                if(e != null) {
+                    failed(run, e instanceof CompletionException ? e.getCause() : e);
+                } else if(activeRuns.containsKey(run.RunId)) {
+                    polled(run, activeRuns.get(run.RunId));
+                } else {
+                    //no longer active, or not yet listed
+                    getRun(run);
+                }
+            });
+        } else {
+            getRun(run);
+        }
+    }
+
+    private void getRun(TrackedRun run) {
+        _client.getRunAsync(run.RunId).whenComplete((runDTO, e) -> {
+            if(e == null) {
+                polled(run, runDTO);
+            } else {
+                failed(run, e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+    }
+
+    private static class Listing {
+        final CompletableFuture<Map<Long, RunDTO>> ActiveRuns;
+        final long StartedAtNanos = System.nanoTime();
+
+        Listing(CompletableFuture<Map<Long, RunDTO>> activeRuns) {
+            ActiveRuns = activeRuns;
+        }
+    }
+
+    /**
+     * Active runs of a job by run id, from the listing in flight or sent less than minPollInterval ago if any
+     */
+    private CompletableFuture<Map<Long, RunDTO>> getActiveRuns(long jobId) {
+        return _listings.compute(jobId, (id, listing) -> {
+            if(listing != null && (!listing.ActiveRuns.isDone() || System.nanoTime() - listing.StartedAtNanos
+                    < TimeUnit.MILLISECONDS.toNanos(_minPollIntervalMillis))) {
+                return listing;
+            }
+            return new Listing(listActiveRuns(jobId, 0, new HashMap<>()));
+        }).ActiveRuns;
+    }
+
+    private CompletableFuture<Map<Long, RunDTO>> listActiveRuns(long jobId, int offset, Map<Long, RunDTO> activeRuns) {
+        return _client.listRunsAsync(jobId, true, false, offset, LIST_PAGE_SIZE).thenCompose(page -> {
+            if(page.Runs != null) {
+                for(RunDTO runDTO : page.Runs) {
+                    activeRuns.put(runDTO.RunId, runDTO);
+                }
+            }
+            if(page.HasMore && page.Runs != null && page.Runs.length > 0) {
+                return listActiveRuns(jobId, offset + page.Runs.length, activeRuns);
+            }
+            return CompletableFuture.completedFuture(activeRuns);
+        });
+    }
+
+    private void polled(TrackedRun run, RunDTO runDTO) {
+        if(run.JobId == null) {
+            setJobId(run, runDTO.JobId);
+        }
+        RunState state = new RunState(runDTO.State);
+        RunState previous = run.State;
+        run.State = state;
+        if(previous == null || previous.LifeCycleState != state.LifeCycleState
+                || previous.ResultState != state.ResultState) {
+            run.IntervalMillis = _minPollIntervalMillis;
+            for(Listener listener : _listeners) {
+                try {
+                    listener.onTransition(runDTO, previous, state);
+                } catch(RuntimeException e) {
+                    log.warn("Run monitor listener failed on a transition of run " + run.RunId, e);
+                }
+            }
+        } else {
+            run.IntervalMillis = Math.min(_maxPollIntervalMillis, (long) (run.IntervalMillis * POLL_BACKOFF));
+        }
+
+        if(state.LifeCycleState.isFinal()) {
+            untrack(run);
+            run.Termination.complete(state);
+        } else {
+            schedule(run, jitter(run.IntervalMillis));
+        }
+    }
+
+    private void failed(TrackedRun run, Throwable cause) {
+        if(cause instanceof HttpServerSideException || RetryPolicy.isRetryableFailure(cause)
+                || RetryPolicy.isRetryableFailure(cause.getCause())) {
+            log.warn("Could not poll run " + run.RunId + "; polling again in " + _maxPollIntervalMillis + " ms", cause);
+            schedule(run, _maxPollIntervalMillis);
+        } else {
+            stop(run, new JobRunException("Could not poll run " + run.RunId, cause));
+        }
+    }
+
+    /**
+     * Spreads polls within +/-10% of the interval, so runs submitted together are not polled in bursts
+     */
+    private static long jitter(long intervalMillis) {
+        return (long) (intervalMillis * (0.9 + 0.2 * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private void stop(TrackedRun run, JobRunException e) {
+        untrack(run);
+        run.Termination.completeExceptionally(e);
+    }
+
+    /**
+     * Counts the run for its job, unless it is no longer tracked
+     */
+    private void setJobId(TrackedRun run, long jobId) {
+        synchronized(run) {
+            run.JobId = jobId;
+            if(_runs.get(run.RunId) == run) {
+                _runsPerJob.merge(jobId, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking the run, once: a run may be stopped by close() while a poll of it completes. The job of its last
+     * run is forgotten along with its listing.
+     */
+    private void untrack(TrackedRun run) {
+        synchronized(run) {
+            if(!_runs.remove(run.RunId, run) || run.JobId == null) {
+                return;
+            }
+            _runsPerJob.computeIfPresent(run.JobId, (jobId, count) -> {
+                if(count > 1) {
+                    return count - 1;
+                }
+                _listings.remove(jobId);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Stops tracking every run; their termination futures fail with a JobRunException
+     */
+    public void close() {
+        _closed = true;
+        _scheduler.shutdownNow();
+        for(TrackedRun run : _runs.values()) {
+            stop(run, new JobRunException("Run monitor is closed"));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.client.entities.jobs.RunNowRequestDTO;
+import com.level11data.databricks.job.AbstractJob;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One run of an existing job to submit with jobs/run-now, i.e. through a JobBatch
+ */
+public class RunRequest {
+    public final long JobId;
+    //null until known
+    final Integer MaxConcurrentRuns;
+    private final RunNowRequestDTO _runNowRequestDTO = new RunNowRequestDTO();
+
+    public RunRequest(long jobId) {
+        JobId = jobId;
+        MaxConcurrentRuns = null;
+        _runNowRequestDTO.JobId = jobId;
+    }
+
+    /**
+     * A run of the job; its MaxConcurrentRuns spares a jobs/get request
+     */
+    public RunRequest(AbstractJob job) {
+        JobId = job.Id;
+        MaxConcurrentRuns = job.MaxConcurrentRuns == null ? JobBatch.DEFAULT_MAX_CONCURRENT_RUNS
+                : job.MaxConcurrentRuns;
+        _runNowRequestDTO.JobId = job.Id;
+    }
+
+    public RunRequest withNotebookParams(Map<String,String> notebookParams) {
+        _runNowRequestDTO.NotebookParams = new HashMap<>(notebookParams);
+        return this;
+    }
+
+    public RunRequest withJarParams(List<String> jarParams) {
+        _runNowRequestDTO.JarParams = jarParams.toArray(new String[0]);
+        return this;
+    }
+
+    public RunRequest withPythonParams(List<String> pythonParams) {
+        _runNowRequestDTO.PythonParams = pythonParams.toArray(new String[0]);
+        return this;
+    }
+
+    public RunRequest withSparkSubmitParams(List<String> sparkSubmitParams) {
+        _runNowRequestDTO.SparkSubmitParams = sparkSubmitParams.toArray(new String[0]);
+        return this;
+    }
+
+    /**
+     * Token making the submission safe to retry; a JobBatch generates one unless set
+     */
+    public RunRequest withIdempotencyToken(String idempotencyToken) {
+        _runNowRequestDTO.IdempotencyToken = idempotencyToken;
+        return this;
+    }
+
+    /**
+     * A copy of the request, with a new idempotency token unless one was set
+     */
+    RunNowRequestDTO createRunNowRequest() {
+        RunNowRequestDTO runNowRequestDTO = new RunNowRequestDTO();
+        runNowRequestDTO.JobId = _runNowRequestDTO.JobId;
+        runNowRequestDTO.NotebookParams = _runNowRequestDTO.NotebookParams;
+        runNowRequestDTO.JarParams = _runNowRequestDTO.JarParams;
+        runNowRequestDTO.PythonParams = _runNowRequestDTO.PythonParams;
+        runNowRequestDTO.SparkSubmitParams = _runNowRequestDTO.SparkSubmitParams;
+        runNowRequestDTO.IdempotencyToken = _runNowRequestDTO.IdempotencyToken == null
+                ? UUID.randomUUID().toString() : _runNowRequestDTO.IdempotencyToken;
+        return runNowRequestDTO;
+    }
+
+    @Override
+    public String toString() {
+        return "Run of job " + JobId;
+    }
+}
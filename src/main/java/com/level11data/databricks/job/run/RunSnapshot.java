@@ -0,0 +1,36 @@
+package com.level11data.databricks.job.run;
+
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of a job run as of a single jobs/runs/get response; see AbstractJobRun.snapshot
+ */
+public class RunSnapshot {
+    public final long RunId;
+    public final RunState State;
+    public final String SparkContextId;
+    public final Long SetupDuration;
+    public final Long ExecutionDuration;
+    public final Long CleanupDuration;
+    public final Date FetchedAt;
+
+    private final long _fetchedAtNanos;
+
+    RunSnapshot(RunDTO run, long fetchedAtMillis, long ageNanos) {
+        RunId = run.RunId;
+        State = new RunState(run.State);
+        SparkContextId = run.ClusterInstance == null ? null : run.ClusterInstance.SparkContextId;
+        SetupDuration = run.SetupDuration;
+        ExecutionDuration = run.ExecutionDuration;
+        CleanupDuration = run.CleanupDuration;
+        FetchedAt = new Date(fetchedAtMillis);
+        _fetchedAtNanos = System.nanoTime() - ageNanos;
+    }
+
+    public long getAge(TimeUnit unit) {
+        return unit.convert(System.nanoTime() - _fetchedAtNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -3,7 +3,13 @@ package com.level11data.databricks.job.util;
 import com.level11data.databricks.client.HttpException;
 import com.level11data.databricks.client.JobsClient;
 import com.level11data.databricks.client.entities.jobs.JobRunOutputDTO;
-import com.level11data.databricks.job.run.JobRunException;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import com.level11data.databricks.job.PythonScript;
+import com.level11data.databricks.job.run.*;
+import com.level11data.databricks.util.ResourceConfigException;
+
+import java.net.URI;
+import java.net.URISyntaxException;
 
 public class JobRunHelper {
 
@@ -21,4 +27,37 @@ public class JobRunHelper {
         //No Job Run Output was found; Nor was an error
         return null;
     }
+
+    /**
+     * The JobRun of the type matching the cluster and task of the run
+     */
+    public static JobRun createJobRun(JobsClient client, RunDTO runDTO) throws JobRunException {
+        try {
+            if(runDTO.isInteractive() && runDTO.isNotebookJob()) {
+                return new InteractiveNotebookJobRun(client, runDTO);
+            } else if(runDTO.isAutomated() && runDTO.isNotebookJob()) {
+                return new AutomatedNotebookJobRun(client, runDTO);
+            } else if(runDTO.isInteractive() && runDTO.isJarJob()) {
+                return new InteractiveJarJobRun(client, runDTO);
+            } else if(runDTO.isAutomated() && runDTO.isJarJob()) {
+                return new AutomatedJarJobRun(client, runDTO);
+            } else if(runDTO.isInteractive() && runDTO.isPythonJob()) {
+                PythonScript pythonScript = new PythonScript(client.Session,
+                        new URI(runDTO.Task.SparkPythonTask.PythonFile));
+                return new InteractivePythonJobRun(client, pythonScript, runDTO);
+            } else if(runDTO.isAutomated() && runDTO.isPythonJob()) {
+                PythonScript pythonScript = new PythonScript(client.Session,
+                        new URI(runDTO.Task.SparkPythonTask.PythonFile));
+                return new AutomatedPythonJobRun(client, pythonScript, runDTO);
+            } else if(runDTO.isAutomated() && runDTO.isSparkSubmitJob()) {
+                return new AutomatedSparkSubmitJobRun(client, runDTO);
+            }
+        } catch(URISyntaxException e) {
+            throw new JobRunException(e);
+        } catch(ResourceConfigException e) {
+            throw new JobRunException(e);
+        }
+        //No valid Job Type was found
+        throw new JobRunException("Unsupported Job Type");
+    }
 }
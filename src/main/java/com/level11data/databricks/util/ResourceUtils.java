@@ -3,17 +3,20 @@ package com.level11data.databricks.util;
 import com.level11data.databricks.client.DatabricksSession;
 import com.level11data.databricks.client.HttpException;
 import com.level11data.databricks.workspace.WorkspaceConfigException;
-import org.apache.commons.io.IOUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.io.*;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Base64;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
 
 public class ResourceUtils {
+    private static final Cache<File, FileDigest> FILE_DIGESTS = CacheBuilder.newBuilder().maximumSize(1000).build();
 
     public static void validate(URI uri) throws ResourceConfigException {
         String scheme = uri.getScheme();
@@ -37,12 +40,16 @@ public class ResourceUtils {
     }
 
 
-    public static void uploadFile(DatabricksSession session, File file, URI destination) throws HttpException, IOException, ResourceConfigException {
+    /**
+     * Uploads a library or script, unless the destination already has the same content
+     * (see DbfsHelper.putFileIfChanged); returns whether the file was uploaded
+     */
+    public static boolean uploadFile(DatabricksSession session, File file, URI destination) throws HttpException, IOException, ResourceConfigException {
         validate(destination);
 
         //TODO add support for s3, s3a, s3n, azure
         if(destination.getScheme().equals("dbfs")) {
-            session.putDbfsFile(file, destination.toString());
+            return session.putDbfsFileIfChanged(file, destination.toString(), false);
         } else {
             throw new ResourceConfigException(destination.getScheme() + " is not a supported scheme for upload");
         }
@@ -54,19 +61,12 @@ public class ResourceUtils {
         return new String(encoder.encode(byteBuffer), StandardCharsets.UTF_8);
     }
 
+    /**
+     * Encodes a whole file into one String; for workspace imports and other small files
+     * (DbfsHelper.putFile streams files of any size)
+     */
     public static String encodeToBase64(File file) throws IOException {
-        FileInputStream fileInputStreamReader = null;
-        try {
-            byte[] fileBytes = new byte[(int)file.length()];
-            fileInputStreamReader = new FileInputStream(file);
-            fileInputStreamReader.read(fileBytes);
-            return encodeToBase64(fileBytes);
-        } finally {
-            if (fileInputStreamReader != null) {
-                fileInputStreamReader.close();
-            }
-
-        }
+        return encodeToBase64(Files.readAllBytes(file.toPath()));
     }
 
     public static byte[] decodeFromBase64(String encodedBase64) throws IOException {
@@ -75,28 +75,45 @@ public class ResourceUtils {
         return decoder.decode(encodedBase64);
     }
 
+    /**
+     * MD5 of the content of a file, in hex. Digests are cached by path, size and modification time, like make or
+     * rsync do, so a large artifact uploaded by many jobs is only read once.
+     */
     public static String getMD5(File file) throws IOException {
-        FileInputStream inputStream = null;
-        try {
-            inputStream = new FileInputStream(file);
-            String md5 = getMD5(inputStream);
-            inputStream.close();
-            return md5;
-        } finally {
-            if(inputStream != null) {
-                inputStream.close();
-            }
-
+        File canonicalFile = file.getCanonicalFile();
+        //read before hashing, so a file modified while it is hashed is hashed again next time
+        long size = canonicalFile.length();
+        long lastModified = canonicalFile.lastModified();
+        FileDigest digest = FILE_DIGESTS.getIfPresent(canonicalFile);
+        if(digest != null && digest.Size == size && digest.LastModified == lastModified) {
+            return digest.Md5;
         }
 
+        String md5;
+        try (InputStream inputStream = new FileInputStream(canonicalFile)) {
+            md5 = getMD5(inputStream);
+        }
+        FILE_DIGESTS.put(canonicalFile, new FileDigest(size, lastModified, md5));
+        return md5;
     }
 
     private static String getMD5(InputStream is) throws IOException {
         // md5Hex converts an array of bytes into an array of characters representing the hexadecimal values of each byte in order.
         // The returned array will be double the length of the passed array, as it takes two characters to represent any given byte.
-        String md5 = DigestUtils.md5Hex(IOUtils.toByteArray(is));
+        // The stream is digested a buffer at a time, whatever its length.
+        return DigestUtils.md5Hex(is);
+    }
 
-        return md5;
+    private static class FileDigest {
+        final long Size;
+        final long LastModified;
+        final String Md5;
+
+        FileDigest(long size, long lastModified, String md5) {
+            Size = size;
+            LastModified = lastModified;
+            Md5 = md5;
+        }
     }
 
     public static File writeTextFile(StringBuilder sb, String pathname) throws ResourceConfigException {
@@ -120,8 +137,7 @@ public class ResourceUtils {
     public static File writeBytesToFile(byte[] bytes, String pathname) throws ResourceConfigException {
         try {
             File outputFile = new File(pathname);
-            FileOutputStream out = new FileOutputStream(outputFile);
-            out.write(bytes);
+            Files.write(outputFile.toPath(), bytes);
             return outputFile;
         } catch(IOException e) {
             throw new ResourceConfigException(e);
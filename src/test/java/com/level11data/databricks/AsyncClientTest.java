@@ -0,0 +1,130 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncClientTest {
+    private static final String RUNS_GET = "/api/2.0/jobs/runs/get";
+
+    StubDatabricksServer _server;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.handle(RUNS_GET, exchange -> {
+            String runId = StubDatabricksServer.queryParam(exchange, "run_id");
+            if("404".equals(runId)) {
+                StubDatabricksServer.send(exchange, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+            } else {
+                StubDatabricksServer.send(exchange, 200,
+                        "{\"run_id\":" + runId + ",\"job_id\":7,\"state\":{\"life_cycle_state\":\"RUNNING\"}}");
+            }
+        });
+        _databricks = _server.createSession();
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testGetRunAsync() throws Exception {
+        JobsClient client = _databricks.getJobsClient();
+
+        List<CompletableFuture<RunDTO>> futures = new ArrayList<>();
+        for(long runId = 1; runId <= 50; runId++) {
+            futures.add(client.getRunAsync(runId));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for(int i = 0; i < futures.size(); i++) {
+            RunDTO run = futures.get(i).get();
+            Assert.assertEquals("Run Id does not match", i + 1, run.RunId);
+            Assert.assertEquals("Life Cycle State does not match", "RUNNING", run.State.LifeCycleState);
+        }
+        Assert.assertEquals("Every call should reach the server", 50, _server.getRequestCount(RUNS_GET));
+    }
+
+    @Test
+    public void testGetRunAsyncFailure() throws Exception {
+        try {
+            _databricks.getJobsClient().getRunAsync(404).get(30, TimeUnit.SECONDS);
+            Assert.fail("Expected the future to complete exceptionally");
+        } catch(ExecutionException e) {
+            Assert.assertTrue("Cause is not an HttpException", e.getCause() instanceof HttpException);
+        }
+    }
+
+    @Test
+    public void testCancelRunAsyncFailure() throws Exception {
+        _server.respond("/api/2.0/jobs/runs/cancel", 400, "{\"error_code\":\"INVALID_STATE\"}");
+        RunDTO run = new RunDTO();
+        run.RunId = 7;
+
+        try {
+            _databricks.getJobsClient().cancelRunAsync(run).get(30, TimeUnit.SECONDS);
+            Assert.fail("Expected the future to complete exceptionally");
+        } catch(ExecutionException e) {
+            Assert.assertTrue("Cause is not an HttpException", e.getCause() instanceof HttpException);
+        }
+        try {
+            _databricks.getJobsClient().cancelRun(run);
+            Assert.fail("Expected cancelRun to fail as cancelRunAsync does");
+        } catch(HttpException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testConcurrentGetRunCoalesced() throws Exception {
+        JobsClient client = _databricks.getJobsClient();
+        _server.setLatencyMillis(500);
+
+        ExecutorService callers = Executors.newFixedThreadPool(20);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<RunDTO>> syncRuns = new ArrayList<>();
+            for(int i = 0; i < 20; i++) {
+                syncRuns.add(callers.submit(() -> {
+                    start.await();
+                    return client.getRun(7);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<RunDTO>> asyncRuns = new ArrayList<>();
+            for(int i = 0; i < 20; i++) {
+                asyncRuns.add(client.getRunAsync(7));
+            }
+
+            for(Future<RunDTO> run : syncRuns) {
+                Assert.assertEquals("Run Id does not match", 7, run.get(30, TimeUnit.SECONDS).RunId);
+            }
+            for(CompletableFuture<RunDTO> run : asyncRuns) {
+                Assert.assertEquals("Run Id does not match", 7, run.get(30, TimeUnit.SECONDS).RunId);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        Assert.assertTrue("Concurrent identical calls should share a request, but " +
+                _server.getRequestCount(RUNS_GET) + " were sent", _server.getRequestCount(RUNS_GET) <= 2);
+    }
+}
@@ -74,9 +74,7 @@ public class AutomatedNotebookJobTest {
 
         //System.out.println("jobRun.getRunState()="+jobRun.getRunState().LifeCycleState);
 
-        while(!jobRun.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRun).get();
         Assert.assertEquals("Job Run Output Does Not Match", "2", jobRun.getOutput());
 
         //cleanup
@@ -131,9 +129,7 @@ public class AutomatedNotebookJobTest {
         Assert.assertEquals("Parameter 2 was not set", "World",
                 jobRun.BaseParameters.get("parameter2"));
 
-        while(!jobRun.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRun).get();
 
         Assert.assertEquals("Job Output Does Not Match", "This is Parameter 1: Hello, and this is Parameter 2: World",
                 jobRun.getOutput());
@@ -150,9 +146,7 @@ public class AutomatedNotebookJobTest {
         Assert.assertEquals("Override Parameter 2 was not set", "Override Two",
                 jobRunWithParamOverride.OverridingParameters.get("parameter2"));
 
-        while(!jobRunWithParamOverride.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRunWithParamOverride).get();
 
         Assert.assertEquals("Job Output Does Not Match", "This is Parameter 1: Override One, and this is Parameter 2: Override Two",
                 jobRunWithParamOverride.getOutput());
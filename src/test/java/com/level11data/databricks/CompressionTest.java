@@ -0,0 +1,123 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.TransferStats;
+import com.level11data.databricks.client.entities.workspace.ExportRequestDTO;
+import com.level11data.databricks.client.entities.workspace.ExportResponseDTO;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.config.HttpConnectorType;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public class CompressionTest {
+    private static final String WORKSPACE_EXPORT = "/api/2.0/workspace/export";
+    private static final String EXPORT_ENDPOINT = "workspace/export";
+
+    StubDatabricksServer _server;
+    String _content;
+    volatile String _acceptEncoding;
+
+    @Before
+    public void setUp() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for(int i = 0; i < 10000; i++) {
+            content.append("cHJpbnQoImhlbGxvIik=");
+        }
+        _content = content.toString();
+
+        _server = new StubDatabricksServer();
+        _server.handle(WORKSPACE_EXPORT, exchange -> {
+            _acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            String json = "{\"content\":\"" + _content + "\"}";
+            if(_acceptEncoding != null && _acceptEncoding.contains("gzip")) {
+                sendGzip(exchange, json);
+            } else {
+                StubDatabricksServer.send(exchange, 200, json);
+            }
+        });
+    }
+
+    private static void sendGzip(HttpExchange exchange, String json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(200, compressed.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            compressed.writeTo(out);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        _server.close();
+    }
+
+    private ExportResponseDTO export(DatabricksSession databricks) throws Exception {
+        ExportRequestDTO request = new ExportRequestDTO();
+        request.Path = "/Users/test/notebook";
+        request.Format = "SOURCE";
+        return databricks.getWorkspaceClient().exportResource(request);
+    }
+
+    private void assertCompressed(HttpConnectorType connector) throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.HTTP_CONNECTOR, connector.name());
+        config.setProperty(DatabricksClientConfiguration.HTTP_COMPRESSION, true);
+
+        try (DatabricksSession databricks = new DatabricksSession(config)) {
+            Assert.assertEquals("Content does not match", _content, export(databricks).Content);
+            Assert.assertTrue("gzip should be accepted", _acceptEncoding.contains("gzip"));
+
+            TransferStats stats = databricks.getTransferStats(EXPORT_ENDPOINT);
+            Assert.assertEquals("Request count does not match", 1, stats.Requests);
+            Assert.assertTrue(stats.toString(), stats.ResponseWireBytes < stats.ResponseEntityBytes / 10);
+            Assert.assertTrue(stats.toString(), stats.getBytesSaved() > 0);
+        }
+    }
+
+    @Test
+    public void testCompressionWithApacheConnector() throws Exception {
+        assertCompressed(HttpConnectorType.APACHE);
+    }
+
+    @Test
+    public void testCompressionWithDefaultConnector() throws Exception {
+        assertCompressed(HttpConnectorType.DEFAULT);
+    }
+
+    private void assertNotCompressed(HttpConnectorType connector) throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.HTTP_CONNECTOR, connector.name());
+
+        try (DatabricksSession databricks = new DatabricksSession(config)) {
+            Assert.assertEquals("Content does not match", _content, export(databricks).Content);
+            Assert.assertTrue("gzip should not be accepted", _acceptEncoding == null || !_acceptEncoding.contains("gzip"));
+
+            TransferStats stats = databricks.getTransferStats(EXPORT_ENDPOINT);
+            Assert.assertTrue("Response bytes should be counted", stats.ResponseEntityBytes > _content.length());
+            Assert.assertEquals("Wire and entity bytes should match", stats.ResponseEntityBytes, stats.ResponseWireBytes);
+        }
+    }
+
+    @Test
+    public void testByteCountsWithoutCompression() throws Exception {
+        assertNotCompressed(HttpConnectorType.DEFAULT);
+    }
+
+    @Test
+    public void testByteCountsWithoutCompressionWithApacheConnector() throws Exception {
+        assertNotCompressed(HttpConnectorType.APACHE);
+    }
+}
@@ -0,0 +1,148 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.ClustersClient;
+import com.level11data.databricks.client.ConnectionPoolStats;
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.clusters.ClusterInfoDTO;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolTest {
+    private static final String SPARK_VERSIONS = "/api/2.0/clusters/spark-versions";
+    private static final String NODE_TYPES = "/api/2.0/clusters/list-node-types";
+
+    StubDatabricksServer _server;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.respond(SPARK_VERSIONS, 403, "{\"error_code\":\"PERMISSION_DENIED\"}");
+        _server.respond(NODE_TYPES, 200, "{\"node_types\":[]}");
+    }
+
+    @After
+    public void tearDown() {
+        _server.close();
+    }
+
+    @Test
+    public void testConnectionsAreReleasedAfterForbidden() throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.HTTP_MAX_CONNECTIONS_PER_ROUTE, 2);
+
+        try (DatabricksSession databricks = new DatabricksSession(config)) {
+            //with connections leaking, the third request would wait for a lease forever
+            CompletableFuture<Integer> forbidden = CompletableFuture.supplyAsync(() -> {
+                int failures = 0;
+                for(int i = 0; i < 5; i++) {
+                    try {
+                        databricks.getClustersClient().getSparkVersions();
+                    } catch(HttpException e) {
+                        Assert.assertTrue(e.getMessage(), e.getMessage().contains("403"));
+                        failures++;
+                    }
+                }
+                return failures;
+            });
+            Assert.assertEquals(Integer.valueOf(5), forbidden.get(10, TimeUnit.SECONDS));
+
+            ConnectionPoolStats stats = databricks.getConnectionPoolStats();
+            Assert.assertEquals(stats.toString(), 0, stats.Leased);
+            Assert.assertTrue(stats.toString(), stats.Available <= 2);
+
+            databricks.getClustersClient().getNodeTypes();
+            stats = databricks.getConnectionPoolStats();
+            Assert.assertEquals(stats.toString(), 0, stats.Leased);
+            Assert.assertEquals(stats.toString(), 1, stats.Available);
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.HTTP_IDLE_TIMEOUT_SECONDS, 1);
+
+        try (DatabricksSession databricks = new DatabricksSession(config)) {
+            databricks.getClustersClient().getNodeTypes();
+            ConnectionPoolStats stats = databricks.getConnectionPoolStats();
+            Assert.assertEquals(stats.toString(), 0, stats.Leased);
+            Assert.assertEquals(stats.toString(), 1, stats.Available);
+
+            //the evictor checks every idle timeout
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while(databricks.getConnectionPoolStats().Available > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(0, databricks.getConnectionPoolStats().Available);
+        }
+    }
+
+    @Test
+    public void testConnectionsAreReleasedByRequestsWithoutResult() throws Exception {
+        for(String endpoint : new String[] {"restart", "delete", "resize"}) {
+            _server.respond("/api/2.0/clusters/" + endpoint, 200, "{}");
+        }
+        //fails for the cluster already running and the run already terminated
+        _server.handle("/api/2.0/clusters/start", exchange -> StubDatabricksServer.send(exchange,
+                StubDatabricksServer.readBody(exchange).contains("running") ? 400 : 200, "{}"));
+        _server.handle("/api/2.0/jobs/runs/cancel", exchange -> StubDatabricksServer.send(exchange,
+                StubDatabricksServer.readBody(exchange).contains("\"run_id\":2") ? 400 : 200, "{}"));
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.HTTP_MAX_CONNECTIONS_PER_ROUTE, 2);
+
+        try (DatabricksSession databricks = new DatabricksSession(config)) {
+            ClustersClient clusters = databricks.getClustersClient();
+            JobsClient jobs = databricks.getJobsClient();
+            ClusterInfoDTO cluster = new ClusterInfoDTO();
+            cluster.ClusterId = "stopped";
+            ClusterInfoDTO runningCluster = new ClusterInfoDTO();
+            runningCluster.ClusterId = "running";
+            RunDTO run = new RunDTO();
+            run.RunId = 1;
+            RunDTO terminatedRun = new RunDTO();
+            terminatedRun.RunId = 2;
+
+            //with connections leaking, the third request would wait for a lease forever
+            CompletableFuture<Integer> requests = CompletableFuture.supplyAsync(() -> {
+                int failures = 0;
+                for(int i = 0; i < 3; i++) {
+                    try {
+                        clusters.start(cluster);
+                        clusters.reStart(cluster);
+                        clusters.delete(cluster);
+                        clusters.resize(cluster);
+                        jobs.cancelRun(run);
+                    } catch(HttpException e) {
+                        throw new RuntimeException(e);
+                    }
+                    try {
+                        clusters.start(runningCluster);
+                    } catch(HttpException e) {
+                        Assert.assertTrue(e.getMessage(), e.getMessage().contains("already started"));
+                        failures++;
+                    }
+                    try {
+                        jobs.cancelRun(terminatedRun);
+                    } catch(HttpException e) {
+                        Assert.assertTrue(e.getMessage(), e.getMessage().contains("400"));
+                        failures++;
+                    }
+                }
+                return failures;
+            });
+            Assert.assertEquals(Integer.valueOf(6), requests.get(10, TimeUnit.SECONDS));
+
+            ConnectionPoolStats stats = databricks.getConnectionPoolStats();
+            Assert.assertEquals(stats.toString(), 0, stats.Leased);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpNotFoundException;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsBatchResult;
+import com.level11data.databricks.dbfs.DbfsFileInfo;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DbfsBatchTest {
+    StubDatabricksServer _server;
+    StubDbfs _dbfs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.setLatencyMillis(10);
+        _dbfs = new StubDbfs(_server);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_BULK_CONCURRENCY, 5);
+        _databricks = new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testDeleteAllReportsEveryPath() throws Exception {
+        List<String> paths = new ArrayList<>();
+        for(int i = 0; i < 50; i++) {
+            paths.add("/tmp/batch/" + i);
+            if(i % 10 != 3) {
+                _dbfs.putFile("/tmp/batch/" + i, new byte[i]);
+            }
+        }
+
+        DbfsBatchResult<Void> result = _databricks.deleteDbfsObjects(paths, false);
+
+        Assert.assertEquals(45, result.Succeeded.size());
+        Assert.assertEquals(Arrays.asList("/tmp/batch/3", "/tmp/batch/13", "/tmp/batch/23", "/tmp/batch/33",
+                "/tmp/batch/43"), new ArrayList<>(result.Failed.keySet()));
+        Assert.assertTrue(result.Failed.get("/tmp/batch/3") instanceof HttpNotFoundException);
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertTrue(_dbfs.getPaths().isEmpty());
+        int concurrency = _server.getMaxConcurrentRequests(StubDbfs.DELETE);
+        Assert.assertTrue(concurrency > 1 && concurrency <= 5);
+    }
+
+    @Test
+    public void testStatusAllKeepsOrder() throws Exception {
+        List<String> paths = new ArrayList<>();
+        for(int i = 20; i > 0; i--) {
+            paths.add("/tmp/status/" + i);
+            _dbfs.putFile("/tmp/status/" + i, new byte[i]);
+        }
+
+        DbfsBatchResult<DbfsFileInfo> result = _databricks.getDbfsObjectStatuses(paths);
+
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(paths, new ArrayList<>(result.Succeeded.keySet()));
+        Assert.assertEquals(7, result.Succeeded.get("/tmp/status/7").FileSize);
+    }
+
+    @Test
+    public void testMoveAll() throws Exception {
+        Map<String, String> moves = new LinkedHashMap<>();
+        for(int i = 0; i < 10; i++) {
+            _dbfs.putFile("/tmp/from/" + i, new byte[i]);
+            moves.put("/tmp/from/" + i, "/tmp/to/" + i);
+        }
+        _dbfs.putFile("/tmp/to/9", new byte[0]);
+
+        DbfsBatchResult<Void> result = _databricks.moveDbfsObjects(moves);
+
+        Assert.assertEquals(9, result.Succeeded.size());
+        Assert.assertEquals(Arrays.asList("/tmp/from/9"), new ArrayList<>(result.Failed.keySet()));
+        Assert.assertEquals(4, _dbfs.getFile("/tmp/to/4").length);
+        Assert.assertNull(_dbfs.getFile("/tmp/from/4"));
+    }
+}
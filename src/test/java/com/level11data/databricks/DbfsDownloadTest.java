@@ -0,0 +1,176 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsHelper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class DbfsDownloadTest {
+    StubDatabricksServer _server;
+    StubDbfs _dbfs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _dbfs = new StubDbfs(_server);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_DOWNLOAD_CONCURRENCY, 3);
+        _databricks = new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testRangesAreWrittenInOrder() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(5 * 1048576 + 4321);
+        _dbfs.putFile("/tmp/download.bin", contents);
+        _dbfs.setReadJitterMillis(50);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = _databricks.downloadDbfsFile("/tmp/download.bin", out);
+
+        Assert.assertEquals(contents.length, written);
+        Assert.assertArrayEquals(contents, out.toByteArray());
+        Assert.assertEquals(6, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    @Test
+    public void testShortReadsAreCompleted() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(3 * 1048576);
+        _dbfs.putFile("/tmp/short.bin", contents);
+        _dbfs.setMaxReadLength(700000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DbfsHelper.download(_databricks.getDbfsClient(), "/tmp/short.bin", Channels.newChannel(out));
+
+        Assert.assertArrayEquals(contents, out.toByteArray());
+        Assert.assertEquals(6, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    @Test
+    public void testDownloadToPathAndObject() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(1048576 + 1);
+        _dbfs.putFile("/tmp/path.bin", contents);
+        _dbfs.putFile("/tmp/empty.bin", new byte[0]);
+        Path path = Files.createTempFile("dbfs-download", ".bin");
+        path.toFile().deleteOnExit();
+
+        _databricks.downloadDbfsFile("/tmp/path.bin", path);
+
+        Assert.assertArrayEquals(contents, Files.readAllBytes(path));
+        Assert.assertArrayEquals(contents, _databricks.getDbfsObject("/tmp/path.bin"));
+        Assert.assertEquals(0, _databricks.getDbfsObject("/tmp/empty.bin").length);
+    }
+
+    @Test
+    public void testPathRangesAreWrittenInPlace() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(6 * 1048576 + 99);
+        _dbfs.putFile("/tmp/in-place.bin", contents);
+        _dbfs.setReadJitterMillis(50);
+        _dbfs.setMaxReadLength(800000);
+        Path path = Files.createTempFile("dbfs-download", ".bin");
+        path.toFile().deleteOnExit();
+        //longer than the download, so it must be truncated
+        Files.write(path, new byte[8 * 1048576]);
+
+        long written = _databricks.downloadDbfsFile("/tmp/in-place.bin", path);
+
+        Assert.assertEquals(contents.length, written);
+        Assert.assertArrayEquals(contents, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void testDownloadResumesAfterTransientFailure() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(8 * 1048576);
+        _dbfs.putFile("/tmp/resume.bin", contents);
+        //the third read fails along with its two retries
+        _dbfs.failReads(2, 3);
+        DatabricksSession databricks = createSession(1, 2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = databricks.downloadDbfsFile("/tmp/resume.bin", out);
+        databricks.close();
+
+        Assert.assertEquals(contents.length, written);
+        Assert.assertArrayEquals(contents, out.toByteArray());
+        //resumed at the third range instead of starting over
+        Assert.assertEquals(8 + 3, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    @Test
+    public void testInterruptedDownloadResumesFromCheckpoint() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(8 * 1048576 + 5);
+        _dbfs.putFile("/tmp/checkpoint.bin", contents);
+        _dbfs.failReads(5, 1);
+        DatabricksSession databricks = createSession(1, 0);
+        Path path = Files.createTempFile("dbfs-download", ".bin");
+        path.toFile().deleteOnExit();
+        Path checkpointPath = path.resolveSibling(path.getFileName() + ".dbfs-checkpoint");
+        checkpointPath.toFile().deleteOnExit();
+
+        try {
+            databricks.downloadDbfsFile("/tmp/checkpoint.bin", path, true);
+            Assert.fail("the sixth read should have failed");
+        } catch(HttpException e) {
+            Assert.assertTrue(Files.exists(checkpointPath));
+        }
+        long written = databricks.downloadDbfsFile("/tmp/checkpoint.bin", path, true);
+        databricks.close();
+
+        Assert.assertEquals(contents.length, written);
+        Assert.assertArrayEquals(contents, Files.readAllBytes(path));
+        Assert.assertFalse(Files.exists(checkpointPath));
+        //6 reads until the failure, then the 4 ranges left
+        Assert.assertEquals(6 + 4, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    @Test
+    public void testCheckpointOfAnotherFileIsIgnored() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(3 * 1048576);
+        _dbfs.putFile("/tmp/first.bin", contents);
+        _dbfs.putFile("/tmp/second.bin", DbfsUploadTest.randomBytes(3 * 1048576));
+        _dbfs.failReads(1, 1);
+        DatabricksSession databricks = createSession(1, 0);
+        Path path = Files.createTempFile("dbfs-download", ".bin");
+        path.toFile().deleteOnExit();
+
+        try {
+            databricks.downloadDbfsFile("/tmp/second.bin", path, true);
+            Assert.fail("the second read should have failed");
+        } catch(HttpException e) {
+            //checkpoint of /tmp/second.bin saved at 1 MB
+        }
+        databricks.downloadDbfsFile("/tmp/first.bin", path, true);
+        databricks.close();
+
+        Assert.assertArrayEquals(contents, Files.readAllBytes(path));
+        Assert.assertEquals(2 + 3, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    private DatabricksSession createSession(int concurrency, int maxRetries) throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_DOWNLOAD_CONCURRENCY, concurrency);
+        config.setProperty(DatabricksClientConfiguration.RETRY_MAX_RETRIES, maxRetries);
+        config.setProperty(DatabricksClientConfiguration.RETRY_INITIAL_BACKOFF_MILLIS, 1);
+        return new DatabricksSession(config);
+    }
+
+    @Test(expected = HttpException.class)
+    public void testMissingFile() throws Exception {
+        _databricks.downloadDbfsFile("/tmp/missing.bin", new ByteArrayOutputStream());
+    }
+}
@@ -0,0 +1,215 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsInputStream;
+import com.level11data.databricks.dbfs.DbfsOutputStream;
+import com.level11data.databricks.dbfs.DbfsReadChannel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class DbfsStreamTest {
+    StubDatabricksServer _server;
+    StubDbfs _dbfs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.setLatencyMillis(10);
+        _dbfs = new StubDbfs(_server);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_STREAM_READ_AHEAD, 2);
+        _databricks = new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testInputStreamReadsAhead() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(3 * 1048576 + 12345);
+        _dbfs.putFile("/tmp/stream.bin", contents);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = _databricks.openDbfsInputStream("/tmp/stream.bin")) {
+            byte[] buffer = new byte[8191];
+            int read;
+            while((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            Assert.assertEquals(-1, in.read());
+        }
+
+        Assert.assertArrayEquals(contents, out.toByteArray());
+        Assert.assertEquals(4, _server.getRequestCount(StubDbfs.READ));
+        //the buffer being read and the two read ahead
+        int concurrency = _server.getMaxConcurrentRequests(StubDbfs.READ);
+        Assert.assertTrue(concurrency > 1 && concurrency <= 3);
+    }
+
+    @Test
+    public void testShortReadsAreCompleted() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(2 * 1048576);
+        _dbfs.putFile("/tmp/short.bin", contents);
+        _dbfs.setMaxReadLength(700000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new DbfsInputStream(_databricks.getDbfsClient(), "/tmp/short.bin", 1048576, 1)) {
+            int b;
+            while((b = in.read()) >= 0) {
+                out.write(b);
+            }
+        }
+
+        Assert.assertArrayEquals(contents, out.toByteArray());
+    }
+
+    @Test
+    public void testSkipDoesNotReadSkippedBytes() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(4 * 1048576);
+        _dbfs.putFile("/tmp/skip.bin", contents);
+
+        try (InputStream in = new DbfsInputStream(_databricks.getDbfsClient(), "/tmp/skip.bin", 1048576, 0)) {
+            Assert.assertEquals(3 * 1048576 + 10, in.skip(3 * 1048576 + 10));
+            byte[] buffer = new byte[100];
+            Assert.assertEquals(100, in.read(buffer));
+            Assert.assertArrayEquals(Arrays.copyOfRange(contents, 3 * 1048576 + 10, 3 * 1048576 + 110), buffer);
+            Assert.assertEquals(1048576 - 110, in.available());
+            Assert.assertEquals(1048576 - 110, in.skip(Long.MAX_VALUE));
+        }
+
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    @Test
+    public void testSkipIntoBufferReadAheadKeepsIt() throws Exception {
+        int bufferSize = 100000;
+        byte[] contents = DbfsUploadTest.randomBytes(5 * bufferSize);
+        _dbfs.putFile("/tmp/ahead.bin", contents);
+
+        try (InputStream in = new DbfsInputStream(_databricks.getDbfsClient(), "/tmp/ahead.bin", bufferSize, 2)) {
+            Assert.assertEquals(contents[0] & 0xff, in.read());
+            //past the current buffer, into the next one read ahead
+            Assert.assertEquals(bufferSize + 500, in.skip(bufferSize + 500));
+            Assert.assertEquals(contents[bufferSize + 501] & 0xff, in.read());
+            ByteArrayOutputStream rest = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8191];
+            int read;
+            while((read = in.read(buffer)) >= 0) {
+                rest.write(buffer, 0, read);
+            }
+            Assert.assertArrayEquals(Arrays.copyOfRange(contents, bufferSize + 502, contents.length),
+                    rest.toByteArray());
+        }
+
+        //every buffer read once
+        Assert.assertEquals(5, _server.getRequestCount(StubDbfs.READ));
+    }
+
+    @Test
+    public void testChannelReadsAtAnyPosition() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(3 * 1048576);
+        _dbfs.putFile("/tmp/seek.bin", contents);
+
+        try (DbfsReadChannel channel = _databricks.openDbfsChannel("/tmp/seek.bin")) {
+            Assert.assertEquals(contents.length, channel.size());
+
+            ByteBuffer buffer = ByteBuffer.allocate(1000);
+            Assert.assertEquals(1000, channel.position(2 * 1048576 + 500).read(buffer));
+            Assert.assertArrayEquals(Arrays.copyOfRange(contents, 2 * 1048576 + 500, 2 * 1048576 + 1500),
+                    buffer.array());
+
+            buffer.clear();
+            channel.position(7).read(buffer);
+            Assert.assertArrayEquals(Arrays.copyOfRange(contents, 7, 1007), buffer.array());
+            Assert.assertEquals(1007, channel.position());
+
+            buffer.clear();
+            Assert.assertEquals(-1, channel.position(contents.length).read(buffer));
+        }
+    }
+
+    @Test
+    public void testOutputStreamSendsBlocks() throws Exception {
+        int blockSize = DatabricksClientConfiguration.MAX_DBFS_UPLOAD_BLOCK_SIZE;
+        byte[] contents = DbfsUploadTest.randomBytes(2 * blockSize + 1000);
+
+        try (OutputStream out = _databricks.openDbfsOutputStream("/tmp/out.bin", false)) {
+            for(int offset = 0; offset < contents.length; offset += 10000) {
+                out.write(contents, offset, Math.min(10000, contents.length - offset));
+            }
+        }
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/out.bin"));
+        Assert.assertEquals(Arrays.asList(blockSize, blockSize, 1000), _dbfs.getBlockSizes());
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.CREATE));
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.CLOSE));
+        Assert.assertEquals(0, _server.getRequestCount(StubDbfs.PUT));
+    }
+
+    @Test
+    public void testSingleBytesAcrossBlocks() throws Exception {
+        int blockSize = DatabricksClientConfiguration.MAX_DBFS_UPLOAD_BLOCK_SIZE;
+        byte[] contents = DbfsUploadTest.randomBytes(blockSize + 5000);
+
+        try (OutputStream out = _databricks.openDbfsOutputStream("/tmp/bytes.bin", false)) {
+            out.write(contents, 0, blockSize - 2);
+            for(int offset = blockSize - 2; offset < blockSize + 2; offset++) {
+                out.write(contents[offset]);
+            }
+            out.write(contents, blockSize + 2, contents.length - blockSize - 2);
+        }
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/bytes.bin"));
+        Assert.assertEquals(Arrays.asList(blockSize, 5000), _dbfs.getBlockSizes());
+
+        int bufferSize = 100000;
+        try (InputStream in = new DbfsInputStream(_databricks.getDbfsClient(), "/tmp/bytes.bin", bufferSize, 1)) {
+            Assert.assertEquals(contents[0] & 0xff, in.read());
+            Assert.assertEquals(bufferSize - 2, in.skip(bufferSize - 2));
+            Assert.assertEquals(contents[bufferSize - 1] & 0xff, in.read());
+            //from the next buffer
+            Assert.assertEquals(contents[bufferSize] & 0xff, in.read());
+            byte[] buffer = new byte[10];
+            Assert.assertEquals(10, in.read(buffer));
+            Assert.assertArrayEquals(Arrays.copyOfRange(contents, bufferSize + 1, bufferSize + 11), buffer);
+            Assert.assertEquals(contents.length - bufferSize - 11, in.skip(Long.MAX_VALUE));
+            Assert.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testSmallOutputIsPut() throws Exception {
+        byte[] contents = DbfsUploadTest.randomBytes(1000);
+        _dbfs.putFile("/tmp/small.bin", new byte[1]);
+
+        try (OutputStream out = new DbfsOutputStream(_databricks.getDbfsClient(), "/tmp/small.bin", true)) {
+            out.write(contents);
+        }
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/small.bin"));
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.PUT));
+        Assert.assertEquals(0, _server.getRequestCount(StubDbfs.CREATE));
+    }
+
+    @Test(expected = IOException.class)
+    public void testExistingFileIsNotOverwritten() throws Exception {
+        _dbfs.putFile("/tmp/existing.bin", new byte[1]);
+
+        try (OutputStream out = _databricks.openDbfsOutputStream("/tmp/existing.bin", false)) {
+            out.write(DbfsUploadTest.randomBytes(DatabricksClientConfiguration.MAX_DBFS_UPLOAD_BLOCK_SIZE));
+        }
+    }
+}
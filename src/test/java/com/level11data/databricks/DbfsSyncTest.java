@@ -0,0 +1,182 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpNotFoundException;
+import com.level11data.databricks.dbfs.DbfsSync;
+import com.level11data.databricks.dbfs.DbfsSyncResult;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+public class DbfsSyncTest {
+    StubDatabricksServer _server;
+    StubDbfs _dbfs;
+    DatabricksSession _databricks;
+    Path _directory;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _dbfs = new StubDbfs(_server);
+        _databricks = _server.createSession();
+        _directory = Files.createTempDirectory("dbfs-sync");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        _databricks.close();
+        _server.close();
+        try (Stream<Path> paths = Files.walk(_directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testUploadTransfersOnlyDifferences() throws Exception {
+        Path local = _directory.resolve("models");
+        write(local.resolve("a.bin"), DbfsUploadTest.randomBytes(100));
+        write(local.resolve("nested/b.bin"), DbfsUploadTest.randomBytes(2000000));
+        write(local.resolve("nested/deeper/c.bin"), DbfsUploadTest.randomBytes(300));
+        //uploaded by someone else, removed by the sync
+        _dbfs.putFile("/mnt/models/stale.bin", new byte[10]);
+
+        DbfsSyncResult result = _databricks.syncToDbfs(local, "/mnt/models", true);
+
+        Assert.assertEquals(3, result.FilesTransferred);
+        Assert.assertEquals(100 + 2000000 + 300, result.BytesTransferred);
+        Assert.assertEquals(1, result.FilesDeleted);
+        Assert.assertEquals(new TreeSet<>(Arrays.asList(
+                "/mnt/models/a.bin", "/mnt/models/nested/b.bin", "/mnt/models/nested/deeper/c.bin")),
+                _dbfs.getPaths());
+        Assert.assertArrayEquals(DbfsUploadTest.randomBytes(2000000), _dbfs.getFile("/mnt/models/nested/b.bin"));
+
+        write(local.resolve("a.bin"), DbfsUploadTest.randomBytes(101));
+        result = _databricks.syncToDbfs(local, "/mnt/models/", true);
+
+        Assert.assertEquals(1, result.FilesTransferred);
+        Assert.assertEquals(101, result.BytesTransferred);
+        Assert.assertEquals(2, result.FilesSkipped);
+        Assert.assertEquals(0, result.FilesDeleted);
+        Assert.assertArrayEquals(DbfsUploadTest.randomBytes(101), _dbfs.getFile("/mnt/models/a.bin"));
+    }
+
+    @Test
+    public void testDownloadTransfersOnlyDifferences() throws Exception {
+        _dbfs.putFile("/mnt/data/x.csv", DbfsUploadTest.randomBytes(50));
+        _dbfs.putFile("/mnt/data/2018/y.csv", DbfsUploadTest.randomBytes(1500000));
+        Path local = _directory.resolve("data");
+        write(local.resolve("orphan.csv"), new byte[1]);
+
+        DbfsSyncResult result = _databricks.syncFromDbfs("/mnt/data", local, true);
+
+        Assert.assertEquals(2, result.FilesTransferred);
+        Assert.assertEquals(1, result.FilesDeleted);
+        Assert.assertArrayEquals(DbfsUploadTest.randomBytes(1500000), Files.readAllBytes(local.resolve("2018/y.csv")));
+        Assert.assertFalse(Files.exists(local.resolve("orphan.csv")));
+
+        _dbfs.putFile("/mnt/data/x.csv", DbfsUploadTest.randomBytes(50));
+        result = _databricks.syncFromDbfs("/mnt/data", local, false);
+
+        //same size, but written since
+        Assert.assertEquals(1, result.FilesTransferred);
+        Assert.assertEquals(1, result.FilesSkipped);
+    }
+
+    @Test
+    public void testChecksumSkipsTouchedFiles() throws Exception {
+        Path local = _directory.resolve("scripts");
+        Path script = write(local.resolve("job.py"), DbfsUploadTest.randomBytes(700));
+        DbfsSync sync = new DbfsSync(_databricks.getDbfsClient()).withChecksum(true);
+
+        Assert.assertEquals(1, sync.upload(local, "/mnt/scripts").FilesTransferred);
+        //as after a fresh checkout
+        Files.setLastModifiedTime(script, FileTime.fromMillis(System.currentTimeMillis() + 3600000));
+        DbfsSyncResult result = sync.upload(local, "/mnt/scripts");
+
+        Assert.assertEquals(0, result.FilesTransferred);
+        Assert.assertEquals(1, result.FilesSkipped);
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.PUT) - 1);
+
+        //the manifest goes along with the file
+        Files.delete(script);
+        Assert.assertEquals(1, sync.withDelete(true).upload(local, "/mnt/scripts").FilesDeleted);
+        Assert.assertTrue(_dbfs.getPaths().isEmpty());
+    }
+
+    @Test
+    public void testFailuresAreReportedPerFile() throws Exception {
+        _dbfs.putFile("/mnt/data/x.csv", DbfsUploadTest.randomBytes(50));
+        _dbfs.putFile("/mnt/data/blocked/y.csv", DbfsUploadTest.randomBytes(60));
+        _dbfs.putFile("/mnt/data/z.csv", DbfsUploadTest.randomBytes(70));
+        Path local = _directory.resolve("data");
+        //where the directory of y.csv would be
+        write(local.resolve("blocked"), new byte[1]);
+
+        DbfsSyncResult result = _databricks.syncFromDbfs("/mnt/data", local, false);
+
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(result.Failed.keySet().toString(), 1, result.Failed.size());
+        Assert.assertTrue(result.Failed.get("blocked/y.csv") instanceof IOException);
+        Assert.assertEquals(2, result.FilesTransferred);
+        Assert.assertEquals(50 + 70, result.BytesTransferred);
+        Assert.assertArrayEquals(DbfsUploadTest.randomBytes(70), Files.readAllBytes(local.resolve("z.csv")));
+
+        //blocked, x.csv and z.csv; the probe of the modification time resolution is deleted
+        try (Stream<Path> paths = Files.list(local)) {
+            Assert.assertEquals(3, paths.count());
+        }
+    }
+
+    @Test
+    public void testMissingDestinationIsCreated() throws Exception {
+        write(_directory.resolve("models/a.bin"), DbfsUploadTest.randomBytes(100));
+        DbfsSyncResult uploaded = _databricks.syncToDbfs(_directory.resolve("models"), "/mnt/missing", true);
+        Assert.assertEquals(1, uploaded.FilesTransferred);
+
+        DbfsSyncResult downloaded = _databricks.syncFromDbfs("/mnt/missing", _directory.resolve("missing"), true);
+        Assert.assertEquals(1, downloaded.FilesTransferred);
+        Assert.assertTrue(Files.exists(_directory.resolve("missing/a.bin")));
+    }
+
+    @Test
+    public void testMissingLocalSourceDeletesNothing() throws Exception {
+        _dbfs.putFile("/mnt/models/a.bin", DbfsUploadTest.randomBytes(100));
+
+        try {
+            _databricks.syncToDbfs(_directory.resolve("mistyped"), "/mnt/models", true);
+            Assert.fail("Synchronized from a missing directory");
+        } catch(NoSuchFileException e) {
+            Assert.assertEquals(new TreeSet<>(Arrays.asList("/mnt/models/a.bin")), _dbfs.getPaths());
+            Assert.assertEquals(0, _server.getRequestCount(StubDbfs.DELETE));
+        }
+    }
+
+    @Test
+    public void testMissingDbfsSourceDeletesNothing() throws Exception {
+        Path local = write(_directory.resolve("data/x.csv"), DbfsUploadTest.randomBytes(50));
+
+        try {
+            _databricks.syncFromDbfs("/mnt/mistyped", _directory.resolve("data"), true);
+            Assert.fail("Synchronized from a missing directory");
+        } catch(HttpNotFoundException e) {
+            Assert.assertTrue(Files.exists(local));
+        }
+    }
+
+    private static Path write(Path path, byte[] contents) throws IOException {
+        Files.createDirectories(path.getParent());
+        return Files.write(path, contents);
+    }
+}
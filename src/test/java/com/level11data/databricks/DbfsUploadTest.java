@@ -0,0 +1,197 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsHelper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+public class DbfsUploadTest {
+    StubDatabricksServer _server;
+    StubDbfs _dbfs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _dbfs = new StubDbfs(_server);
+        _databricks = _server.createSession();
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testSmallFileIsPut() throws Exception {
+        byte[] contents = randomBytes(1000);
+        File file = writeTempFile(contents);
+
+        _databricks.putDbfsFile(file, "/tmp/small.bin", true);
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/small.bin"));
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.PUT));
+        Assert.assertEquals(0, _server.getRequestCount(StubDbfs.CREATE));
+    }
+
+    @Test
+    public void testLargeFileIsStreamedInBlocks() throws Exception {
+        byte[] contents = randomBytes(2 * DbfsHelper.MAX_UPLOAD_BLOCK_SIZE + 12345);
+        File file = writeTempFile(contents);
+
+        _databricks.putDbfsFile(file, "/tmp/large.bin", true);
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/large.bin"));
+        Assert.assertEquals(Arrays.asList(DbfsHelper.MAX_UPLOAD_BLOCK_SIZE, DbfsHelper.MAX_UPLOAD_BLOCK_SIZE, 12345),
+                _dbfs.getBlockSizes());
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.CLOSE));
+    }
+
+    @Test
+    public void testFileLargerThanOneMappedRegion() throws Exception {
+        //regions of the mapped file are 64 MB
+        byte[] contents = randomBytes(65 * 1048576 + 17);
+        File file = writeTempFile(contents);
+
+        _databricks.putDbfsFile(file.toPath(), "/tmp/mapped.bin", true);
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/mapped.bin"));
+        file.delete();
+    }
+
+    @Test(timeout = 30000)
+    public void testMoreBlocksThanPooledConnections() throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.HTTP_MAX_CONNECTIONS_PER_ROUTE, 2);
+        DatabricksSession databricks = new DatabricksSession(config);
+        byte[] contents = randomBytes(5 * DbfsHelper.MAX_UPLOAD_BLOCK_SIZE);
+
+        try {
+            databricks.putDbfsFile(writeTempFile(contents), "/tmp/pooled.bin", true);
+        } finally {
+            databricks.close();
+        }
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/pooled.bin"));
+    }
+
+    @Test
+    public void testStreamAndChannelUpload() throws Exception {
+        byte[] contents = randomBytes(DbfsHelper.MAX_UPLOAD_BLOCK_SIZE + 1);
+
+        _databricks.putDbfsFile(new ByteArrayInputStream(contents), "/tmp/stream.bin", true);
+        DbfsHelper.putChannel(_databricks.getDbfsClient(),
+                Channels.newChannel(new ByteArrayInputStream(contents)), "/tmp/channel.bin", true);
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/stream.bin"));
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/channel.bin"));
+        Assert.assertArrayEquals(contents, _databricks.getDbfsObject("/tmp/stream.bin"));
+    }
+
+    @Test
+    public void testConfiguredBlockSize() throws Exception {
+        for(int readAhead : new int[] {0, 2}) {
+            DatabricksClientConfiguration config = _server.createConfig();
+            config.setProperty(DatabricksClientConfiguration.DBFS_UPLOAD_BLOCK_SIZE, 1000);
+            config.setProperty(DatabricksClientConfiguration.DBFS_UPLOAD_READ_AHEAD, readAhead);
+            DatabricksSession databricks = new DatabricksSession(config);
+            _dbfs.getBlockSizes().clear();
+            //ends on a block boundary
+            byte[] contents = randomBytes(5000);
+
+            try {
+                databricks.putDbfsFile(writeTempFile(contents), "/tmp/blocks.bin", true);
+            } finally {
+                databricks.close();
+            }
+
+            Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/blocks.bin"));
+            Assert.assertEquals(Arrays.asList(1000, 1000, 1000, 1000, 1000), _dbfs.getBlockSizes());
+        }
+    }
+
+    @Test
+    public void testReadFailureIsThrown() throws Exception {
+        InputStream failing = new SequenceInputStream(
+                new ByteArrayInputStream(randomBytes(2 * DbfsHelper.MAX_UPLOAD_BLOCK_SIZE)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("disk failure");
+                    }
+                });
+
+        try {
+            _databricks.putDbfsFile(failing, "/tmp/failing.bin", true);
+            Assert.fail("IOException expected");
+        } catch(IOException e) {
+            Assert.assertEquals("disk failure", e.getMessage());
+        }
+        Assert.assertEquals(0, _server.getRequestCount(StubDbfs.CLOSE));
+    }
+
+    @Test
+    public void testUnchangedFileIsNotUploadedAgain() throws Exception {
+        byte[] contents = randomBytes(3 * DbfsHelper.MAX_UPLOAD_BLOCK_SIZE);
+        File file = writeTempFile(contents);
+
+        Assert.assertTrue(_databricks.putDbfsFileIfChanged(file, "/tmp/library.jar", false));
+        Assert.assertFalse(_databricks.putDbfsFileIfChanged(file, "/tmp/library.jar", false));
+        Assert.assertFalse(_databricks.putDbfsFileIfChanged(file, "/tmp/library.jar", false));
+
+        Assert.assertArrayEquals(contents, _dbfs.getFile("/tmp/library.jar"));
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.CREATE));
+        //the manifest
+        Assert.assertEquals(1, _server.getRequestCount(StubDbfs.PUT));
+    }
+
+    @Test
+    public void testChangedFileIsUploadedOverItsPreviousVersion() throws Exception {
+        File file = writeTempFile(randomBytes(1000));
+        Assert.assertTrue(_databricks.putDbfsFileIfChanged(file, "/tmp/script.py", false));
+
+        byte[] changed = randomBytes(1001);
+        Files.write(file.toPath(), changed);
+        Assert.assertTrue(_databricks.putDbfsFileIfChanged(file, "/tmp/script.py", false));
+        Assert.assertArrayEquals(changed, _dbfs.getFile("/tmp/script.py"));
+
+        //written by other means since, so the manifest no longer vouches for it
+        _dbfs.putFile("/tmp/script.py", changed);
+        try {
+            _databricks.putDbfsFileIfChanged(file, "/tmp/script.py", false);
+            Assert.fail("a file without a current manifest is only replaced with overwrite");
+        } catch(HttpException e) {
+            Assert.assertTrue(e.getMessage().contains("RESOURCE_ALREADY_EXISTS"));
+        }
+        Assert.assertTrue(_databricks.putDbfsFileIfChanged(file, "/tmp/script.py", true));
+        Assert.assertFalse(_databricks.putDbfsFileIfChanged(file, "/tmp/script.py", false));
+    }
+
+    static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    static File writeTempFile(byte[] contents) throws Exception {
+        File file = File.createTempFile("dbfs-upload", ".bin");
+        file.deleteOnExit();
+        Files.write(file.toPath(), contents);
+        return file;
+    }
+}
@@ -0,0 +1,99 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpNotFoundException;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsFileInfo;
+import com.level11data.databricks.dbfs.DbfsWalker;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class DbfsWalkerTest {
+    StubDatabricksServer _server;
+    StubDbfs _dbfs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.setLatencyMillis(10);
+        _dbfs = new StubDbfs(_server);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_LIST_CONCURRENCY, 4);
+        _databricks = new DatabricksSession(config);
+
+        //3 years x 12 months x 3 files, in 1 + 3 + 36 directories
+        for(int year = 2016; year <= 2018; year++) {
+            for(int month = 1; month <= 12; month++) {
+                for(String name : new String[] {"a.csv", "b.csv", "c.json"}) {
+                    _dbfs.putFile("/mnt/events/" + year + "/" + month + "/" + name, new byte[month]);
+                }
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testWalkListsDirectoriesConcurrently() throws Exception {
+        Set<String> files;
+        try (DbfsWalker walker = _databricks.walkDbfs("/mnt/events")) {
+            files = walker.stream().filter(fileInfo -> !fileInfo.IsDir).map(fileInfo -> fileInfo.Path)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        Assert.assertEquals(_dbfs.getPaths(), files);
+        Assert.assertEquals(40, _server.getRequestCount(StubDbfs.LIST));
+        int concurrency = _server.getMaxConcurrentRequests(StubDbfs.LIST);
+        Assert.assertTrue(concurrency > 1 && concurrency <= 4);
+    }
+
+    @Test
+    public void testGlobPrunesDirectories() throws Exception {
+        Set<String> files;
+        try (Stream<DbfsFileInfo> walk = _databricks.walkDbfs("/mnt/events/").withGlob("2018/**/*.csv").stream()) {
+            files = walk.map(fileInfo -> fileInfo.Path).collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        Assert.assertEquals(24, files.size());
+        Assert.assertTrue(files.contains("/mnt/events/2018/7/b.csv"));
+        //the root, 2018 and its months
+        Assert.assertEquals(1 + 1 + 12, _server.getRequestCount(StubDbfs.LIST));
+    }
+
+    @Test
+    public void testStoppingEarlyStopsListing() throws Exception {
+        //the listings after the first month are held, so the walk cannot go on while the caller stops
+        _dbfs.holdListingsAfter(".json");
+        try (Stream<DbfsFileInfo> walk = _databricks.walkDbfs("/mnt/events").stream()) {
+            Assert.assertTrue(walk.filter(fileInfo -> fileInfo.Path.endsWith(".json")).findAny().isPresent());
+        }
+        _dbfs.releaseListings();
+
+        //only the listings in flight when the walker was closed are held, none follows them
+        Assert.assertTrue(_dbfs.getHeldListings() <= _databricks.getDbfsListConcurrency());
+        Assert.assertTrue(_server.getRequestCount(StubDbfs.LIST) < 40);
+    }
+
+    @Test
+    public void testMissingRootIsThrown() throws Exception {
+        try (DbfsWalker walker = _databricks.walkDbfs("/mnt/missing")) {
+            walker.hasNext();
+            Assert.fail("the root does not exist");
+        } catch(UncheckedIOException e) {
+            Assert.assertTrue(e.getCause().getCause() instanceof HttpNotFoundException);
+        }
+    }
+}
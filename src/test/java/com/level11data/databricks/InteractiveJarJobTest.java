@@ -84,9 +84,7 @@ public class InteractiveJarJobTest {
         //Run Job
         InteractiveJarJobRun run = job.run();
 
-        while(!run.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(10000); //wait 10 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(run).get();
 
         //System.out.println(run.getRunState());
 
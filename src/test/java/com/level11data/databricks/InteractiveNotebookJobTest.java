@@ -79,9 +79,7 @@ public class InteractiveNotebookJobTest {
 
         Assert.assertEquals("Job Run Override is not zero", 0, jobRun.OverridingParameters.size());
 
-        while(!jobRun.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRun).get();
 
         Assert.assertEquals("Job Run Output Does Not Match", "2", jobRun.getOutput());
 
@@ -145,9 +143,7 @@ public class InteractiveNotebookJobTest {
         Assert.assertEquals("Parameter 2 was not set", "World",
                 jobRun.BaseParameters.get("parameter2"));
 
-        while(!jobRun.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRun).get();
 
         Assert.assertEquals("Job Output Does Not Match", "This is Parameter 1: Hello, and this is Parameter 2: World",
                 jobRun.getOutput());
@@ -164,9 +160,7 @@ public class InteractiveNotebookJobTest {
         Assert.assertEquals("Override Parameter 2 was not set", "Override Two",
                 jobRunWithParamOverride.OverridingParameters.get("parameter2"));
 
-        while(!jobRunWithParamOverride.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRunWithParamOverride).get();
 
         Assert.assertEquals("Job Output Does Not Match", "This is Parameter 1: Override One, and this is Parameter 2: Override Two",
                 jobRunWithParamOverride.getOutput());
@@ -0,0 +1,190 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.job.run.BatchRun;
+import com.level11data.databricks.job.run.JobBatch;
+import com.level11data.databricks.job.run.JobBatchProgress;
+import com.level11data.databricks.job.run.JobRunException;
+import com.level11data.databricks.job.run.RunLifeCycleState;
+import com.level11data.databricks.job.run.RunRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class JobBatchTest {
+    StubDatabricksServer _server;
+    StubJobs _jobs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _jobs = new StubJobs(_server);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS, 10);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS, 40);
+        config.setProperty(DatabricksClientConfiguration.JOBS_SUBMIT_CONCURRENCY, 4);
+        _databricks = new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    private static List<RunRequest> requests(long jobId, int count) {
+        List<RunRequest> requests = new ArrayList<>();
+        for(int i = 0; i < count; i++) {
+            requests.add(new RunRequest(jobId).withNotebookParams(Collections.singletonMap("partition", "" + i)));
+        }
+        return requests;
+    }
+
+    @Test
+    public void testRunsStayWithinMaxConcurrentRuns() throws Exception {
+        _jobs.addJob(1, "fan-out", 3, "PENDING", "RUNNING", "RUNNING", "TERMINATED:SUCCESS");
+        _jobs.addJob(2, "serial", 1, "RUNNING", "TERMINATED:SUCCESS");
+        _server.setLatencyMillis(5);
+        List<RunRequest> requests = requests(1, 20);
+        requests.addAll(requests(2, 5));
+
+        JobBatch batch = _databricks.submitAll(requests);
+        batch.awaitTermination().get(30, TimeUnit.SECONDS);
+
+        JobBatchProgress progress = batch.getProgress();
+        Assert.assertEquals(progress.toString(), 25, progress.Terminated);
+        Assert.assertEquals(0, progress.Queued);
+        Assert.assertEquals(0, progress.Failed);
+        Assert.assertEquals(0, _jobs.getSkippedRuns(1));
+        Assert.assertEquals(0, _jobs.getSkippedRuns(2));
+        Assert.assertTrue(_jobs.getMaxActiveRuns(1) > 1 && _jobs.getMaxActiveRuns(1) <= 3);
+        Assert.assertEquals(1, _jobs.getMaxActiveRuns(2));
+        Assert.assertTrue(_server.getMaxConcurrentRequests(StubJobs.RUN_NOW) <= 4);
+
+        HashSet<Long> runIds = new HashSet<>();
+        for(BatchRun run : batch.getRuns()) {
+            runIds.add(run.getRunId().get());
+            Assert.assertEquals(RunLifeCycleState.TERMINATED, run.getTermination().get().LifeCycleState);
+        }
+        Assert.assertEquals(25, runIds.size());
+    }
+
+    @Test
+    public void testActiveRunsOfJobHoldItsSlots() throws Exception {
+        _jobs.addJob(1, "serial", 1, "RUNNING", "TERMINATED:SUCCESS");
+        //started outside of the batch
+        _jobs.addRun(1, 1, "RUNNING", "RUNNING", "RUNNING", "TERMINATED:SUCCESS");
+
+        JobBatch batch = _databricks.submitAll(requests(1, 3));
+        batch.awaitTermination().get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(3, batch.getProgress().Terminated);
+        Assert.assertEquals(0, _jobs.getSkippedRuns(1));
+        Assert.assertEquals(1, _jobs.getMaxActiveRuns(1));
+    }
+
+    @Test
+    public void testRunsOfMissingJobFail() throws Exception {
+        _jobs.addJob(1, "serial", 1, "TERMINATED:SUCCESS");
+        List<RunRequest> requests = requests(1, 2);
+        requests.add(new RunRequest(99));
+
+        JobBatch batch = _databricks.submitAll(requests);
+        batch.awaitTermination().get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(2, batch.getProgress().Terminated);
+        Assert.assertEquals(1, batch.getProgress().Failed);
+        try {
+            batch.getRuns().get(2).getRunId().get();
+            Assert.fail("Run of a missing job was submitted");
+        } catch(ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof JobRunException);
+        }
+    }
+
+    @Test
+    public void testCancelFailsQueuedRuns() throws Exception {
+        _jobs.addJob(1, "serial", 1, "RUNNING", "RUNNING", "TERMINATED:SUCCESS");
+
+        JobBatch batch = _databricks.submitAll(requests(1, 5));
+        List<BatchRun> runs = batch.getRuns();
+        runs.get(0).getRunId().get(10, TimeUnit.SECONDS);
+        batch.cancel();
+        batch.awaitTermination().get(30, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, batch.getProgress().Terminated);
+        Assert.assertEquals(4, batch.getProgress().Failed);
+        try {
+            runs.get(4).getRunId().get();
+            Assert.fail("Run was submitted after the batch was cancelled");
+        } catch(ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof CancellationException);
+        }
+    }
+
+    @Test
+    public void testClosingTheSessionFailsRunsInFlight() throws Exception {
+        _jobs.addJob(1, "fan-out", 2, "RUNNING");
+        //started outside of the batch, holding one of the slots
+        _jobs.addRun(1, 1, "RUNNING");
+        _server.setLatencyMillis(300);
+
+        JobBatch batch = _databricks.submitAll(requests(1, 3));
+        while(_server.getRequestCount(StubJobs.RUN_NOW) == 0) {
+            Thread.sleep(10);
+        }
+        //resolved, with a run-now in flight
+        _databricks.close();
+        batch.awaitTermination().get(10, TimeUnit.SECONDS);
+
+        for(BatchRun run : batch.getRuns()) {
+            try {
+                run.getTermination().get();
+                Assert.fail("Run terminated after the session was closed");
+            } catch(ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof JobRunException);
+            }
+        }
+        JobBatchProgress progress = batch.getProgress();
+        Assert.assertEquals(progress.toString(), 3, progress.Failed);
+        Assert.assertEquals(progress.toString(), 0, progress.Queued + progress.Submitted);
+    }
+
+    @Test
+    public void testRunsSubmittedAfterTheMonitorClosedFail() throws Exception {
+        _jobs.addJob(1, "serial", 1, "RUNNING");
+        _server.setLatencyMillis(300);
+
+        JobBatch batch = _databricks.submitAll(requests(1, 2));
+        while(_server.getRequestCount(StubJobs.RUN_NOW) == 0) {
+            Thread.sleep(10);
+        }
+        //the run-now in flight completes once the monitor is closed
+        _databricks.getRunMonitor().close();
+        batch.awaitTermination().get(10, TimeUnit.SECONDS);
+
+        for(BatchRun run : batch.getRuns()) {
+            Assert.assertTrue(run.getRunId().get() > 0);
+            try {
+                run.getTermination().get();
+                Assert.fail("Run terminated after the monitor was closed");
+            } catch(ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof JobRunException);
+            }
+        }
+        JobBatchProgress progress = batch.getProgress();
+        Assert.assertEquals(progress.toString(), 2, progress.Failed);
+        Assert.assertEquals(progress.toString(), 0, progress.Submitted);
+    }
+}
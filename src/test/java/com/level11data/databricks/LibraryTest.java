@@ -110,9 +110,7 @@ public class LibraryTest {
         //run job
         InteractiveNotebookJobRun jobRun = job.run();
 
-        while(!jobRun.getRunState().LifeCycleState.isFinal()) {
-            Thread.sleep(5000); //wait 5 seconds
-        }
+        _databricks.getRunMonitor().awaitTermination(jobRun).get();
 
         Assert.assertEquals("Job Run Was NOT Successful", RunResultState.SUCCESS ,jobRun.getRunState().ResultState);
 
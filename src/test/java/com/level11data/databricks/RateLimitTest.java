@@ -0,0 +1,113 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.EndpointFamily;
+import com.level11data.databricks.client.HttpException;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RateLimitTest {
+    private static final String RUNS_GET = "/api/2.0/jobs/runs/get";
+
+    StubDatabricksServer _server;
+    AtomicInteger _throttledResponses = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.handle(RUNS_GET, exchange -> {
+            if(_throttledResponses.getAndDecrement() > 0) {
+                exchange.getResponseHeaders().set("Retry-After", "0");
+                StubDatabricksServer.send(exchange, 429, "{\"error_code\":\"REQUEST_LIMIT_EXCEEDED\"}");
+            } else {
+                String runId = StubDatabricksServer.queryParam(exchange, "run_id");
+                StubDatabricksServer.send(exchange, 200,
+                        "{\"run_id\":" + runId + ",\"job_id\":7,\"state\":{\"life_cycle_state\":\"RUNNING\"}}");
+            }
+        });
+    }
+
+    private DatabricksSession createSession() throws Exception {
+        //a configured rate keeps the adaptive backoff from slowing the test down to the minimum rate
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty("com.level11data.databricks.client.rateLimit.jobs", 100);
+        return new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _server.close();
+    }
+
+    @Test
+    public void testThrottledRequestIsResent() throws Exception {
+        _throttledResponses.set(3);
+        try (DatabricksSession databricks = createSession()) {
+            RunDTO run = databricks.getJobsClient().getRun(42);
+
+            Assert.assertEquals("Run Id does not match", 42, run.RunId);
+            Assert.assertEquals("Throttled requests should be resent", 4, _server.getRequestCount(RUNS_GET));
+            Assert.assertEquals("Throttled count does not match", 3,
+                    databricks.getRateLimiter(EndpointFamily.JOBS).getThrottledCount());
+            Assert.assertEquals("Other families should not be throttled", 0,
+                    databricks.getRateLimiter(EndpointFamily.DBFS).getThrottledCount());
+            Assert.assertFalse("Jobs family should be limited after throttling",
+                    Double.isInfinite(databricks.getRateLimiter(EndpointFamily.JOBS).getRate()));
+        }
+    }
+
+    @Test
+    public void testThrottledAsyncRequestIsResent() throws Exception {
+        _throttledResponses.set(2);
+        try (DatabricksSession databricks = createSession()) {
+            RunDTO run = databricks.getJobsClient().getRunAsync(42).get(30, TimeUnit.SECONDS);
+
+            Assert.assertEquals("Run Id does not match", 42, run.RunId);
+            Assert.assertEquals("Throttled requests should be resent", 3, _server.getRequestCount(RUNS_GET));
+        }
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+        _throttledResponses.set(Integer.MAX_VALUE);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty("com.level11data.databricks.client.rateLimit.jobs", 100);
+        config.setProperty(DatabricksClientConfiguration.RATE_LIMIT_MAX_RETRIES, 2);
+
+        try (DatabricksSession databricks = new DatabricksSession(config)) {
+            JobsClient client = databricks.getJobsClient();
+            try {
+                client.getRun(42);
+                Assert.fail("HttpException expected once retries are exhausted");
+            } catch(HttpException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("HTTP 429"));
+            }
+            Assert.assertEquals("Request should be sent once plus retries", 3, _server.getRequestCount(RUNS_GET));
+
+            try {
+                client.getRunAsync(42).get(30, TimeUnit.SECONDS);
+                Assert.fail("HttpException expected once retries are exhausted");
+            } catch(ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof HttpException);
+            }
+        }
+    }
+
+    @Test
+    public void testEndpointFamily() {
+        Assert.assertEquals(EndpointFamily.JOBS, EndpointFamily.of("api/2.0/jobs/runs/get"));
+        Assert.assertEquals(EndpointFamily.DBFS, EndpointFamily.of("/api/2.0/dbfs/add-block"));
+        Assert.assertEquals(EndpointFamily.COMMANDS, EndpointFamily.of("/api/1.2/commands/status"));
+        Assert.assertEquals(EndpointFamily.OTHER, EndpointFamily.of("/api/2.0/token/list"));
+        Assert.assertEquals(EndpointFamily.OTHER, EndpointFamily.of("/"));
+    }
+}
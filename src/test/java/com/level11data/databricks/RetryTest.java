@@ -0,0 +1,109 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.HttpServerSideException;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import com.level11data.databricks.client.entities.jobs.RunsSubmitRequestDTO;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryTest {
+    private static final String RUNS_GET = "/api/2.0/jobs/runs/get";
+    private static final String RUNS_SUBMIT = "/api/2.0/jobs/runs/submit";
+
+    StubDatabricksServer _server;
+    AtomicInteger _failures = new AtomicInteger();
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.handle(RUNS_GET, exchange -> {
+            if(_failures.getAndDecrement() > 0) {
+                StubDatabricksServer.send(exchange, 500, "{\"error_code\":\"INTERNAL_ERROR\"}");
+            } else {
+                String runId = StubDatabricksServer.queryParam(exchange, "run_id");
+                StubDatabricksServer.send(exchange, 200,
+                        "{\"run_id\":" + runId + ",\"job_id\":7,\"state\":{\"life_cycle_state\":\"RUNNING\"}}");
+            }
+        });
+        _server.handle(RUNS_SUBMIT, exchange -> {
+            StubDatabricksServer.readBody(exchange);
+            if(_failures.getAndDecrement() > 0) {
+                StubDatabricksServer.send(exchange, 502, "Bad Gateway");
+            } else {
+                StubDatabricksServer.send(exchange, 200, "{\"run_id\":42}");
+            }
+        });
+
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.RETRY_INITIAL_BACKOFF_MILLIS, 10);
+        _databricks = new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testIdempotentRequestIsRetried() throws Exception {
+        _failures.set(2);
+        RunDTO run = _databricks.getJobsClient().getRun(42);
+
+        Assert.assertEquals("Run Id does not match", 42, run.RunId);
+        Assert.assertEquals("Failed requests should be resent", 3, _server.getRequestCount(RUNS_GET));
+        Assert.assertEquals("Retry count does not match", 2, _databricks.getRetryPolicy().getRetryCount());
+
+        _failures.set(1);
+        run = _databricks.getJobsClient().getRunAsync(43).get(30, TimeUnit.SECONDS);
+        Assert.assertEquals("Run Id does not match", 43, run.RunId);
+        Assert.assertEquals("Retry count does not match", 3, _databricks.getRetryPolicy().getRetryCount());
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+        _failures.set(Integer.MAX_VALUE);
+        try {
+            _databricks.getJobsClient().getRun(42);
+            Assert.fail("HttpServerSideException expected once retries are exhausted");
+        } catch(HttpServerSideException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("HTTP 500"));
+        }
+        int maxRetries = DatabricksClientConfiguration.DEFAULT_RETRY_MAX_RETRIES;
+        Assert.assertEquals("Request should be sent once plus retries", 1 + maxRetries,
+                _server.getRequestCount(RUNS_GET));
+        Assert.assertEquals("Exhausted count does not match", 1, _databricks.getRetryPolicy().getExhaustedCount());
+    }
+
+    @Test
+    public void testSubmitRetriedOnlyWithIdempotencyToken() throws Exception {
+        JobsClient client = _databricks.getJobsClient();
+        RunsSubmitRequestDTO request = new RunsSubmitRequestDTO();
+        request.RunName = "retry test";
+
+        _failures.set(1);
+        try {
+            client.submitRunAsync(request).get(30, TimeUnit.SECONDS);
+            Assert.fail("runs/submit without idempotency token should not be retried");
+        } catch(ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof HttpServerSideException);
+        }
+        Assert.assertEquals("Request should be sent once", 1, _server.getRequestCount(RUNS_SUBMIT));
+
+        _failures.set(1);
+        request.IdempotencyToken = "retry-test-token";
+        Assert.assertEquals("Run Id does not match", 42, client.submitRun(request).RunId);
+        Assert.assertEquals("Request with idempotency token should be resent", 3,
+                _server.getRequestCount(RUNS_SUBMIT));
+    }
+}
@@ -0,0 +1,180 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.job.run.RunEvent;
+import com.level11data.databricks.job.run.RunEventPublisher;
+import com.level11data.databricks.job.run.RunEventType;
+import com.level11data.databricks.job.run.RunLifeCycleState;
+import com.level11data.databricks.job.run.RunMonitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RunEventPublisherTest {
+    StubDatabricksServer _server;
+    StubJobs _jobs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _jobs = new StubJobs(_server);
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS, 10);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS, 40);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_EVENT_BUFFER_SIZE, 4);
+        _databricks = new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    private static class RecordingSubscriber implements Subscriber<RunEvent> {
+        final long InitialRequest;
+        final List<RunEvent> Events = new CopyOnWriteArrayList<>();
+        final CountDownLatch Terminated = new CountDownLatch(1);
+        volatile Subscription Subscription;
+        volatile Throwable Error;
+        volatile boolean Completed;
+
+        RecordingSubscriber(long initialRequest) {
+            InitialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            Subscription = subscription;
+            if(InitialRequest > 0) {
+                subscription.request(InitialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(RunEvent event) {
+            Events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Error = throwable;
+            Terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            Completed = true;
+            Terminated.countDown();
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while(Events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    public void testTransitionsDurationsAndOutput() throws Exception {
+        _jobs.addRun(1, 1, "PENDING", "RUNNING", "RUNNING", "TERMINATED:SUCCESS");
+        _jobs.setOutput(1, "42");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        _databricks.getRunEventPublisher().subscribe(subscriber);
+
+        _databricks.getRunMonitor().awaitTermination(1).get(10, TimeUnit.SECONDS);
+        subscriber.awaitEvents(4);
+
+        List<RunEvent> events = subscriber.Events;
+        Assert.assertEquals(events.toString(), 4, events.size());
+        Assert.assertEquals(RunEventType.TRANSITION, events.get(0).Type);
+        Assert.assertNull(events.get(0).PreviousState);
+        Assert.assertEquals(RunLifeCycleState.PENDING, events.get(0).State.LifeCycleState);
+        Assert.assertEquals(RunLifeCycleState.RUNNING, events.get(1).State.LifeCycleState);
+
+        RunEvent terminated = events.get(2);
+        Assert.assertEquals(RunEventType.TRANSITION, terminated.Type);
+        Assert.assertEquals(RunLifeCycleState.TERMINATED, terminated.State.LifeCycleState);
+        Assert.assertEquals(RunLifeCycleState.RUNNING, terminated.PreviousState.LifeCycleState);
+        Assert.assertEquals(Long.valueOf(StubJobs.EXECUTION_DURATION), terminated.ExecutionDuration);
+
+        RunEvent output = events.get(3);
+        Assert.assertEquals(RunEventType.OUTPUT, output.Type);
+        Assert.assertEquals(1, output.RunId);
+        Assert.assertEquals("42", output.Output);
+        Assert.assertNull(output.Error);
+    }
+
+    @Test
+    public void testEventsAreDeliveredOnDemand() throws Exception {
+        _jobs.addRun(1, 1, "PENDING", "RUNNING", "TERMINATED:FAILED");
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        _databricks.getRunEventPublisher().subscribe(subscriber);
+
+        _databricks.getRunMonitor().awaitTermination(1).get(10, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        Assert.assertEquals(1, subscriber.Events.size());
+
+        subscriber.Subscription.request(2);
+        subscriber.awaitEvents(3);
+        Assert.assertEquals(3, subscriber.Events.size());
+        Assert.assertEquals(RunLifeCycleState.TERMINATED, subscriber.Events.get(2).State.LifeCycleState);
+        Assert.assertNull(subscriber.Error);
+    }
+
+    @Test
+    public void testSubscriberFallingBehindFails() throws Exception {
+        RunMonitor monitor = _databricks.getRunMonitor();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        RunEventPublisher publisher = _databricks.getRunEventPublisher();
+        publisher.subscribe(subscriber);
+        for(long runId = 1; runId <= 3; runId++) {
+            _jobs.addRun(runId, 1, "RUNNING", "TERMINATED:SUCCESS");
+            monitor.awaitTermination(runId).get(10, TimeUnit.SECONDS);
+        }
+
+        //6 events buffered past 4
+        Assert.assertTrue(subscriber.Terminated.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(subscriber.Error instanceof IllegalStateException);
+        Assert.assertEquals(0, subscriber.Events.size());
+        Assert.assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void testNonPositiveRequestFails() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        _databricks.getRunEventPublisher().subscribe(subscriber);
+        while(subscriber.Subscription == null) {
+            Thread.sleep(10);
+        }
+
+        subscriber.Subscription.request(0);
+
+        Assert.assertTrue(subscriber.Terminated.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(subscriber.Error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testCloseCompletesSubscribers() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        RunEventPublisher publisher = _databricks.getRunEventPublisher();
+        publisher.subscribe(subscriber);
+
+        publisher.close();
+
+        Assert.assertTrue(subscriber.Terminated.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(subscriber.Completed);
+        Assert.assertEquals(0, publisher.getSubscriberCount());
+    }
+}
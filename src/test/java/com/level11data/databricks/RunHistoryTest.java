@@ -0,0 +1,183 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.job.AbstractJob;
+import com.level11data.databricks.job.Job;
+import com.level11data.databricks.job.run.AutomatedJarJobRun;
+import com.level11data.databricks.job.run.AutomatedNotebookJobRun;
+import com.level11data.databricks.job.run.JobRun;
+import com.level11data.databricks.job.run.JobRunException;
+import com.level11data.databricks.job.run.RunHistory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class RunHistoryTest {
+    StubDatabricksServer _server;
+    StubJobs _jobs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _jobs = new StubJobs(_server);
+        _databricks = new DatabricksSession(_server.createConfig());
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    private static List<Long> runIds(long from, long to) {
+        List<Long> runIds = new ArrayList<>();
+        for(long runId = from; runId >= to; runId--) {
+            runIds.add(runId);
+        }
+        return runIds;
+    }
+
+    @Test
+    public void testPagesAreListedOnDemand() throws Exception {
+        for(long runId = 1; runId <= 250; runId++) {
+            _jobs.addRun(runId, 1, "TERMINATED:SUCCESS");
+        }
+
+        try (Stream<JobRun> runs = _databricks.listRuns().stream()) {
+            List<Long> first = runs.limit(50).map(JobRun::getRunId).collect(Collectors.toList());
+            Assert.assertEquals(runIds(250, 201), first);
+        }
+        //the first page and the second one prefetched
+        Assert.assertTrue(_server.getRequestCount(StubJobs.RUNS_LIST) <= 2);
+
+        try (Stream<JobRun> runs = _databricks.listRuns().stream()) {
+            List<Long> all = runs.map(JobRun::getRunId).collect(Collectors.toList());
+            Assert.assertEquals(runIds(250, 1), all);
+        }
+    }
+
+    @Test
+    public void testRunsAreTyped() throws Exception {
+        _jobs.addRun(1, 1, "TERMINATED:SUCCESS");
+
+        JobRun run = _databricks.listRuns().next();
+
+        Assert.assertTrue(run instanceof AutomatedJarJobRun);
+        Assert.assertEquals(1, run.getRunId());
+        Assert.assertEquals(new Date(1000), ((AutomatedJarJobRun) run).StartTime);
+        Assert.assertEquals(1, _databricks.getRun(1).getRunId());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testNotebookRunsAreListedWithoutReadingTheirNotebook() throws Exception {
+        String getStatus = "/api/2.0/workspace/get-status";
+        _server.respond(getStatus, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+        for(long runId = 1; runId <= 3; runId++) {
+            _jobs.addRun(runId, 1, "TERMINATED:SUCCESS");
+        }
+        _jobs.setOutput(2, "done");
+
+        List<JobRun> runs = new ArrayList<>();
+        _databricks.listRuns().forEachRemaining(runs::add);
+
+        Assert.assertEquals(runIds(3, 1), runs.stream().map(JobRun::getRunId).collect(Collectors.toList()));
+        AutomatedNotebookJobRun notebookRun = (AutomatedNotebookJobRun) runs.get(1);
+        Assert.assertEquals("/Shared/stub", notebookRun.NotebookPath);
+        Assert.assertEquals("stub", notebookRun.Notebook.getName());
+        Assert.assertEquals(0, _server.getRequestCount(getStatus));
+        try {
+            notebookRun.getNotebook();
+            Assert.fail("The notebook does not exist");
+        } catch(JobRunException e) {
+            Assert.assertEquals(1, _server.getRequestCount(getStatus));
+        }
+    }
+
+    @Test
+    public void testJobAndStateFilters() throws Exception {
+        for(long runId = 1; runId <= 40; runId++) {
+            _jobs.addRun(runId, runId % 2, runId % 4 < 2 ? "RUNNING" : "TERMINATED:SUCCESS");
+        }
+
+        List<Long> runIds = _databricks.listRuns().withJobId(1).withCompletedOnly().withPageSize(3).stream()
+                .map(JobRun::getRunId).collect(Collectors.toList());
+
+        List<Long> expected = new ArrayList<>();
+        for(long runId = 40; runId >= 1; runId--) {
+            if(runId % 2 == 1 && runId % 4 >= 2) {
+                expected.add(runId);
+            }
+        }
+        Assert.assertEquals(expected, runIds);
+    }
+
+    @Test
+    public void testListingStopsBeforeStartTimeWindow() throws Exception {
+        for(long runId = 1; runId <= 1000; runId++) {
+            _jobs.addRun(runId, 1, "TERMINATED:SUCCESS");
+        }
+
+        List<Long> runIds = _databricks.listRuns().withPageSize(50)
+                .withStartTimeBetween(new Date(800 * 1000), new Date(900 * 1000)).stream()
+                .map(JobRun::getRunId).collect(Collectors.toList());
+
+        Assert.assertEquals(runIds(899, 800), runIds);
+        //the 5 pages down to run 751 and the following one prefetched, not the 20 pages of the history
+        Assert.assertTrue(_server.getRequestCount(StubJobs.RUNS_LIST) <= 6);
+    }
+
+    @Test
+    public void testRunStartedDuringIterationIsNotReturnedTwice() throws Exception {
+        for(long runId = 1; runId <= 20; runId++) {
+            _jobs.addRun(runId, 1, "TERMINATED:SUCCESS");
+        }
+
+        RunHistory history = _databricks.listRuns().withPageSize(5);
+        List<Long> runIds = new ArrayList<>();
+        for(int i = 0; i < 7; i++) {
+            runIds.add(history.next().getRunId());
+        }
+        //shifts the pages not requested yet by one
+        _jobs.addRun(21, 1, "RUNNING");
+        history.forEachRemaining(run -> runIds.add(run.getRunId()));
+
+        Assert.assertEquals(runIds(20, 1), runIds);
+    }
+
+    @Test
+    public void testListJobs() throws Exception {
+        _jobs.addJob(1, "ingest");
+        _jobs.addJob(2, "report");
+
+        try (Stream<Job> jobs = _databricks.listJobs()) {
+            List<String> names = jobs.map(job -> ((AbstractJob) job).Name).collect(Collectors.toList());
+            Assert.assertEquals(Arrays.asList("ingest", "report"), names);
+        }
+    }
+
+    @Test
+    public void testJobsOnMissingClusterAreSkipped() throws Exception {
+        String getCluster = "/api/2.0/clusters/get";
+        _server.respond(getCluster, 400, "{\"error_code\":\"INVALID_PARAMETER_VALUE\"}");
+        _jobs.addJob(1, "ingest");
+        _jobs.addJob(2, "orphan");
+        _jobs.setExistingCluster(2, "deleted");
+        _jobs.addJob(3, "report");
+
+        try (Stream<Job> jobs = _databricks.listJobs()) {
+            List<String> names = jobs.map(job -> ((AbstractJob) job).Name).collect(Collectors.toList());
+            Assert.assertEquals(Arrays.asList("ingest", "report"), names);
+        }
+        Assert.assertEquals(1, _server.getRequestCount(getCluster));
+    }
+}
@@ -0,0 +1,154 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.client.entities.jobs.RunsDTO;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.job.run.RunLifeCycleState;
+import com.level11data.databricks.job.run.RunMonitor;
+import com.level11data.databricks.job.run.JobRunException;
+import com.level11data.databricks.job.run.RunResultState;
+import com.level11data.databricks.job.run.RunState;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class RunMonitorTest {
+    StubDatabricksServer _server;
+    StubJobs _jobs;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _jobs = new StubJobs(_server);
+        _databricks = createSession(0);
+    }
+
+    private DatabricksSession createSession(int listPollingMinRuns) throws Exception {
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS, 10);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS, 40);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_LIST_POLLING_MIN_RUNS, listPollingMinRuns);
+        return new DatabricksSession(config);
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testTransitionsUntilTermination() throws Exception {
+        _jobs.addRun(1, 1, "PENDING", "PENDING", "RUNNING", "RUNNING", "RUNNING", "TERMINATED:SUCCESS");
+        RunMonitor monitor = _databricks.getRunMonitor();
+        List<String> transitions = new CopyOnWriteArrayList<>();
+        monitor.addListener((runId, previous, current) -> transitions.add(runId + ":"
+                + (previous == null ? null : previous.LifeCycleState) + "->" + current.LifeCycleState));
+
+        RunState state = monitor.awaitTermination(1).get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(RunLifeCycleState.TERMINATED, state.LifeCycleState);
+        Assert.assertEquals(RunResultState.SUCCESS, state.ResultState);
+        Assert.assertEquals(Arrays.asList("1:null->PENDING", "1:PENDING->RUNNING", "1:RUNNING->TERMINATED"),
+                transitions);
+        Assert.assertEquals(6, _jobs.getPolls(1));
+        Assert.assertEquals(0, monitor.getTrackedCount());
+    }
+
+    @Test
+    public void testRunsAreEachPolledOnce() throws Exception {
+        RunMonitor monitor = _databricks.getRunMonitor();
+        List<CompletableFuture<RunState>> terminations = new ArrayList<>();
+        for(long runId = 1; runId <= 200; runId++) {
+            _jobs.addRun(runId, 1, "RUNNING", "RUNNING", "TERMINATED:FAILED");
+            terminations.add(monitor.awaitTermination(runId));
+            //a second caller shares the polls of the first
+            terminations.add(monitor.awaitTermination(runId));
+        }
+
+        CompletableFuture.allOf(terminations.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for(CompletableFuture<RunState> termination : terminations) {
+            Assert.assertEquals(RunResultState.FAILED, termination.get().ResultState);
+        }
+        Assert.assertEquals(600, _server.getRequestCount(StubJobs.RUNS_GET));
+    }
+
+    @Test
+    public void testRunsOfAJobArePolledWithList() throws Exception {
+        _databricks.close();
+        _databricks = createSession(2);
+        RunMonitor monitor = _databricks.getRunMonitor();
+        List<CompletableFuture<RunState>> terminations = new ArrayList<>();
+        for(long runId = 1; runId <= 100; runId++) {
+            _jobs.addRun(runId, 7, "PENDING", "RUNNING", "RUNNING", "RUNNING", "TERMINATED:SUCCESS");
+            terminations.add(monitor.awaitTermination(runId));
+        }
+
+        CompletableFuture.allOf(terminations.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for(CompletableFuture<RunState> termination : terminations) {
+            Assert.assertEquals(RunResultState.SUCCESS, termination.get().ResultState);
+        }
+        //the first poll of every run, and the last one of runs no longer listed as active
+        Assert.assertTrue(_server.getRequestCount(StubJobs.RUNS_GET) <= 200);
+        Assert.assertTrue(_server.getRequestCount(StubJobs.RUNS_LIST) > 0);
+    }
+
+    @Test
+    public void testListRunsPages() throws Exception {
+        for(long runId = 1; runId <= 100; runId++) {
+            _jobs.addRun(runId, runId % 2 == 0 ? 2 : 3, runId <= 10 ? "RUNNING" : "TERMINATED:SUCCESS");
+        }
+        JobsClient client = _databricks.getJobsClient();
+
+        RunsDTO page = client.listRuns(2L, false, false, 0, 30);
+        Assert.assertEquals(30, page.Runs.length);
+        Assert.assertEquals(100, page.Runs[0].RunId);
+        Assert.assertTrue(page.HasMore);
+
+        page = client.listRuns(2L, false, false, 30, 30);
+        Assert.assertEquals(20, page.Runs.length);
+        Assert.assertFalse(page.HasMore);
+
+        page = client.listRunsAsync(null, true, false, 0, 100).get();
+        Assert.assertEquals(10, page.Runs.length);
+        Assert.assertEquals(10, page.Runs[0].RunId);
+    }
+
+    @Test
+    public void testUnknownRunFails() throws Exception {
+        try {
+            _databricks.getRunMonitor().awaitTermination(42).get(5, TimeUnit.SECONDS);
+            Assert.fail("run 42 does not exist");
+        } catch(ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof JobRunException);
+        }
+    }
+
+    @Test
+    public void testClosingFailsAwaits() throws Exception {
+        _jobs.addRun(1, 1, "RUNNING");
+        CompletableFuture<RunState> termination = _databricks.getRunMonitor().awaitTermination(1);
+
+        _databricks.close();
+
+        try {
+            termination.get(5, TimeUnit.SECONDS);
+            Assert.fail("the run never terminates");
+        } catch(ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof JobRunException);
+        }
+    }
+}
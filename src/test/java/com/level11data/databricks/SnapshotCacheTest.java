@@ -0,0 +1,61 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.ClustersClient;
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.SnapshotCache;
+import com.level11data.databricks.client.entities.clusters.ClusterInfoDTO;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SnapshotCacheTest {
+    private static final String CLUSTERS_GET = "/api/2.0/clusters/get";
+
+    StubDatabricksServer _server;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.handle(CLUSTERS_GET, exchange -> {
+            String clusterId = StubDatabricksServer.queryParam(exchange, "cluster_id");
+            StubDatabricksServer.send(exchange, 200,
+                    "{\"cluster_id\":\"" + clusterId + "\",\"state\":\"RUNNING\",\"cluster_memory_mb\":1024," +
+                            "\"cluster_cores\":4}");
+        });
+        _databricks = _server.createSession();
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testSnapshotReusedWithinMaxAge() throws Exception {
+        ClustersClient client = _databricks.getClustersClient();
+
+        SnapshotCache.Entry<ClusterInfoDTO> first = client.getClusterSnapshot("abc", 1, TimeUnit.MINUTES);
+        Assert.assertEquals("State does not match", "RUNNING", first.Value.State);
+        Assert.assertEquals("Cores do not match", 4, first.Value.ClusterCores.intValue());
+
+        for(int i = 0; i < 5; i++) {
+            Assert.assertSame("Snapshot should be served from cache",
+                    first, client.getClusterSnapshot("abc", 1, TimeUnit.MINUTES));
+        }
+        Assert.assertEquals("Only one request expected", 1, _server.getRequestCount(CLUSTERS_GET));
+
+        client.getClusterSnapshot("def", 1, TimeUnit.MINUTES);
+        Assert.assertEquals("Other cluster should be requested", 2, _server.getRequestCount(CLUSTERS_GET));
+
+        SnapshotCache.Entry<ClusterInfoDTO> fresh = client.getClusterSnapshot("abc", 0, TimeUnit.MILLISECONDS);
+        Assert.assertNotSame("Max age of 0 should request a new snapshot", first, fresh);
+        Assert.assertEquals("Fresh snapshot expected", 3, _server.getRequestCount(CLUSTERS_GET));
+        Assert.assertSame("Fresh snapshot should replace the cached one",
+                fresh, client.getClusterSnapshot("abc", 1, TimeUnit.MINUTES));
+    }
+}
@@ -0,0 +1,74 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.JsonArrayIterator;
+import com.level11data.databricks.client.entities.clusters.ClusterInfoDTO;
+import com.level11data.databricks.client.entities.jobs.RunDTO;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingListTest {
+    private static final String RUNS_LIST = "/api/2.0/jobs/runs/list";
+    private static final String CLUSTERS_LIST = "/api/2.0/clusters/list";
+    private static final int NUM_RUNS = 2000;
+
+    StubDatabricksServer _server;
+    DatabricksSession _databricks;
+
+    @Before
+    public void setUp() throws Exception {
+        StringBuilder runs = new StringBuilder("{\"unknown_field\":{\"nested\":[1,2]},\"runs\":[");
+        for(int i = 1; i <= NUM_RUNS; i++) {
+            if(i > 1) {
+                runs.append(',');
+            }
+            runs.append("{\"run_id\":").append(i)
+                    .append(",\"job_id\":7,\"state\":{\"life_cycle_state\":\"TERMINATED\"},\"new_field\":true}");
+        }
+        runs.append("],\"has_more\":false}");
+
+        _server = new StubDatabricksServer();
+        _server.respond(RUNS_LIST, 200, runs.toString());
+        _server.respond(CLUSTERS_LIST, 200, "{}");
+        _databricks = _server.createSession();
+    }
+
+    @After
+    public void tearDown() {
+        _databricks.close();
+        _server.close();
+    }
+
+    @Test
+    public void testIterateRuns() throws Exception {
+        long expectedRunId = 1;
+        try (JsonArrayIterator<RunDTO> runs = _databricks.getJobsClient().iterateRuns()) {
+            while(runs.hasNext()) {
+                RunDTO run = runs.next();
+                Assert.assertEquals("Run Id does not match", expectedRunId++, run.RunId);
+                Assert.assertEquals("Life Cycle State does not match", "TERMINATED", run.State.LifeCycleState);
+            }
+        }
+        Assert.assertEquals("Number of runs does not match", NUM_RUNS, expectedRunId - 1);
+    }
+
+    @Test
+    public void testCloseBeforeEnd() throws Exception {
+        for(int i = 0; i < 3; i++) {
+            try (JsonArrayIterator<RunDTO> runs = _databricks.getJobsClient().iterateRuns()) {
+                Assert.assertEquals("Run Id does not match", 1, runs.next().RunId);
+            }
+        }
+        //connections of closed iterators are released back to the pool
+        Assert.assertEquals("No leased connections expected", 0, _databricks.getConnectionPoolStats().Leased);
+    }
+
+    @Test
+    public void testIterateEmptyList() throws Exception {
+        try (JsonArrayIterator<ClusterInfoDTO> clusters = _databricks.getClustersClient().iterateClusters()) {
+            Assert.assertFalse("No clusters expected", clusters.hasNext());
+        }
+    }
+}
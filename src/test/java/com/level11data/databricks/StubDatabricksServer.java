@@ -0,0 +1,140 @@
+package com.level11data.databricks;
+
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal local stand-in for the Databricks REST API, for tests and benchmarks that must not reach a workspace
+ */
+public class StubDatabricksServer implements AutoCloseable {
+    private final HttpServer _server;
+    private final ExecutorService _executor;
+    private final Map<String, AtomicInteger> _requestCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> _inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> _maxInFlight = new ConcurrentHashMap<>();
+    private volatile long _latencyMillis = 0;
+
+    public StubDatabricksServer() throws IOException {
+        _server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        _executor = Executors.newCachedThreadPool();
+        _server.setExecutor(_executor);
+        _server.start();
+    }
+
+    /**
+     * Registers a handler for an API path such as "/api/2.0/jobs/runs/get"
+     */
+    public StubDatabricksServer handle(String path, HttpHandler handler) {
+        _requestCounts.put(path, new AtomicInteger());
+        _inFlight.put(path, new AtomicInteger());
+        _maxInFlight.put(path, new AtomicInteger());
+        _server.createContext(path, exchange -> {
+            _requestCounts.get(path).incrementAndGet();
+            int inFlight = _inFlight.get(path).incrementAndGet();
+            _maxInFlight.get(path).accumulateAndGet(inFlight, Math::max);
+            try {
+                if(_latencyMillis > 0) {
+                    Thread.sleep(_latencyMillis);
+                }
+                handler.handle(exchange);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                _inFlight.get(path).decrementAndGet();
+                exchange.close();
+            }
+        });
+        return this;
+    }
+
+    public StubDatabricksServer respond(String path, int status, String json) {
+        return handle(path, exchange -> send(exchange, status, json));
+    }
+
+    /**
+     * Delay injected before every response, to simulate the round trip to a remote workspace
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        _latencyMillis = latencyMillis;
+    }
+
+    public int getRequestCount(String path) {
+        AtomicInteger count = _requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Most requests to a path handled at the same time, latency included
+     */
+    public int getMaxConcurrentRequests(String path) {
+        AtomicInteger max = _maxInFlight.get(path);
+        return max == null ? 0 : max.get();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + _server.getAddress().getPort();
+    }
+
+    public DatabricksClientConfiguration createConfig() {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.setProperty(DatabricksClientConfiguration.CLIENT_URL, getUrl());
+        properties.setProperty(DatabricksClientConfiguration.CLIENT_TOKEN, "stub-token");
+        return new DatabricksClientConfiguration(properties);
+    }
+
+    public DatabricksSession createSession() throws Exception {
+        return new DatabricksSession(createConfig());
+    }
+
+    public static String readBody(HttpExchange exchange) throws IOException {
+        return IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+    }
+
+    public static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if(query == null) {
+            return null;
+        }
+        for(String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if(eq > 0 && pair.substring(0, eq).equals(name)) {
+                try {
+                    return java.net.URLDecoder.decode(pair.substring(eq + 1), "UTF-8");
+                } catch(java.io.UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return null;
+    }
+
+    public static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        _server.stop(0);
+        _executor.shutdownNow();
+    }
+}
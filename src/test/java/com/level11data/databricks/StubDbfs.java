@@ -0,0 +1,286 @@
+package com.level11data.databricks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory DBFS served by a StubDatabricksServer (create, add-block, close, put, get-status, read, list and
+ * delete). Directories exist as long as files are under them.
+ */
+public class StubDbfs {
+    public static final String CREATE = "/api/2.0/dbfs/create";
+    public static final String ADD_BLOCK = "/api/2.0/dbfs/add-block";
+    public static final String CLOSE = "/api/2.0/dbfs/close";
+    public static final String PUT = "/api/2.0/dbfs/put";
+    public static final String GET_STATUS = "/api/2.0/dbfs/get-status";
+    public static final String READ = "/api/2.0/dbfs/read";
+    public static final String LIST = "/api/2.0/dbfs/list";
+    public static final String DELETE = "/api/2.0/dbfs/delete";
+    public static final String MOVE = "/api/2.0/dbfs/move";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_DATA_LENGTH = 1048576;
+
+    private final Map<String, byte[]> _files = new ConcurrentHashMap<>();
+    private final Map<String, Long> _modificationTimes = new ConcurrentHashMap<>();
+    private final AtomicLong _clock = new AtomicLong();
+    private final Map<Long, String> _handlePaths = new ConcurrentHashMap<>();
+    private final Map<Long, ByteArrayOutputStream> _handleContents = new ConcurrentHashMap<>();
+    private final AtomicLong _nextHandle = new AtomicLong(1);
+    private final List<Integer> _blockSizes = new CopyOnWriteArrayList<>();
+    private final AtomicLong _bytesReceived = new AtomicLong();
+    private volatile boolean _discardContents = false;
+    private volatile int _maxReadLength = MAX_DATA_LENGTH;
+    private volatile int _readJitterMillis = 0;
+    private final AtomicLong _readsUntilFailure = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong _failedReads = new AtomicLong();
+    private volatile String _holdListingsAfter;
+    private volatile boolean _holdingListings = false;
+    private final CountDownLatch _listingsReleased = new CountDownLatch(1);
+    private final AtomicInteger _heldListings = new AtomicInteger();
+
+    public StubDbfs(StubDatabricksServer server) {
+        server.handle(CREATE, exchange -> {
+            JsonNode request = readJson(exchange);
+            if(exists(request)) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"RESOURCE_ALREADY_EXISTS\"}");
+                return;
+            }
+            long handle = _nextHandle.getAndIncrement();
+            _handlePaths.put(handle, request.get("path").asText());
+            _handleContents.put(handle, new ByteArrayOutputStream());
+            StubDatabricksServer.send(exchange, 200, "{\"handle\":" + handle + "}");
+        });
+        server.handle(ADD_BLOCK, exchange -> {
+            JsonNode request = readJson(exchange);
+            String data = request.get("data").asText();
+            if(data.length() > MAX_DATA_LENGTH) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"MAX_BLOCK_SIZE_EXCEEDED\"}");
+                return;
+            }
+            ByteArrayOutputStream contents = _handleContents.get(request.get("handle").asLong());
+            if(contents == null) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"INVALID_PARAMETER_VALUE\"}");
+                return;
+            }
+            byte[] block = Base64.getDecoder().decode(data);
+            _blockSizes.add(block.length);
+            _bytesReceived.addAndGet(block.length);
+            if(!_discardContents) {
+                synchronized(contents) {
+                    contents.write(block);
+                }
+            }
+            StubDatabricksServer.send(exchange, 200, "{}");
+        });
+        server.handle(CLOSE, exchange -> {
+            long handle = readJson(exchange).get("handle").asLong();
+            String path = _handlePaths.remove(handle);
+            putFile(path, _handleContents.remove(handle).toByteArray());
+            StubDatabricksServer.send(exchange, 200, "{}");
+        });
+        server.handle(PUT, exchange -> {
+            JsonNode request = readJson(exchange);
+            if(exists(request)) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"RESOURCE_ALREADY_EXISTS\"}");
+                return;
+            }
+            byte[] contents = Base64.getDecoder().decode(request.get("contents").asText());
+            _bytesReceived.addAndGet(contents.length);
+            putFile(request.get("path").asText(), _discardContents ? new byte[0] : contents);
+            StubDatabricksServer.send(exchange, 200, "{}");
+        });
+        server.handle(GET_STATUS, exchange -> {
+            String path = StubDatabricksServer.queryParam(exchange, "path");
+            byte[] contents = _files.get(path);
+            if(contents == null) {
+                StubDatabricksServer.send(exchange, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+            } else {
+                StubDatabricksServer.send(exchange, 200, "{\"path\":\"" + path + "\",\"is_dir\":false,\"file_size\":"
+                        + contents.length + ",\"modification_time\":" + _modificationTimes.get(path) + "}");
+            }
+        });
+        server.handle(READ, exchange -> {
+            byte[] contents = _files.get(StubDatabricksServer.queryParam(exchange, "path"));
+            if(contents == null) {
+                StubDatabricksServer.send(exchange, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+                return;
+            }
+            if(_readsUntilFailure.getAndDecrement() <= 0 && _failedReads.getAndDecrement() > 0) {
+                StubDatabricksServer.send(exchange, 500, "{\"error_code\":\"INTERNAL_ERROR\"}");
+                return;
+            }
+            int offset = (int)Math.min(contents.length,
+                    Long.parseLong(StubDatabricksServer.queryParam(exchange, "offset")));
+            int length = (int)Math.min(Math.min(contents.length - offset, _maxReadLength),
+                    Long.parseLong(StubDatabricksServer.queryParam(exchange, "length")));
+            if(_readJitterMillis > 0) {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(_readJitterMillis));
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String data = Base64.getEncoder().encodeToString(Arrays.copyOfRange(contents, offset, offset + length));
+            StubDatabricksServer.send(exchange, 200, "{\"bytes_read\":" + length + ",\"data\":\"" + data + "\"}");
+        });
+        server.handle(LIST, exchange -> {
+            if(_holdingListings) {
+                _heldListings.incrementAndGet();
+                try {
+                    _listingsReleased.await();
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            String path = StubDatabricksServer.queryParam(exchange, "path");
+            String prefix = path.endsWith("/") ? path : path + "/";
+            Map<String, String> children = new TreeMap<>();
+            for(Map.Entry<String, byte[]> file : _files.entrySet()) {
+                if(file.getKey().startsWith(prefix)) {
+                    String rest = file.getKey().substring(prefix.length());
+                    int slash = rest.indexOf('/');
+                    String child = prefix + (slash < 0 ? rest : rest.substring(0, slash));
+                    children.put(child, slash < 0 ? "{\"path\":\"" + child + "\",\"is_dir\":false,\"file_size\":"
+                            + file.getValue().length + ",\"modification_time\":" + _modificationTimes.get(child) + "}"
+                            : "{\"path\":\"" + child + "\",\"is_dir\":true,\"file_size\":0}");
+                }
+            }
+            if(children.isEmpty()) {
+                StubDatabricksServer.send(exchange, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+            } else {
+                StubDatabricksServer.send(exchange, 200, "{\"files\":[" + String.join(",", children.values()) + "]}");
+                String holdListingsAfter = _holdListingsAfter;
+                if(holdListingsAfter != null
+                        && children.keySet().stream().anyMatch(child -> child.endsWith(holdListingsAfter))) {
+                    _holdingListings = true;
+                }
+            }
+        });
+        server.handle(DELETE, exchange -> {
+            JsonNode request = readJson(exchange);
+            if(_files.remove(request.get("path").asText()) == null) {
+                StubDatabricksServer.send(exchange, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+            } else {
+                StubDatabricksServer.send(exchange, 200, "{}");
+            }
+        });
+        server.handle(MOVE, exchange -> {
+            JsonNode request = readJson(exchange);
+            String destination = request.get("destination_path").asText();
+            if(_files.containsKey(destination)) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"RESOURCE_ALREADY_EXISTS\"}");
+                return;
+            }
+            byte[] contents = _files.remove(request.get("source_path").asText());
+            if(contents == null) {
+                StubDatabricksServer.send(exchange, 404, "{\"error_code\":\"RESOURCE_DOES_NOT_EXIST\"}");
+            } else {
+                putFile(destination, contents);
+                StubDatabricksServer.send(exchange, 200, "{}");
+            }
+        });
+    }
+
+    /**
+     * Counts uploaded bytes without keeping them, for benchmarks of large uploads
+     */
+    public void setDiscardContents(boolean discardContents) {
+        _discardContents = discardContents;
+    }
+
+    /**
+     * Returns at most this many bytes per read, as the API may
+     */
+    public void setMaxReadLength(int maxReadLength) {
+        _maxReadLength = maxReadLength;
+    }
+
+    /**
+     * Random delay of every read, so concurrent reads complete out of order
+     */
+    public void setReadJitterMillis(int readJitterMillis) {
+        _readJitterMillis = readJitterMillis;
+    }
+
+    /**
+     * Holds the listings received once a listing of a file ending with the suffix was sent, until released
+     */
+    public void holdListingsAfter(String suffix) {
+        _holdListingsAfter = suffix;
+    }
+
+    public void releaseListings() {
+        _listingsReleased.countDown();
+    }
+
+    /**
+     * Listings received while holding them, released or not
+     */
+    public int getHeldListings() {
+        return _heldListings.get();
+    }
+
+    /**
+     * Fails the given number of reads with a 500, after the given number of reads succeeded
+     */
+    public void failReads(long after, long count) {
+        _failedReads.set(count);
+        _readsUntilFailure.set(after);
+    }
+
+    /**
+     * Writes a file, as an upload would; its modification time is the current time, and later than that of any file
+     * written before
+     */
+    public void putFile(String path, byte[] contents) {
+        _files.put(path, contents);
+        _modificationTimes.put(path, _clock.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis())));
+    }
+
+    public byte[] getFile(String path) {
+        return _files.get(path);
+    }
+
+    public Set<String> getPaths() {
+        return new TreeSet<>(_files.keySet());
+    }
+
+    /**
+     * Decoded size of every add-block received, in order
+     */
+    public List<Integer> getBlockSizes() {
+        return _blockSizes;
+    }
+
+    public long getBytesReceived() {
+        return _bytesReceived.get();
+    }
+
+    private boolean exists(JsonNode request) {
+        JsonNode overwrite = request.get("overwrite");
+        return (overwrite == null || !overwrite.asBoolean()) && _files.containsKey(request.get("path").asText());
+    }
+
+    private static JsonNode readJson(HttpExchange exchange) throws IOException {
+        return MAPPER.readTree(exchange.getRequestBody());
+    }
+}
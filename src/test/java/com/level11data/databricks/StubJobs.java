@@ -0,0 +1,260 @@
+package com.level11data.databricks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Job runs served by a StubDatabricksServer (runs/get and runs/list), each going through a scripted sequence of
+ * states: every runs/get or listing of a run moves it to its next state, where the last one stays. States are
+ * "LIFE_CYCLE_STATE" or "LIFE_CYCLE_STATE:RESULT_STATE", i.e. "TERMINATED:SUCCESS".
+ *
+ * Runs and jobs (jobs/list and jobs/get) are JAR jobs on a new cluster, except runs given an output, which are notebook
+ * runs served by runs/get-output, and jobs given an existing cluster. A run starts at its run id in seconds since the epoch, so runs are listed by
+ * descending run id as well as start time; runs in a final state took SETUP_DURATION, EXECUTION_DURATION and
+ * CLEANUP_DURATION.
+ *
+ * jobs/run-now starts a run of a job going through the states the job was added with, or a SKIPPED run if the job
+ * already has MaxConcurrentRuns active runs, as the API does. A request repeating an idempotency token returns the
+ * run of the first one.
+ */
+public class StubJobs {
+    public static final String RUNS_GET = "/api/2.0/jobs/runs/get";
+    public static final String RUNS_LIST = "/api/2.0/jobs/runs/list";
+    public static final String JOBS_LIST = "/api/2.0/jobs/list";
+    public static final String JOBS_GET = "/api/2.0/jobs/get";
+    public static final String RUN_NOW = "/api/2.0/jobs/run-now";
+    public static final String RUNS_GET_OUTPUT = "/api/2.0/jobs/runs/get-output";
+
+    public static final long SETUP_DURATION = 1000;
+    public static final long EXECUTION_DURATION = 2000;
+    public static final long CLEANUP_DURATION = 300;
+
+    private static final String NEW_CLUSTER = "{\"spark_version\":\"4.0.x-scala2.11\",\"node_type_id\":\"i3.xlarge\","
+            + "\"num_workers\":1}";
+    private static final String JAR_TASK = "{\"main_class_name\":\"com.example.Main\"}";
+    private static final String NOTEBOOK_TASK = "{\"notebook_path\":\"/Shared/stub\"}";
+    private static final List<String> FINAL_STATES = Arrays.asList("TERMINATED", "SKIPPED", "INTERNAL_ERROR");
+
+    private static final List<String> ACTIVE_STATES = Arrays.asList("PENDING", "RUNNING", "TERMINATING");
+
+    private static class Run {
+        final long JobId;
+        final List<String> States;
+        int Polls;
+        volatile String Output;
+
+        Run(long jobId, List<String> states) {
+            JobId = jobId;
+            States = states;
+        }
+
+        synchronized String poll() {
+            return States.get(Math.min(Polls++, States.size() - 1));
+        }
+
+        synchronized String peek() {
+            return States.get(Math.min(Polls, States.size() - 1));
+        }
+    }
+
+    private static class Job {
+        final String Name;
+        final int MaxConcurrentRuns;
+        final List<String> RunStates;
+        volatile String ExistingClusterId;
+        int MaxActiveRuns;
+        int SkippedRuns;
+
+        Job(String name, int maxConcurrentRuns, List<String> runStates) {
+            Name = name;
+            MaxConcurrentRuns = maxConcurrentRuns;
+            RunStates = runStates;
+        }
+    }
+
+    private static final Pattern JOB_ID = Pattern.compile("\"job_id\"\\s*:\\s*(\\d+)");
+    private static final Pattern IDEMPOTENCY_TOKEN = Pattern.compile("\"idempotency_token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final Map<Long, Run> _runs = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    private final Map<Long, Job> _jobs = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> _runsByToken = new HashMap<>();
+
+    public StubJobs(StubDatabricksServer server) {
+        server.handle(RUNS_GET, exchange -> {
+            Run run = _runs.get(Long.parseLong(StubDatabricksServer.queryParam(exchange, "run_id")));
+            if(run == null) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"INVALID_PARAMETER_VALUE\"}");
+                return;
+            }
+            String runId = StubDatabricksServer.queryParam(exchange, "run_id");
+            StubDatabricksServer.send(exchange, 200, toJson(Long.parseLong(runId), run, run.poll()));
+        });
+        server.handle(RUNS_LIST, exchange -> {
+            String jobId = StubDatabricksServer.queryParam(exchange, "job_id");
+            boolean activeOnly = "true".equals(StubDatabricksServer.queryParam(exchange, "active_only"));
+            boolean completedOnly = "true".equals(StubDatabricksServer.queryParam(exchange, "completed_only"));
+            String offset = StubDatabricksServer.queryParam(exchange, "offset");
+            String limit = StubDatabricksServer.queryParam(exchange, "limit");
+            List<Long> runIds = new ArrayList<>();
+            //most recent, i.e. highest run id, first
+            for(Map.Entry<Long, Run> entry : _runs.entrySet()) {
+                Run run = entry.getValue();
+                boolean active = ACTIVE_STATES.contains(run.peek().split(":")[0]);
+                if((jobId == null || Long.parseLong(jobId) == run.JobId)
+                        && (!activeOnly || active) && (!completedOnly || !active)) {
+                    runIds.add(entry.getKey());
+                }
+            }
+            int from = Math.min(runIds.size(), offset == null ? 0 : Integer.parseInt(offset));
+            int to = Math.min(runIds.size(), from + (limit == null ? 20 : Integer.parseInt(limit)));
+            List<String> runs = new ArrayList<>();
+            for(long runId : runIds.subList(from, to)) {
+                Run run = _runs.get(runId);
+                runs.add(toJson(runId, run, run.poll()));
+            }
+            StubDatabricksServer.send(exchange, 200, "{\"runs\":[" + String.join(",", runs) + "],\"has_more\":"
+                    + (to < runIds.size()) + "}");
+        });
+        server.handle(RUNS_GET_OUTPUT, exchange -> {
+            long runId = Long.parseLong(StubDatabricksServer.queryParam(exchange, "run_id"));
+            Run run = _runs.get(runId);
+            if(run == null || run.Output == null) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"INVALID_PARAMETER_VALUE\"}");
+                return;
+            }
+            StubDatabricksServer.send(exchange, 200, "{\"metadata\":" + toJson(runId, run, run.peek())
+                    + ",\"notebook_output\":{\"result\":\"" + run.Output + "\"}}");
+        });
+        server.handle(JOBS_LIST, exchange -> {
+            List<String> jobs = new ArrayList<>();
+            for(Map.Entry<Long, Job> entry : _jobs.entrySet()) {
+                jobs.add(toJson(entry.getKey(), entry.getValue()));
+            }
+            StubDatabricksServer.send(exchange, 200, "{\"jobs\":[" + String.join(",", jobs) + "]}");
+        });
+        server.handle(JOBS_GET, exchange -> {
+            long jobId = Long.parseLong(StubDatabricksServer.queryParam(exchange, "job_id"));
+            Job job = _jobs.get(jobId);
+            if(job == null) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"INVALID_PARAMETER_VALUE\"}");
+                return;
+            }
+            StubDatabricksServer.send(exchange, 200, toJson(jobId, job));
+        });
+        server.handle(RUN_NOW, exchange -> {
+            String body = StubDatabricksServer.readBody(exchange);
+            Matcher jobIdMatcher = JOB_ID.matcher(body);
+            Job job = jobIdMatcher.find() ? _jobs.get(Long.parseLong(jobIdMatcher.group(1))) : null;
+            if(job == null) {
+                StubDatabricksServer.send(exchange, 400, "{\"error_code\":\"INVALID_PARAMETER_VALUE\"}");
+                return;
+            }
+            Matcher tokenMatcher = IDEMPOTENCY_TOKEN.matcher(body);
+            long runId = runNow(Long.parseLong(jobIdMatcher.group(1)), job,
+                    tokenMatcher.find() ? tokenMatcher.group(1) : null);
+            StubDatabricksServer.send(exchange, 200, "{\"run_id\":" + runId + "}");
+        });
+    }
+
+    private synchronized long runNow(long jobId, Job job, String idempotencyToken) {
+        if(idempotencyToken != null && _runsByToken.containsKey(idempotencyToken)) {
+            return _runsByToken.get(idempotencyToken);
+        }
+        int activeRuns = 0;
+        for(Run run : _runs.values()) {
+            if(run.JobId == jobId && ACTIVE_STATES.contains(run.peek().split(":")[0])) {
+                activeRuns++;
+            }
+        }
+        long runId = _runs.isEmpty() ? 1 : _runs.keySet().iterator().next() + 1;
+        if(activeRuns < job.MaxConcurrentRuns) {
+            job.MaxActiveRuns = Math.max(job.MaxActiveRuns, activeRuns + 1);
+            addRun(runId, jobId, job.RunStates.toArray(new String[0]));
+        } else {
+            job.SkippedRuns++;
+            addRun(runId, jobId, "SKIPPED");
+        }
+        if(idempotencyToken != null) {
+            _runsByToken.put(idempotencyToken, runId);
+        }
+        return runId;
+    }
+
+    public void addJob(long jobId, String name) {
+        addJob(jobId, name, 1, "TERMINATED:SUCCESS");
+    }
+
+    /**
+     * A job whose runs go through the states
+     */
+    public void addJob(long jobId, String name, int maxConcurrentRuns, String... runStates) {
+        _jobs.put(jobId, new Job(name, maxConcurrentRuns, Arrays.asList(runStates)));
+    }
+
+    /**
+     * Makes the job run on the existing cluster instead of a new one
+     */
+    public void setExistingCluster(long jobId, String clusterId) {
+        _jobs.get(jobId).ExistingClusterId = clusterId;
+    }
+
+    /**
+     * Most runs of the job active at once, as seen by jobs/run-now
+     */
+    public synchronized int getMaxActiveRuns(long jobId) {
+        return _jobs.get(jobId).MaxActiveRuns;
+    }
+
+    /**
+     * Number of jobs/run-now requests of the job skipped for exceeding its MaxConcurrentRuns
+     */
+    public synchronized int getSkippedRuns(long jobId) {
+        return _jobs.get(jobId).SkippedRuns;
+    }
+
+    public void addRun(long runId, long jobId, String... states) {
+        _runs.put(runId, new Run(jobId, new ArrayList<>(Arrays.asList(states))));
+    }
+
+    /**
+     * Makes the run a notebook run exiting with the result
+     */
+    public void setOutput(long runId, String result) {
+        _runs.get(runId).Output = result;
+    }
+
+    /**
+     * Number of runs/get the run was polled with
+     */
+    public int getPolls(long runId) {
+        Run run = _runs.get(runId);
+        synchronized(run) {
+            return run.Polls;
+        }
+    }
+
+    private static String toJson(long jobId, Job job) {
+        return "{\"job_id\":" + jobId + ",\"settings\":{\"name\":\"" + job.Name + "\",\"max_concurrent_runs\":"
+                + job.MaxConcurrentRuns + (job.ExistingClusterId == null ? ",\"new_cluster\":" + NEW_CLUSTER
+                : ",\"existing_cluster_id\":\"" + job.ExistingClusterId + "\"") + ",\"spark_jar_task\":" + JAR_TASK
+                + "}}";
+    }
+
+    private static String toJson(long runId, Run run, String state) {
+        String[] states = state.split(":");
+        return "{\"job_id\":" + run.JobId + ",\"run_id\":" + runId + ",\"start_time\":" + runId * 1000
+                + ",\"trigger\":\"ONE_TIME\",\"cluster_spec\":{\"new_cluster\":" + NEW_CLUSTER + "},\"task\":"
+                + (run.Output == null ? "{\"spark_jar_task\":" + JAR_TASK : "{\"notebook_task\":" + NOTEBOOK_TASK)
+                + "}," + (FINAL_STATES.contains(states[0]) ? "\"setup_duration\":" + SETUP_DURATION
+                + ",\"execution_duration\":" + EXECUTION_DURATION + ",\"cleanup_duration\":" + CLEANUP_DURATION + ","
+                : "") + "\"state\":{\"life_cycle_state\":\"" + states[0] + "\""
+                + (states.length > 1 ? ",\"result_state\":\"" + states[1] + "\"" : "") + "}}";
+    }
+}
@@ -0,0 +1,91 @@
+package com.level11data.databricks.benchmark;
+
+import com.level11data.databricks.StubDatabricksServer;
+import com.level11data.databricks.StubDbfs;
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads a 64 MB file from a local stub server with 10 to 30 ms of latency injected before every response, with
+ * 1 to 8 dbfs/read requests in flight, to a stream (ranges written in order) or to a path (ranges written in place as
+ * they complete). The throughput in MB/s is printed after every iteration.
+ *
+ * Run the main method from the test classpath.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m"})
+@State(Scope.Benchmark)
+public class DbfsDownloadBenchmark {
+    private static final int SIZE_MB = 64;
+
+    @Param({"1", "4", "8"})
+    public int concurrency;
+
+    @Param({"stream", "path"})
+    public String target;
+
+    private StubDatabricksServer _server;
+    private DatabricksSession _session;
+    private Path _path;
+    private long _startNanos;
+
+    @Setup
+    public void setup() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.setLatencyMillis(10);
+        StubDbfs dbfs = new StubDbfs(_server);
+        dbfs.setReadJitterMillis(20);
+        byte[] contents = new byte[SIZE_MB * 1024 * 1024];
+        new Random(42).nextBytes(contents);
+        dbfs.putFile("/tmp/benchmark.bin", contents);
+
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_DOWNLOAD_CONCURRENCY, concurrency);
+        _session = new DatabricksSession(config);
+        _path = Files.createTempFile("dbfs-download-benchmark", ".bin");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        _session.close();
+        _server.close();
+        Files.delete(_path);
+    }
+
+    @Setup(Level.Iteration)
+    public void start() {
+        _startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printThroughput() {
+        double seconds = (System.nanoTime() - _startNanos) / 1e9;
+        System.out.println(String.format("throughput: %.1f MB/s", SIZE_MB / seconds));
+    }
+
+    @Benchmark
+    public long download() throws Exception {
+        if(target.equals("path")) {
+            return _session.downloadDbfsFile("/tmp/benchmark.bin", _path);
+        }
+        return _session.downloadDbfsFile("/tmp/benchmark.bin", new NullOutputStream());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DbfsDownloadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.level11data.databricks.benchmark;
+
+import com.level11data.databricks.StubDatabricksServer;
+import com.level11data.databricks.StubDbfs;
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsSyncResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Uploads a directory of 500 files of 16 KB, in 10 subdirectories, to a local stub server with 20 ms of latency
+ * injected before every response, with 1 to 16 files in flight. The files uploaded per second are printed after
+ * every iteration.
+ *
+ * Run the main method from the test classpath.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DbfsSyncBenchmark {
+    private static final int FILES = 500;
+
+    @Param({"1", "8", "16"})
+    public int concurrency;
+
+    private StubDatabricksServer _server;
+    private DatabricksSession _session;
+    private Path _directory;
+    private long _startNanos;
+    private DbfsSyncResult _result;
+
+    @Setup
+    public void setup() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.setLatencyMillis(20);
+        new StubDbfs(_server).setDiscardContents(true);
+
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_SYNC_CONCURRENCY, concurrency);
+        _session = new DatabricksSession(config);
+
+        _directory = Files.createTempDirectory("dbfs-sync-benchmark");
+        byte[] contents = new byte[16 * 1024];
+        Random random = new Random(42);
+        for(int i = 0; i < FILES; i++) {
+            random.nextBytes(contents);
+            Path file = _directory.resolve("dir" + (i % 10)).resolve("file" + i + ".bin");
+            Files.createDirectories(file.getParent());
+            Files.write(file, contents);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        _session.close();
+        _server.close();
+        try (Stream<Path> paths = Files.walk(_directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void start() {
+        _startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printThroughput() {
+        double seconds = (System.nanoTime() - _startNanos) / 1e9;
+        System.out.println(String.format("%s: %.0f files/s", _result, _result.FilesTransferred / seconds));
+    }
+
+    @Benchmark
+    public DbfsSyncResult sync() throws Exception {
+        //contents are discarded, so every file is uploaded again
+        _result = _session.syncToDbfs(_directory, "/tmp/benchmark", false);
+        return _result;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DbfsSyncBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.level11data.databricks.benchmark;
+
+import com.level11data.databricks.StubDatabricksServer;
+import com.level11data.databricks.StubDbfs;
+import com.level11data.databricks.client.DatabricksSession;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads 100 MB, 1 GB and 4 GB files through DbfsHelper.putFile to a local stub server that counts and discards
+ * the blocks, in a JVM limited to a 256 MB heap. The peak of the heap pools during each upload, which includes the
+ * stub server running in the same JVM, is printed after the iteration.
+ *
+ * The files are sparse, so they take no disk space. Run the main method from the test classpath.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx256m"})
+@State(Scope.Benchmark)
+public class DbfsUploadBenchmark {
+
+    @Param({"100", "1024", "4096"})
+    public int sizeMB;
+
+    private StubDatabricksServer _server;
+    private StubDbfs _dbfs;
+    private DatabricksSession _session;
+    private File _file;
+
+    @Setup
+    public void setup() throws Exception {
+        _server = new StubDatabricksServer();
+        _dbfs = new StubDbfs(_server);
+        _dbfs.setDiscardContents(true);
+        _session = _server.createSession();
+
+        _file = File.createTempFile("dbfs-upload-benchmark", ".bin");
+        _file.deleteOnExit();
+        try (RandomAccessFile file = new RandomAccessFile(_file, "rw")) {
+            file.setLength(sizeMB * 1024L * 1024L);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        _session.close();
+        _server.close();
+        _file.delete();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long peak = 0;
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.println("peak heap: " + peak / (1024 * 1024) + " MB");
+    }
+
+    @Benchmark
+    public void putFile() throws Exception {
+        _session.putDbfsFile(_file, "/tmp/benchmark.bin", true);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DbfsUploadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
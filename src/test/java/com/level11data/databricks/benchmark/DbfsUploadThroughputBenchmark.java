@@ -0,0 +1,140 @@
+package com.level11data.databricks.benchmark;
+
+import com.level11data.databricks.StubDatabricksServer;
+import com.level11data.databricks.StubDbfs;
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.dbfs.DbfsHelper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads 64 MB through DbfsHelper.putStream to a local stub server with latency injected before every response,
+ * with blocks read on demand (uploadReadAhead = 0) and read ahead of the sender. The source is a file read either
+ * as fast as possible or at a simulated 10 ms per block (i.e. a slow disk or a network source). The throughput in
+ * MB/s is printed after every iteration.
+ *
+ * Run the main method from the test classpath.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DbfsUploadThroughputBenchmark {
+    private static final int SIZE_MB = 64;
+
+    @Param({"0", "2"})
+    public int readAhead;
+
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    @Param({"0", "10"})
+    public long sourceMillisPerBlock;
+
+    private StubDatabricksServer _server;
+    private StubDbfs _dbfs;
+    private DatabricksSession _session;
+    private File _file;
+    private long _startNanos;
+    private long _startBytes;
+
+    @Setup
+    public void setup() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.setLatencyMillis(latencyMillis);
+        _dbfs = new StubDbfs(_server);
+        _dbfs.setDiscardContents(true);
+
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.DBFS_UPLOAD_READ_AHEAD, readAhead);
+        _session = new DatabricksSession(config);
+
+        //random content, so encoding costs what it costs for real files
+        _file = File.createTempFile("dbfs-upload-throughput", ".bin");
+        _file.deleteOnExit();
+        byte[] chunk = new byte[1024 * 1024];
+        Random random = new Random(42);
+        try (RandomAccessFile file = new RandomAccessFile(_file, "rw")) {
+            for(int i = 0; i < SIZE_MB; i++) {
+                random.nextBytes(chunk);
+                file.write(chunk);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        _session.close();
+        _server.close();
+        _file.delete();
+    }
+
+    @Setup(Level.Iteration)
+    public void start() {
+        _startBytes = _dbfs.getBytesReceived();
+        _startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printThroughput() {
+        double seconds = (System.nanoTime() - _startNanos) / 1e9;
+        double megabytes = (_dbfs.getBytesReceived() - _startBytes) / (1024.0 * 1024.0);
+        System.out.println(String.format("throughput: %.1f MB/s", megabytes / seconds));
+    }
+
+    @Benchmark
+    public void putStream() throws Exception {
+        try (InputStream in = new SlowInputStream(new FileInputStream(_file), sourceMillisPerBlock)) {
+            _session.putDbfsFile(in, "/tmp/benchmark.bin", true);
+        }
+    }
+
+    /**
+     * Sleeps for every block worth of bytes read
+     */
+    private static class SlowInputStream extends FilterInputStream {
+        private final long _millisPerBlock;
+        private long _bytesUntilDelay = DbfsHelper.MAX_UPLOAD_BLOCK_SIZE;
+
+        SlowInputStream(InputStream in, long millisPerBlock) {
+            super(in);
+            _millisPerBlock = millisPerBlock;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            _bytesUntilDelay -= Math.max(n, 0);
+            if(_millisPerBlock > 0 && _bytesUntilDelay <= 0) {
+                _bytesUntilDelay += DbfsHelper.MAX_UPLOAD_BLOCK_SIZE;
+                try {
+                    Thread.sleep(_millisPerBlock);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            return n;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DbfsUploadThroughputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package com.level11data.databricks.benchmark;
+
+import com.level11data.databricks.StubDatabricksServer;
+import com.level11data.databricks.client.DatabricksSession;
+import com.level11data.databricks.client.JobsClient;
+import com.level11data.databricks.config.DatabricksClientConfiguration;
+import com.level11data.databricks.config.ExecutionMode;
+import com.level11data.databricks.job.run.RunMonitor;
+import com.level11data.databricks.job.run.RunState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waits for 10k runs to terminate concurrently, one blocking poller per run, on platform threads vs virtual threads
+ * of the session's execution mode. Each run reports RUNNING twice before TERMINATED on a local stub server.
+ *
+ * On JVMs without virtual threads the VIRTUAL case falls back to platform threads (see peakPlatformThreads).
+ *
+ * awaitRunsWithMonitor waits for the same runs through the session's RunMonitor, which polls them all from one
+ * scheduler thread, at the same (fixed) interval.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xss256k"})
+@State(Scope.Benchmark)
+public class RunWaitBenchmark {
+    private static final String RUNS_GET = "/api/2.0/jobs/runs/get";
+    private static final int POLLS_UNTIL_TERMINATED = 3;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    @Param({"10000"})
+    public int runs;
+
+    private StubDatabricksServer _server;
+    private DatabricksSession _session;
+    private final Map<String, AtomicInteger> _polls = new ConcurrentHashMap<>();
+    private final AtomicInteger _runIds = new AtomicInteger();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ThreadCounters {
+        public long peakPlatformThreads;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        _server = new StubDatabricksServer();
+        _server.handle(RUNS_GET, exchange -> {
+            String runId = StubDatabricksServer.queryParam(exchange, "run_id");
+            AtomicInteger polls = _polls.computeIfAbsent(runId, k -> new AtomicInteger());
+            String state = polls.incrementAndGet() >= POLLS_UNTIL_TERMINATED ? "TERMINATED" : "RUNNING";
+            StubDatabricksServer.send(exchange, 200,
+                    "{\"run_id\":" + runId + ",\"state\":{\"life_cycle_state\":\"" + state + "\"}}");
+        });
+
+        DatabricksClientConfiguration config = _server.createConfig();
+        config.setProperty(DatabricksClientConfiguration.CLIENT_EXECUTION_MODE, mode.name());
+        config.setProperty(DatabricksClientConfiguration.HTTP_MAX_CONNECTIONS, 200);
+        config.setProperty(DatabricksClientConfiguration.HTTP_MAX_CONNECTIONS_PER_ROUTE, 200);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MIN_POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS);
+        config.setProperty(DatabricksClientConfiguration.RUN_MONITOR_MAX_POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS);
+        _session = new DatabricksSession(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        _session.close();
+        _server.close();
+    }
+
+    @Benchmark
+    public void awaitRuns(ThreadCounters counters) throws Exception {
+        JobsClient client = _session.getJobsClient();
+        ThreadFactory threadFactory = _session.getExecutors().newThreadFactory("run-wait-");
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+
+        List<Thread> waiters = new ArrayList<>(runs);
+        for(int i = 0; i < runs; i++) {
+            long runId = _runIds.incrementAndGet();
+            Thread waiter = threadFactory.newThread(() -> {
+                try {
+                    while(!new RunState(client.getRun(runId).State).LifeCycleState.isFinal()) {
+                        Thread.sleep(POLL_INTERVAL_MILLIS);
+                    }
+                } catch(Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            waiter.start();
+            waiters.add(waiter);
+        }
+        for(Thread waiter : waiters) {
+            waiter.join();
+        }
+        counters.peakPlatformThreads = threadMXBean.getPeakThreadCount();
+    }
+
+    @Benchmark
+    public void awaitRunsWithMonitor(ThreadCounters counters) throws Exception {
+        RunMonitor monitor = _session.getRunMonitor();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+
+        List<CompletableFuture<RunState>> terminations = new ArrayList<>(runs);
+        for(int i = 0; i < runs; i++) {
+            terminations.add(monitor.awaitTermination(_runIds.incrementAndGet()));
+        }
+        CompletableFuture.allOf(terminations.toArray(new CompletableFuture[0])).join();
+        counters.peakPlatformThreads = threadMXBean.getPeakThreadCount();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RunWaitBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}